@@ -5,4 +5,5 @@ public class ErrorCodes {
     public static final String INVALID_REGISTRATION_DETAILS = "ERROR_INVALID_REGISTRATION_DETAILS";
     public static final String USER_NOT_FOUND = "ERROR_USER_NOT_FOUND";
     public static final String USER_CREATION_FAILED = "ERROR_USER_CREATION_FAILED";
+    public static final String SERVICE_UNAVAILABLE = "ERROR_SERVICE_UNAVAILABLE";
 }
\ No newline at end of file
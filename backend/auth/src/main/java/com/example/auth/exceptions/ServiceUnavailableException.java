@@ -0,0 +1,7 @@
+package com.example.auth.exceptions;
+
+public class ServiceUnavailableException extends BaseAppException {
+    public ServiceUnavailableException(String message, String code) {
+        super(message, code);
+    }
+}
\ No newline at end of file
@@ -1,9 +1,14 @@
 package com.example.auth.features;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import org.springframework.amqp.AmqpException;
 import org.springframework.stereotype.Service;
 
+import com.example.auth.exceptions.ErrorCodes;
+import com.example.auth.exceptions.ServiceUnavailableException;
 import com.example.auth.features.contracts.RegistrationRequest;
 import com.example.auth.features.contracts.RegistrationResponse;
 import com.example.auth.features.contracts.RegistrationState;
@@ -17,7 +22,9 @@ import com.example.auth.infrastructure.messaging.events.RegistrationInitiatedEve
 import com.example.auth.infrastructure.messaging.publishers.EventPublisher;
 
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 @AllArgsConstructor
 public class AuthService {
@@ -28,13 +35,32 @@ public class AuthService {
     public RegistrationResponse register(RegistrationRequest request) {
         UUID userId = this.keycloakClient.registerUser(request.username(), request.email(), request.password());
 
-        eventPublisher.publishRegistrationInitiated(new RegistrationInitiatedEvent(
+        CompletableFuture<Void> published = eventPublisher.publishRegistrationInitiated(new RegistrationInitiatedEvent(
                 userId.toString(),
                 request.username(),
                 request.firstName(),
                 request.lastName(),
                 request.birthDate()));
 
+        // The confirm is not awaited. If the broker refused the event the
+        // profile service never completes the registration, so the pending user
+        // is removed and the status check reports the registration as failed.
+        // A confirm timeout says nothing about delivery; the event may still be
+        // consumed, so the user is left pending
+        published.exceptionally(e -> {
+            Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+            if (cause instanceof AmqpException) {
+                this.deletePendingUser(userId);
+            } else {
+                log.warn("Registration event for user {} was not confirmed, leaving the user pending", userId, cause);
+            }
+            return null;
+        });
+        if (published.isCompletedExceptionally()) {
+            throw new ServiceUnavailableException("Registration is temporarily unavailable",
+                    ErrorCodes.SERVICE_UNAVAILABLE);
+        }
+
         String statusToken = jwtService.generateStatusToken(userId);
 
         return new RegistrationResponse(statusToken, request.username());
@@ -61,12 +87,28 @@ public class AuthService {
 
         if (isSuccess) {
             keycloakClient.enableUser(userId);
-        } else {
+            return;
+        }
+
+        // A redelivered failure must not remove a user that a later success
+        // has already enabled
+        UserStatus status = keycloakClient.getUserStatus(userId);
+        if (status.equals(UserStatus.DISABLED)) {
             keycloakClient.deleteUser(userId);
+        } else {
+            log.warn("Not deleting user {} after a failed registration, user is {}", userId, status);
         }
     }
 
     public void assignEducatorRoleToUser(String userId) {
         keycloakClient.assignRoleToUser(userId, KeycloakRole.EDUCATOR);
     }
-}
\ No newline at end of file
+
+    private void deletePendingUser(UUID userId) {
+        try {
+            keycloakClient.deleteUser(userId);
+        } catch (RuntimeException e) {
+            log.error("Failed to remove pending user after a lost registration event: {}", userId, e);
+        }
+    }
+}
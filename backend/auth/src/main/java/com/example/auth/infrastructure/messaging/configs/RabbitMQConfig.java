@@ -18,13 +18,16 @@ import org.springframework.amqp.rabbit.retry.RejectAndDontRequeueRecoverer;
 import org.springframework.amqp.support.converter.DefaultJackson2JavaTypeMapper;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.aop.interceptor.ConcurrencyThrottleInterceptor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 
 import com.example.auth.infrastructure.messaging.Constants;
 import com.example.auth.infrastructure.messaging.events.EducatorCreatedEvent;
 import com.example.auth.infrastructure.messaging.events.RegistrationCompletedEvent;
+import com.example.auth.infrastructure.messaging.publishers.PublisherProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -55,7 +58,7 @@ public class RabbitMQConfig {
     private String rabbitVirtualHost;
 
     @Bean
-    ConnectionFactory connectionFactory() {
+    ConnectionFactory connectionFactory(PublisherProperties publisherProperties) {
         CachingConnectionFactory connectionFactory = new CachingConnectionFactory();
         connectionFactory.setHost(rabbitHost);
         connectionFactory.setPort(rabbitPort);
@@ -67,6 +70,7 @@ public class RabbitMQConfig {
         connectionFactory.setRequestedHeartBeat(30);
         connectionFactory.setConnectionTimeout(5000);
         connectionFactory.setChannelCheckoutTimeout(10000);
+        connectionFactory.setChannelCacheSize(publisherProperties.getChannelCacheSize());
         return connectionFactory;
     }
 
@@ -94,48 +98,64 @@ public class RabbitMQConfig {
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
         rabbitTemplate.setMessageConverter(messageConverter);
         rabbitTemplate.setExchange(exchangeName);
-        rabbitTemplate.setConfirmCallback((correlationData, ack, cause) -> {
-            if (!ack) {
-                // Handle nack - implement message storage and retry logic
-                System.err.println("Message was not confirmed: " + cause);
-            }
-        });
-        rabbitTemplate.setReturnsCallback(returned -> {
-            // Handle returned messages (when message can't be delivered to queue)
-            System.err.println("Message returned: " + returned.getMessage() +
-                    ", replyCode: " + returned.getReplyCode() +
-                    ", replyText: " + returned.getReplyText() +
-                    ", exchange: " + returned.getExchange() +
-                    ", routingKey: " + returned.getRoutingKey());
-        });
+        // Confirm and return callbacks are installed by EventPublisher
         rabbitTemplate.setMandatory(true);
         return rabbitTemplate;
     }
 
+    // Bounds concurrent Keycloak calls from listeners, however many consumers run
+    @Bean
+    ConcurrencyThrottleInterceptor listenerThrottle(ListenerProperties properties) {
+        ConcurrencyThrottleInterceptor throttle = new ConcurrencyThrottleInterceptor();
+        throttle.setConcurrencyLimit(properties.getMaxConcurrency());
+        return throttle;
+    }
+
     @Bean
     SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
             ConnectionFactory connectionFactory,
             MessageConverter messageConverter,
-            MessageRecoverer messageRecoverer) {
+            MessageRecoverer messageRecoverer,
+            ListenerProperties properties,
+            ConcurrencyThrottleInterceptor listenerThrottle) {
 
         SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
         factory.setConnectionFactory(connectionFactory);
         factory.setMessageConverter(messageConverter);
         factory.setAcknowledgeMode(AcknowledgeMode.AUTO);
         factory.setDefaultRequeueRejected(false);
-        factory.setConcurrentConsumers(3);
-        factory.setMaxConcurrentConsumers(10);
-        factory.setPrefetchCount(10);
+        applyConsumers(factory, properties);
 
         RetryInterceptorBuilder.StatelessRetryInterceptorBuilder retryInterceptor = RetryInterceptorBuilder.stateless()
                 .maxAttempts(3)
                 .backOffOptions(1000, 2.0, 10000)
                 .recoverer(messageRecoverer);
-        factory.setAdviceChain(retryInterceptor.build());
+        // Inside the retry advice, so a message backing off holds no slot
+        factory.setAdviceChain(retryInterceptor.build(), listenerThrottle);
 
         return factory;
     }
 
+    // Consumers beyond the concurrency cap could only wait on the throttle
+    private static void applyConsumers(SimpleRabbitListenerContainerFactory factory, ListenerProperties properties) {
+        int concurrent = properties.getConcurrentConsumers();
+        int max = properties.getMaxConcurrentConsumers();
+        int prefetch = properties.getPrefetchCount();
+        if (properties.isVirtualThreads()) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("auth-listener-");
+            executor.setVirtualThreads(true);
+            factory.setTaskExecutor(executor);
+            concurrent = properties.getVirtual().getConcurrentConsumers();
+            max = properties.getVirtual().getMaxConcurrentConsumers();
+            prefetch = properties.getVirtual().getPrefetchCount();
+        }
+
+        max = Math.min(max, properties.getMaxConcurrency());
+        factory.setConcurrentConsumers(Math.min(concurrent, max));
+        factory.setMaxConcurrentConsumers(max);
+        factory.setPrefetchCount(prefetch);
+    }
+
     @Bean
     MessageConverter messageConverter(ObjectMapper objectMapper) {
         Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter(objectMapper);
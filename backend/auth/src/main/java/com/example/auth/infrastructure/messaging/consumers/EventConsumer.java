@@ -8,6 +8,7 @@ import com.example.auth.features.AuthService;
 import com.example.auth.infrastructure.messaging.Constants;
 import com.example.auth.infrastructure.messaging.events.EducatorCreatedEvent;
 import com.example.auth.infrastructure.messaging.events.RegistrationCompletedEvent;
+import com.example.auth.infrastructure.messaging.inbox.EventInbox;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,17 +19,18 @@ import lombok.extern.slf4j.Slf4j;
 @RabbitListener(queues = Constants.AUTH_QUEUE_NAME)
 public class EventConsumer {
     private final AuthService service;
+    private final EventInbox inbox;
 
     @RabbitHandler
     public void handle(RegistrationCompletedEvent event) {
         log.info("Received RegistrationCompletedEvent: {}", event);
-        service.finalizeUserCreation(event.getUserId(), event.getSuccess());
+        inbox.process(event, () -> service.finalizeUserCreation(event.getUserId(), event.getSuccess()));
     }
 
     @RabbitHandler
     public void handle(EducatorCreatedEvent event) {
         log.info("Received EducatorCreatedEvent: {}", event);
-        service.assignEducatorRoleToUser(event.getUserId());
+        inbox.process(event, () -> service.assignEducatorRoleToUser(event.getUserId()));
     }
 
     @RabbitHandler(isDefault = true)
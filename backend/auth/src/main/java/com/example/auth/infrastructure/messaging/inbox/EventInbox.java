@@ -0,0 +1,118 @@
+package com.example.auth.infrastructure.messaging.inbox;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import com.example.auth.infrastructure.messaging.events.BaseEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Remembers which events have been handled, keyed by event id, so messages
+ * redelivered after a retry or a consumer crash are dropped before they reach
+ * Keycloak. An event is claimed before its handler runs and recorded only
+ * after it returns, so a failed attempt is retried as before, and a second
+ * delivery arriving while the first is still running fails and is retried
+ * rather than running the handler twice.
+ * <p>
+ * This service has no database, so the inbox lives in memory: ids are kept in
+ * arrival order and compacted from the oldest end on every access, once they
+ * pass the retention or the size limit. A restart forgets them, so handlers
+ * must also be safe to repeat against Keycloak.
+ */
+@Slf4j
+@Component
+public class EventInbox {
+    private final InboxProperties properties;
+    private final Map<String, Instant> processed = new LinkedHashMap<>();
+    private final Set<String> inFlight = new HashSet<>();
+    private final Counter duplicatesCounter;
+
+    public EventInbox(InboxProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.duplicatesCounter = Counter.builder("auth.inbox.duplicates")
+                .description("Redelivered events dropped because they were already handled")
+                .register(registry);
+        Gauge.builder("auth.inbox.size", this, EventInbox::size)
+                .description("Handled event ids held in memory")
+                .register(registry);
+    }
+
+    /**
+     * Runs the handler unless the event was already handled, then records
+     * it. Exceptions from the handler propagate and nothing is recorded.
+     */
+    public void process(BaseEvent event, Runnable handler) {
+        String eventId = event.getEventId();
+        if (eventId == null) {
+            handler.run();
+            return;
+        }
+
+        switch (claim(eventId)) {
+            case PROCESSED -> {
+                duplicatesCounter.increment();
+                log.info("Dropping duplicate {} event: {}", event.getEventType(), eventId);
+            }
+            case IN_FLIGHT -> throw new IllegalStateException("Event " + eventId + " is already being handled");
+            case CLAIMED -> {
+                boolean handled = false;
+                try {
+                    handler.run();
+                    handled = true;
+                } finally {
+                    release(eventId, handled);
+                }
+            }
+        }
+    }
+
+    private synchronized Claim claim(String eventId) {
+        compact();
+        if (processed.containsKey(eventId)) {
+            return Claim.PROCESSED;
+        }
+        return inFlight.add(eventId) ? Claim.CLAIMED : Claim.IN_FLIGHT;
+    }
+
+    private synchronized void release(String eventId, boolean handled) {
+        inFlight.remove(eventId);
+        if (handled) {
+            processed.putIfAbsent(eventId, Instant.now());
+            compact();
+        }
+    }
+
+    private synchronized int size() {
+        return processed.size();
+    }
+
+    // Entries are in arrival order, so expired ones are always at the head
+    // and each is visited once
+    private void compact() {
+        Instant cutoff = Instant.now().minus(properties.getRetention());
+        Iterator<Instant> oldest = processed.values().iterator();
+        while (oldest.hasNext()) {
+            Instant processedAt = oldest.next();
+            if (processed.size() <= properties.getMaximumSize() && !processedAt.isBefore(cutoff)) {
+                break;
+            }
+            oldest.remove();
+        }
+    }
+
+    private enum Claim {
+        CLAIMED,
+        IN_FLIGHT,
+        PROCESSED
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.auth.infrastructure.messaging.inbox;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.inbox")
+public class InboxProperties {
+    private int maximumSize = 100_000;
+    // Must outlast any redelivery, including replays from the dead-letter queue
+    private Duration retention = Duration.ofHours(24);
+}
@@ -1,51 +1,241 @@
 package com.example.auth.infrastructure.messaging.publishers;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.springframework.amqp.AmqpException;
 import org.springframework.amqp.core.MessagePostProcessor;
 import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.ConnectionBlockedEvent;
+import org.springframework.amqp.rabbit.connection.ConnectionUnblockedEvent;
 import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import com.example.auth.infrastructure.messaging.Constants;
 import com.example.auth.infrastructure.messaging.events.BaseEvent;
 import com.example.auth.infrastructure.messaging.events.RegistrationInitiatedEvent;
 
-import lombok.AllArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Publishes events without waiting for the broker: each publish returns a
+ * future that completes when the broker confirms the message, so callers can
+ * pipeline sends instead of paying a confirm round trip each.
+ * <p>
+ * Outstanding confirms are bounded by one window shared by every channel, and
+ * a publish fails fast instead of queueing when the window is full or the
+ * broker has blocked the connection. Nacked messages are re-sent a few times
+ * before their future fails with {@link PublishRejectedException}; a future
+ * whose confirm never arrives fails with a {@code TimeoutException} instead,
+ * since the message may still have been delivered. A send that fails on the
+ * calling thread returns an already failed future; otherwise futures complete
+ * on a virtual thread, never on the connection thread that delivered the
+ * confirm.
+ */
 @Slf4j
 @Service
-@AllArgsConstructor
 public class EventPublisher {
     private final RabbitTemplate rabbitTemplate;
+    private final PublisherProperties properties;
+    private final Semaphore window;
+    private final ExecutorService callbackExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter ackCounter;
+    private final Counter nackCounter;
+    private final Counter retryCounter;
+    private final Counter returnedCounter;
+    private final Counter blockedCounter;
+    private final Counter windowFullCounter;
 
-    public void publishEvent(String routingKey, BaseEvent event) {
+    private volatile boolean blocked;
+
+    public EventPublisher(RabbitTemplate rabbitTemplate, PublisherProperties properties, MeterRegistry registry) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.properties = properties;
+        int windowSize = properties.getMaxInFlight();
+        this.window = new Semaphore(windowSize);
+
+        this.ackCounter = confirms(registry, "ack");
+        this.nackCounter = confirms(registry, "nack");
+        this.retryCounter = Counter.builder("auth.publisher.retries")
+                .description("Messages re-sent after a broker nack")
+                .register(registry);
+        this.returnedCounter = Counter.builder("auth.publisher.returned")
+                .description("Messages returned by the broker as unroutable")
+                .register(registry);
+        this.blockedCounter = rejections(registry, "blocked");
+        this.windowFullCounter = rejections(registry, "window_full");
+        Gauge.builder("auth.publisher.in_flight", window, w -> windowSize - w.availablePermits())
+                .description("Messages sent and not yet confirmed")
+                .register(registry);
+
+        rabbitTemplate.setConfirmCallback(this::onConfirm);
+        rabbitTemplate.setReturnsCallback(this::onReturned);
+    }
+
+    public CompletableFuture<Void> publishEvent(String routingKey, BaseEvent event) {
+        if (this.blocked) {
+            blockedCounter.increment();
+            return CompletableFuture.failedFuture(new PublishRejectedException("Broker connection is blocked"));
+        }
+        if (!this.window.tryAcquire()) {
+            windowFullCounter.increment();
+            return CompletableFuture.failedFuture(
+                    new PublishRejectedException("Too many messages awaiting broker confirms"));
+        }
+
+        Pending pending = new Pending(routingKey, event);
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        pending.confirmed
+                .orTimeout(properties.getConfirmTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((ignored, error) -> {
+                    this.window.release();
+                    if (error != null) {
+                        log.error("Failed to publish event: {}", event.getEventId(), error);
+                    }
+                    this.callbackExecutor.execute(() -> {
+                        if (error == null) {
+                            result.complete(null);
+                        } else {
+                            result.completeExceptionally(error);
+                        }
+                    });
+                });
+
+        AmqpException failure = send(pending);
+        if (failure != null) {
+            // Hand the caller a future that has already failed, so it can tell
+            // a refused send apart from one still awaiting its confirm
+            return CompletableFuture.failedFuture(failure);
+        }
+        return result;
+    }
+
+    public CompletableFuture<Void> publishRegistrationInitiated(RegistrationInitiatedEvent event) {
+        return publishEvent(Constants.REGISTRATION_INITIATED_KEY, event);
+    }
+
+    @EventListener
+    public void onBlocked(ConnectionBlockedEvent event) {
+        log.warn("Broker blocked the connection: {}", event.getReason());
+        this.blocked = true;
+    }
+
+    @EventListener
+    public void onUnblocked(ConnectionUnblockedEvent event) {
+        log.info("Broker unblocked the connection");
+        this.blocked = false;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        this.callbackExecutor.shutdown();
+    }
+
+    /**
+     * Returns the exception when the send failed on the calling thread, which
+     * also fails the pending confirm.
+     */
+    private AmqpException send(Pending pending) {
+        BaseEvent event = pending.event;
+        MessagePostProcessor processor = message -> {
+            MessageProperties props = message.getMessageProperties();
+            props.setHeader("__TypeId__", event.getEventType());
+            props.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+            props.setContentEncoding("UTF-8");
+            return message;
+        };
+
+        int attempt = pending.attempts.incrementAndGet();
         try {
-            CorrelationData correlationData = new CorrelationData(event.getEventId());
-            MessagePostProcessor processor = message -> {
-                MessageProperties props = message.getMessageProperties();
-                props.setHeader("__TypeId__", event.getEventType());
-                props.setContentType(MessageProperties.CONTENT_TYPE_JSON);
-                props.setContentEncoding("UTF-8");
-                return message;
-            };
-
-            rabbitTemplate.convertAndSend(routingKey, event, processor, correlationData);
-
-            boolean confirmed = correlationData.getFuture().get(5, TimeUnit.SECONDS).isAck();
-            if (!confirmed) {
-                throw new IllegalStateException("Message not confirmed by broker");
+            rabbitTemplate.convertAndSend(pending.routingKey, event, processor,
+                    new PendingCorrelation(event.getEventId() + ":" + attempt, pending));
+            return null;
+        } catch (AmqpException e) {
+            pending.confirmed.completeExceptionally(e);
+            return e;
+        }
+    }
+
+    private void onConfirm(CorrelationData correlationData, boolean ack, String cause) {
+        if (!(correlationData instanceof PendingCorrelation correlation)) {
+            return;
+        }
+
+        Pending pending = correlation.pending;
+        if (ack) {
+            ackCounter.increment();
+            // A return always arrives before the ack of the same message
+            ReturnedMessage returned = correlation.getReturned();
+            if (returned != null) {
+                pending.confirmed.completeExceptionally(
+                        new PublishRejectedException("Message was unroutable: " + returned.getReplyText()));
+            } else {
+                pending.confirmed.complete(null);
             }
-        } catch (Exception e) {
-            log.error("Failed to publish event: {}", event.getEventId(), e);
-            // TODO: Consider storing failed messages for retry
-            throw new RuntimeException("Failed to publish message", e);
+            return;
+        }
+
+        nackCounter.increment();
+        if (pending.confirmed.isDone() || pending.attempts.get() > properties.getMaxNackRetries()) {
+            pending.confirmed.completeExceptionally(new PublishRejectedException("Message was nacked: " + cause));
+            return;
+        }
+
+        retryCounter.increment();
+        log.warn("Event {} was nacked, retrying: {}", pending.event.getEventId(), cause);
+        CompletableFuture.delayedExecutor(properties.getNackRetryBackoff().toMillis(), TimeUnit.MILLISECONDS,
+                this.callbackExecutor).execute(() -> send(pending));
+    }
+
+    private void onReturned(ReturnedMessage returned) {
+        returnedCounter.increment();
+        log.error("Message returned by broker: replyCode={}, replyText={}, exchange={}, routingKey={}",
+                returned.getReplyCode(), returned.getReplyText(), returned.getExchange(), returned.getRoutingKey());
+    }
+
+    private static Counter confirms(MeterRegistry registry, String result) {
+        return Counter.builder("auth.publisher.confirms")
+                .description("Publisher confirms received from the broker")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Counter rejections(MeterRegistry registry, String reason) {
+        return Counter.builder("auth.publisher.rejected")
+                .description("Publishes refused without sending")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    private static final class Pending {
+        private final String routingKey;
+        private final BaseEvent event;
+        private final CompletableFuture<Void> confirmed = new CompletableFuture<>();
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        private Pending(String routingKey, BaseEvent event) {
+            this.routingKey = routingKey;
+            this.event = event;
         }
     }
 
-    public void publishRegistrationInitiated(RegistrationInitiatedEvent event) {
-        publishEvent(Constants.REGISTRATION_INITIATED_KEY, event);
+    private static final class PendingCorrelation extends CorrelationData {
+        private final Pending pending;
+
+        private PendingCorrelation(String id, Pending pending) {
+            super(id);
+            this.pending = pending;
+        }
     }
 }
@@ -0,0 +1,13 @@
+package com.example.auth.infrastructure.messaging.publishers;
+
+import org.springframework.amqp.AmqpException;
+
+/**
+ * The broker did not accept a message, or the publisher refused to send it
+ * because the connection is blocked or too many confirms are outstanding.
+ */
+public class PublishRejectedException extends AmqpException {
+    public PublishRejectedException(String message) {
+        super(message);
+    }
+}
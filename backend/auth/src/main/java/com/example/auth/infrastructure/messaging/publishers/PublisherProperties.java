@@ -0,0 +1,21 @@
+package com.example.auth.infrastructure.messaging.publishers;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.rabbitmq.publisher")
+public class PublisherProperties {
+    private int channelCacheSize = 25;
+    // Messages awaiting a broker confirm across all channels. The template picks
+    // a cached channel per send, so a single channel may hold the whole window
+    private int maxInFlight = 1600;
+    private Duration confirmTimeout = Duration.ofSeconds(5);
+    private int maxNackRetries = 3;
+    private Duration nackRetryBackoff = Duration.ofMillis(200);
+}
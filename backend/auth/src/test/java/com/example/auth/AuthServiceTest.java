@@ -0,0 +1,105 @@
+package com.example.auth;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.auth.exceptions.ServiceUnavailableException;
+import com.example.auth.features.AuthService;
+import com.example.auth.features.contracts.RegistrationRequest;
+import com.example.auth.infrastructure.jwt.JwtService;
+import com.example.auth.infrastructure.keycloak.KeycloakClient;
+import com.example.auth.infrastructure.keycloak.KeycloakClient.UserStatus;
+import com.example.auth.infrastructure.messaging.publishers.EventPublisher;
+import com.example.auth.infrastructure.messaging.publishers.PublishRejectedException;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    @Mock
+    private JwtService jwtService;
+    @Mock
+    private KeycloakClient keycloakClient;
+    @Mock
+    private EventPublisher eventPublisher;
+    @InjectMocks
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(keycloakClient.registerUser("user", "user@example.com", "password")).thenReturn(USER_ID);
+    }
+
+    @Test
+    void register_ShouldDeletePendingUser_WhenPublishIsRefused() {
+        when(eventPublisher.publishRegistrationInitiated(any()))
+                .thenReturn(CompletableFuture.failedFuture(new PublishRejectedException("blocked")));
+
+        assertThrows(ServiceUnavailableException.class, () -> authService.register(request()));
+
+        verify(keycloakClient).deleteUser(USER_ID);
+    }
+
+    @Test
+    void register_ShouldDeletePendingUser_WhenBrokerNacksLater() {
+        CompletableFuture<Void> published = new CompletableFuture<>();
+        when(eventPublisher.publishRegistrationInitiated(any())).thenReturn(published);
+        when(jwtService.generateStatusToken(USER_ID)).thenReturn("token");
+
+        authService.register(request());
+        published.completeExceptionally(new PublishRejectedException("nacked"));
+
+        verify(keycloakClient).deleteUser(USER_ID);
+    }
+
+    @Test
+    void register_ShouldLeaveUserPending_WhenConfirmTimesOut() {
+        CompletableFuture<Void> published = new CompletableFuture<>();
+        when(eventPublisher.publishRegistrationInitiated(any())).thenReturn(published);
+        when(jwtService.generateStatusToken(USER_ID)).thenReturn("token");
+
+        authService.register(request());
+        published.completeExceptionally(new TimeoutException());
+
+        verify(keycloakClient, never()).deleteUser(any());
+    }
+
+    @Test
+    void finalizeUserCreation_ShouldDeletePendingUser_WhenRegistrationFailed() {
+        when(keycloakClient.getUserStatus(USER_ID)).thenReturn(UserStatus.DISABLED);
+
+        authService.finalizeUserCreation(USER_ID.toString(), false);
+
+        verify(keycloakClient).deleteUser(USER_ID);
+    }
+
+    @Test
+    void finalizeUserCreation_ShouldKeepEnabledUser_WhenFailureIsRedelivered() {
+        when(keycloakClient.getUserStatus(USER_ID)).thenReturn(UserStatus.ENABLED);
+
+        authService.finalizeUserCreation(USER_ID.toString(), false);
+
+        verify(keycloakClient, never()).deleteUser(any());
+    }
+
+    private static RegistrationRequest request() {
+        return new RegistrationRequest("user", "First", "Last", "user@example.com", "password",
+                LocalDate.of(2000, 1, 1));
+    }
+}
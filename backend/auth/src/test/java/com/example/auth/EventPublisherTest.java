@@ -0,0 +1,171 @@
+package com.example.auth;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.rabbit.connection.Connection;
+import org.springframework.amqp.rabbit.connection.ConnectionBlockedEvent;
+import org.springframework.amqp.rabbit.connection.ConnectionUnblockedEvent;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import com.example.auth.infrastructure.messaging.events.RegistrationInitiatedEvent;
+import com.example.auth.infrastructure.messaging.publishers.EventPublisher;
+import com.example.auth.infrastructure.messaging.publishers.PublishRejectedException;
+import com.example.auth.infrastructure.messaging.publishers.PublisherProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class EventPublisherTest {
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private PublisherProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PublisherProperties();
+        properties.setMaxInFlight(1);
+        properties.setNackRetryBackoff(Duration.ZERO);
+    }
+
+    @Test
+    void publishEvent_ShouldFailFast_WhenWindowIsFull() {
+        EventPublisher publisher = publisher();
+        publisher.publishRegistrationInitiated(event());
+
+        CompletableFuture<Void> rejected = publisher.publishRegistrationInitiated(event());
+
+        assertRejected(rejected);
+        verify(rabbitTemplate, times(1)).convertAndSend(anyString(), any(Object.class),
+                any(MessagePostProcessor.class), any(CorrelationData.class));
+    }
+
+    @Test
+    void publishEvent_ShouldResend_WhenNacked() {
+        EventPublisher publisher = publisher();
+        RabbitTemplate.ConfirmCallback confirms = confirmCallback();
+
+        CompletableFuture<Void> published = publisher.publishRegistrationInitiated(event());
+        confirms.confirm(sentCorrelations(1).get(0), false, "nack");
+        confirms.confirm(sentCorrelations(2).get(1), true, null);
+
+        assertDoesNotThrow(() -> published.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void publishEvent_ShouldFail_WhenNackRetriesAreExhausted() {
+        properties.setMaxNackRetries(1);
+        EventPublisher publisher = publisher();
+        RabbitTemplate.ConfirmCallback confirms = confirmCallback();
+
+        CompletableFuture<Void> published = publisher.publishRegistrationInitiated(event());
+        confirms.confirm(sentCorrelations(1).get(0), false, "nack");
+        confirms.confirm(sentCorrelations(2).get(1), false, "nack");
+
+        assertRejected(published);
+    }
+
+    @Test
+    void publishEvent_ShouldFailFast_WhenConnectionIsBlocked() {
+        EventPublisher publisher = publisher();
+        Connection connection = mock(Connection.class);
+        publisher.onBlocked(new ConnectionBlockedEvent(connection, "low on memory"));
+
+        assertRejected(publisher.publishRegistrationInitiated(event()));
+        verify(rabbitTemplate, never()).convertAndSend(anyString(), any(Object.class),
+                any(MessagePostProcessor.class), any(CorrelationData.class));
+
+        publisher.onUnblocked(new ConnectionUnblockedEvent(connection));
+        publisher.publishRegistrationInitiated(event());
+
+        verify(rabbitTemplate).convertAndSend(anyString(), any(Object.class), any(MessagePostProcessor.class),
+                any(CorrelationData.class));
+    }
+
+    @Test
+    void publishEvent_ShouldReturnFailedFutureAndFreeWindow_WhenSendThrows() {
+        EventPublisher publisher = publisher();
+        doThrow(new AmqpConnectException(new ConnectException("refused"))).when(rabbitTemplate)
+                .convertAndSend(anyString(), any(Object.class), any(MessagePostProcessor.class),
+                        any(CorrelationData.class));
+
+        CompletableFuture<Void> published = publisher.publishRegistrationInitiated(event());
+
+        assertTrue(published.isCompletedExceptionally());
+        ExecutionException error = assertThrows(ExecutionException.class, published::get);
+        assertInstanceOf(AmqpConnectException.class, error.getCause());
+        assertTrue(publisher.publishRegistrationInitiated(event()).isCompletedExceptionally());
+        verify(rabbitTemplate, times(2)).convertAndSend(anyString(), any(Object.class),
+                any(MessagePostProcessor.class), any(CorrelationData.class));
+    }
+
+    @Test
+    void publishEvent_ShouldTimeOutAndFreeWindow_WhenConfirmNeverArrives() {
+        properties.setConfirmTimeout(Duration.ofMillis(50));
+        EventPublisher publisher = publisher();
+
+        CompletableFuture<Void> published = publisher.publishRegistrationInitiated(event());
+
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> published.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, error.getCause());
+        assertFalse(publisher.publishRegistrationInitiated(event()).isDone());
+    }
+
+    private EventPublisher publisher() {
+        return new EventPublisher(rabbitTemplate, properties, new SimpleMeterRegistry());
+    }
+
+    private RabbitTemplate.ConfirmCallback confirmCallback() {
+        ArgumentCaptor<RabbitTemplate.ConfirmCallback> captor = ArgumentCaptor
+                .forClass(RabbitTemplate.ConfirmCallback.class);
+        verify(rabbitTemplate).setConfirmCallback(captor.capture());
+        return captor.getValue();
+    }
+
+    private List<CorrelationData> sentCorrelations(int count) {
+        ArgumentCaptor<CorrelationData> captor = ArgumentCaptor.forClass(CorrelationData.class);
+        verify(rabbitTemplate, timeout(1000).times(count)).convertAndSend(anyString(), any(Object.class),
+                any(MessagePostProcessor.class), captor.capture());
+        return captor.getAllValues();
+    }
+
+    private static void assertRejected(CompletableFuture<Void> future) {
+        ExecutionException error = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(PublishRejectedException.class, error.getCause());
+    }
+
+    private static RegistrationInitiatedEvent event() {
+        return new RegistrationInitiatedEvent("user-1", "user", "First", "Last", LocalDate.of(2000, 1, 1));
+    }
+}
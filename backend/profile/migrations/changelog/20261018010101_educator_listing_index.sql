@@ -0,0 +1,7 @@
+begin;
+
+create index if not exists  idx_educator_profile_listing
+    on educator_profile(status, has_product desc, created_date desc, user_profile_id desc)
+    where deleted_date is null;
+
+commit;
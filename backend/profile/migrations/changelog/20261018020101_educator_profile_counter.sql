@@ -0,0 +1,17 @@
+begin;
+
+create table if not exists educator_profile_counter (
+    status              int             not null,
+    has_product         boolean         not null,
+    total               bigint          not null    default 0,
+    primary key (status, has_product)
+);
+
+insert into educator_profile_counter (status, has_product, total)
+    select status, has_product, count(*)
+    from educator_profile
+    where deleted_date is null
+    group by status, has_product
+on conflict (status, has_product) do update set total = excluded.total;
+
+commit;
@@ -0,0 +1,12 @@
+begin;
+
+create table if not exists educator_stats (
+    educator_id         uuid            not null    primary key,
+    rating_sum          bigint          not null    default 0,
+    rating_count        bigint          not null    default 0,
+    student_count       int             not null    default 0,
+    product_count       int             not null    default 0,
+    last_modified_date  timestamptz
+);
+
+commit;
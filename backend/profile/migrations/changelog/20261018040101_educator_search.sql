@@ -0,0 +1,65 @@
+--liquibase formatted sql
+
+-- Function bodies contain semicolons, so this file runs as a single statement
+--changeset profile:20261018040101_educator_search splitStatements:false
+begin;
+
+alter table educator_profile add column if not exists search_vector tsvector;
+
+create or replace function educator_search_vector(first_name text, last_name text, bio text, experience text)
+returns tsvector
+language sql
+immutable
+as $$
+    select setweight(to_tsvector('english', coalesce(first_name, '') || ' ' || coalesce(last_name, '')), 'A')
+        || setweight(to_tsvector('english', coalesce(bio, '')), 'B')
+        || setweight(to_tsvector('english', coalesce(experience, '')), 'C')
+$$;
+
+create or replace function educator_profile_search_vector_refresh()
+returns trigger
+language plpgsql
+as $$
+begin
+    select educator_search_vector(u.first_name, u.last_name, new.bio, new.experience)
+        into new.search_vector
+    from user_profile u
+    where u.id = new.user_profile_id;
+    return new;
+end
+$$;
+
+create or replace function user_profile_search_vector_refresh()
+returns trigger
+language plpgsql
+as $$
+begin
+    update educator_profile e
+    set search_vector = educator_search_vector(new.first_name, new.last_name, e.bio, e.experience)
+    where e.user_profile_id = new.id;
+    return null;
+end
+$$;
+
+drop trigger if exists educator_profile_search_vector on educator_profile;
+create trigger educator_profile_search_vector
+    before insert or update of bio, experience, user_profile_id on educator_profile
+    for each row execute function educator_profile_search_vector_refresh();
+
+drop trigger if exists user_profile_search_vector on user_profile;
+create trigger user_profile_search_vector
+    after update of first_name, last_name on user_profile
+    for each row
+    when (old.first_name is distinct from new.first_name or old.last_name is distinct from new.last_name)
+    execute function user_profile_search_vector_refresh();
+
+update educator_profile e
+set search_vector = educator_search_vector(u.first_name, u.last_name, e.bio, e.experience)
+from user_profile u
+where u.id = e.user_profile_id;
+
+create index if not exists  idx_educator_profile_search
+    on educator_profile using gin (search_vector)
+    where deleted_date is null;
+
+commit;
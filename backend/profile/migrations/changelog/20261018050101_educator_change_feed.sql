@@ -0,0 +1,63 @@
+--liquibase formatted sql
+
+-- Function bodies contain semicolons, so this file runs as a single statement
+--changeset profile:20261018050101_educator_change_feed splitStatements:false
+begin;
+
+alter table educator_profile add column if not exists change_date timestamptz;
+
+update educator_profile
+set change_date = coalesce(last_modified_date, created_date)
+where change_date is null;
+
+alter table educator_profile alter column change_date set not null;
+
+-- clock_timestamp() rather than now(), so rows written late in a long
+-- transaction do not sort behind rows other transactions already committed
+create or replace function educator_profile_change_date_touch()
+returns trigger
+language plpgsql
+as $$
+begin
+    new.change_date := clock_timestamp();
+    return new;
+end
+$$;
+
+drop trigger if exists educator_profile_change_date on educator_profile;
+create trigger educator_profile_change_date
+    before insert or update on educator_profile
+    for each row execute function educator_profile_change_date_touch();
+
+-- Educators mirror the owner's names and image, so those edits count as
+-- educator changes too. Replaces the search-only trigger with one that
+-- refreshes both derived columns in a single row update.
+drop trigger if exists user_profile_search_vector on user_profile;
+drop function if exists user_profile_search_vector_refresh();
+
+create or replace function user_profile_educator_refresh()
+returns trigger
+language plpgsql
+as $$
+begin
+    update educator_profile e
+    set search_vector = educator_search_vector(new.first_name, new.last_name, e.bio, e.experience)
+    where e.user_profile_id = new.id;
+    return null;
+end
+$$;
+
+drop trigger if exists user_profile_educator_refresh on user_profile;
+create trigger user_profile_educator_refresh
+    after update of first_name, last_name, image_url, deleted_date on user_profile
+    for each row
+    when (old.first_name is distinct from new.first_name
+        or old.last_name is distinct from new.last_name
+        or old.image_url is distinct from new.image_url
+        or old.deleted_date is distinct from new.deleted_date)
+    execute function user_profile_educator_refresh();
+
+create index if not exists  idx_educator_profile_change
+    on educator_profile(change_date, user_profile_id);
+
+commit;
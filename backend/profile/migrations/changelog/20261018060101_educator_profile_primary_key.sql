@@ -0,0 +1,13 @@
+begin;
+
+-- Single-row lookups and joins by educator id (including the foreign key
+-- check on user_profile deletes) had no usable index: the partial index
+-- below only serves queries that also filter on deleted_date
+alter table educator_profile
+    add constraint educator_profile_pkey primary key (user_profile_id);
+
+-- Both partial indexes only duplicate a primary key now
+drop index if exists idx_educator_profile_active;
+drop index if exists idx_user_profile_active;
+
+commit;
@@ -0,0 +1,24 @@
+begin;
+
+-- One row per user profile holding everything the profile details endpoints
+-- return, kept current by the write paths in the same transaction. Existing
+-- profiles are backfilled by running the service with --rebuild-profile-details
+create table if not exists profile_details_view (
+    user_profile_id     uuid            not null    primary key references user_profile(id),
+    username            varchar(50)     not null,
+    first_name          varchar(50)     not null,
+    last_name           varchar(50)     not null,
+    bio                 varchar(200),
+    image_url           varchar(200),
+    is_educator         boolean         not null,
+    educator_bio        varchar(2000),
+    educator_experience varchar(2000),
+    educator_video_url  varchar(200),
+    rating_sum          bigint          not null    default 0,
+    rating_count        bigint          not null    default 0,
+    student_count       int             not null    default 0,
+    product_count       int             not null    default 0,
+    refreshed_date      timestamptz     not null
+);
+
+commit;
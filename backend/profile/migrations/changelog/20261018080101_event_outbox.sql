@@ -0,0 +1,30 @@
+begin;
+
+-- Events written in the same transaction as the change they describe and
+-- published to RabbitMQ by the outbox relay. Sent rows are kept for the
+-- configured retention and then deleted
+create table if not exists event_outbox (
+    id                  bigserial       not null    primary key,
+    event_id            varchar(36)     not null,
+    event_type          varchar(100)    not null,
+    exchange            varchar(255)    not null,
+    routing_key         varchar(255)    not null,
+    payload             jsonb           not null,
+    attempts            int             not null    default 0,
+    last_error          varchar(1000),
+    created_date        timestamptz     not null    default now(),
+    next_attempt_date   timestamptz     not null    default now(),
+    sent_date           timestamptz,
+    failed_date         timestamptz
+);
+
+-- The relay only ever scans rows still waiting to be sent
+create index if not exists ix_event_outbox_pending
+    on event_outbox (next_attempt_date, id)
+    where sent_date is null and failed_date is null;
+
+create index if not exists ix_event_outbox_sent_date
+    on event_outbox (sent_date)
+    where sent_date is not null;
+
+commit;
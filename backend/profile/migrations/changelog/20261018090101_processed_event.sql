@@ -0,0 +1,15 @@
+begin;
+
+-- Ids of the events the consumers have handled, so redeliveries are dropped
+-- instead of applied twice. Rows are kept for the configured retention,
+-- well past any redelivery, and then deleted
+create table if not exists processed_event (
+    event_id            varchar(36)     not null    primary key,
+    event_type          varchar(100)    not null,
+    processed_date      timestamptz     not null    default now()
+);
+
+create index if not exists ix_processed_event_processed_date
+    on processed_event (processed_date);
+
+commit;
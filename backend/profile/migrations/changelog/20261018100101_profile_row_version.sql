@@ -0,0 +1,43 @@
+--liquibase formatted sql
+
+-- Function bodies contain semicolons, so this file runs as a single statement
+--changeset profile:20261018100101_profile_row_version splitStatements:false
+begin;
+
+-- Row versions for optimistic PATCH updates: a client sends back the version
+-- it last saw, and the update only applies while the row still has it. The
+-- triggers bump the version on every write path, JPA and JDBC alike, but only
+-- when an editable column actually changes
+alter table user_profile add column if not exists version bigint not null default 0;
+alter table educator_profile add column if not exists version bigint not null default 0;
+
+create or replace function row_version_bump()
+returns trigger
+language plpgsql
+as $$
+begin
+    new.version := old.version + 1;
+    return new;
+end
+$$;
+
+drop trigger if exists user_profile_version on user_profile;
+create trigger user_profile_version
+    before update of first_name, last_name, bio, image_url on user_profile
+    for each row
+    when (old.first_name is distinct from new.first_name
+        or old.last_name is distinct from new.last_name
+        or old.bio is distinct from new.bio
+        or old.image_url is distinct from new.image_url)
+    execute function row_version_bump();
+
+drop trigger if exists educator_profile_version on educator_profile;
+create trigger educator_profile_version
+    before update of bio, experience, video_url on educator_profile
+    for each row
+    when (old.bio is distinct from new.bio
+        or old.experience is distinct from new.experience
+        or old.video_url is distinct from new.video_url)
+    execute function row_version_bump();
+
+commit;
@@ -0,0 +1,13 @@
+begin;
+
+-- Events that only carry the latest state of something, such as an
+-- educator's names, are written with a coalesce key and held back for a short
+-- window. A later event with the same key replaces the pending row instead of
+-- adding one, so a burst of edits is published once
+alter table event_outbox add column if not exists coalesce_key varchar(100);
+
+create unique index if not exists ux_event_outbox_coalesce_pending
+    on event_outbox (coalesce_key)
+    where coalesce_key is not null and sent_date is null and failed_date is null;
+
+commit;
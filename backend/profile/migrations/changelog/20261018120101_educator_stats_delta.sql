@@ -0,0 +1,15 @@
+begin;
+
+-- Stats deltas from learning-service events, written in the transaction that
+-- records the event and folded into educator_stats by the aggregator's flush
+create table if not exists educator_stats_delta (
+    id                  bigserial       not null    primary key,
+    educator_id         uuid            not null,
+    rating_sum          bigint          not null    default 0,
+    rating_count        bigint          not null    default 0,
+    student_count       int             not null    default 0,
+    product_count       int             not null    default 0,
+    created_date        timestamptz     not null    default now()
+);
+
+commit;
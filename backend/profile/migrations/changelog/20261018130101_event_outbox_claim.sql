@@ -0,0 +1,20 @@
+begin;
+
+-- Set when the relay first claims a row, in a transaction of its own, so no
+-- row lock is held while the broker confirms. A claimed row may already be on
+-- its way to the broker, so it no longer takes coalesced events: a later event
+-- with the same key starts a new row, and the relay skips the older one if it
+-- is still unsent by then
+alter table event_outbox add column if not exists claimed_date timestamptz;
+
+drop index if exists ux_event_outbox_coalesce_pending;
+
+create unique index if not exists ux_event_outbox_coalesce_pending
+    on event_outbox (coalesce_key)
+    where coalesce_key is not null and sent_date is null and failed_date is null and claimed_date is null;
+
+create index if not exists ix_event_outbox_coalesce_key
+    on event_outbox (coalesce_key, id)
+    where coalesce_key is not null;
+
+commit;
@@ -0,0 +1,27 @@
+--liquibase formatted sql
+
+-- Function bodies contain semicolons, so this file runs as a single statement
+--changeset profile:20261018140101_educator_stats_change_date splitStatements:false
+begin;
+
+-- The change feed carries each educator's stats, so a stats write is an
+-- educator change too. Touching the row fires the change date trigger, on
+-- every write path to educator_stats
+create or replace function educator_stats_change_date_touch()
+returns trigger
+language plpgsql
+as $$
+begin
+    update educator_profile
+    set change_date = clock_timestamp()
+    where user_profile_id = new.educator_id;
+    return null;
+end
+$$;
+
+drop trigger if exists educator_stats_change_date on educator_stats;
+create trigger educator_stats_change_date
+    after insert or update on educator_stats
+    for each row execute function educator_stats_change_date_touch();
+
+commit;
@@ -4,9 +4,11 @@ import org.springframework.amqp.rabbit.annotation.EnableRabbit;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableRabbit
 @EnableJpaAuditing
+@EnableScheduling
 @SpringBootApplication
 public class ProfileApplication {
     public static void main(String[] args) {
@@ -16,6 +16,10 @@ import org.springframework.security.web.SecurityFilterChain;
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
+    // Only ids are public; other paths under the same prefix, such as /me,
+    // /export and /changes, must not match the public id routes
+    private static final String UUID_ID = "{id:[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}}";
+
     @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}")
     private String jwkSetUri;
 
@@ -31,8 +35,9 @@ public class SecurityConfig {
                         .requestMatchers("/public/**", "/v3/api-docs/**", "/swagger-ui/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/educators").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/educators/recommended").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/v1/educators/{id}").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/v1/profiles/{id}").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/educators/search").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/educators/" + UUID_ID).permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/profiles/" + UUID_ID).permitAll()
                         .anyRequest().authenticated())
                 .oauth2ResourceServer(c -> c.jwt(Customizer.withDefaults()));
         return http.build();
@@ -0,0 +1,7 @@
+package com.example.profile.exceptions;
+
+public class BadRequestException extends BaseAppException {
+    public BadRequestException(String message, String code) {
+        super(message, code);
+    }
+}
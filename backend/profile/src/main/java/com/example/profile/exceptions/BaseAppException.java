@@ -10,4 +10,11 @@ public class BaseAppException extends RuntimeException {
         super(message);
         this.code = code;
     }
+
+    // For errors raised often enough on expected paths that capturing a stack
+    // trace would dominate their cost
+    protected BaseAppException(String message, String code, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+        this.code = code;
+    }
 }
\ No newline at end of file
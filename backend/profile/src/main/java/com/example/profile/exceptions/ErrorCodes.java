@@ -5,4 +5,11 @@ public class ErrorCodes {
     public static final String USER_PROFILE_NOT_FOUND = "ERROR_USER_PROFILE_NOT_FOUND";
     public static final String EDUCATOR_PROFILE_NOT_FOUND = "ERROR_EDUCATOR_PROFILE_NOT_FOUND";
     public static final String EDUCATOR_PROFILE_EXISTS = "ERROR_EDUCATOR_PROFILE_EXISTS";
+    public static final String INVALID_CURSOR = "ERROR_INVALID_CURSOR";
+    public static final String TOO_MANY_IDS = "ERROR_TOO_MANY_IDS";
+    public static final String INVALID_PAGE_SIZE = "ERROR_INVALID_PAGE_SIZE";
+    public static final String INVALID_SEARCH_QUERY = "ERROR_INVALID_SEARCH_QUERY";
+    public static final String LOAD_TIMEOUT = "ERROR_LOAD_TIMEOUT";
+    public static final String INVALID_VERSION = "ERROR_INVALID_VERSION";
+    public static final String VERSION_MISMATCH = "ERROR_VERSION_MISMATCH";
 }
\ No newline at end of file
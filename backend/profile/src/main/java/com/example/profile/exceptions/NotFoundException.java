@@ -4,4 +4,8 @@ public class NotFoundException extends BaseAppException {
     public NotFoundException(String message, String code) {
         super(message, code);
     }
+
+    public NotFoundException(String message, String code, boolean writableStackTrace) {
+        super(message, code, writableStackTrace);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.example.profile.exceptions;
+
+public class PreconditionFailedException extends BaseAppException {
+    public PreconditionFailedException(String message, String code) {
+        super(message, code);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.profile.exceptions;
+
+public class ServiceUnavailableException extends BaseAppException {
+    public ServiceUnavailableException(String message, String code) {
+        super(message, code);
+    }
+}
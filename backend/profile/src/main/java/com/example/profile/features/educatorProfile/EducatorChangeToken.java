@@ -0,0 +1,40 @@
+package com.example.profile.features.educatorProfile;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import com.example.profile.exceptions.BadRequestException;
+import com.example.profile.exceptions.ErrorCodes;
+import com.example.profile.features.educatorProfile.projections.EducatorChangeView;
+
+/**
+ * Opaque resume position in the educator change feed, ordered by
+ * {@code (changeDate, id)}.
+ */
+public record EducatorChangeToken(LocalDateTime changeDate, UUID id) {
+    private static final String SEPARATOR = "|";
+
+    public static EducatorChangeToken of(EducatorChangeView view) {
+        return new EducatorChangeToken(view.changeDate(), view.id());
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, changeDate.toString(), id.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EducatorChangeToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Unexpected token format");
+            }
+            return new EducatorChangeToken(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid change token", ErrorCodes.INVALID_CURSOR);
+        }
+    }
+}
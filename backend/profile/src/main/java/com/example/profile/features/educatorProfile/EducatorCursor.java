@@ -0,0 +1,43 @@
+package com.example.profile.features.educatorProfile;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import com.example.profile.exceptions.BadRequestException;
+import com.example.profile.exceptions.ErrorCodes;
+import com.example.profile.features.educatorProfile.projections.EducatorSummaryView;
+
+/**
+ * Opaque keyset position in the educator listing, ordered by
+ * {@code (hasProduct desc, createdDate desc, id desc)}.
+ */
+public record EducatorCursor(boolean hasProduct, LocalDateTime createdDate, UUID id) {
+    private static final String SEPARATOR = "|";
+
+    public static EducatorCursor of(EducatorSummaryView view) {
+        return new EducatorCursor(view.hasProduct(), view.createdDate(), view.id());
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, String.valueOf(hasProduct), createdDate.toString(), id.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EducatorCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Unexpected cursor format");
+            }
+            return new EducatorCursor(
+                    Boolean.parseBoolean(parts[0]),
+                    LocalDateTime.parse(parts[1]),
+                    UUID.fromString(parts[2]));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor", ErrorCodes.INVALID_CURSOR);
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package com.example.profile.features.educatorProfile;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.profile.features.educatorProfile.contracts.CursorPagedResult;
+import com.example.profile.features.educatorProfile.contracts.EducatorSummaryResponse;
+import com.example.profile.features.educatorProfile.contracts.PagedResult;
+import com.example.profile.features.educatorProfile.entities.EducatorVerificationStatus;
+import com.example.profile.features.educatorProfile.projections.EducatorSummaryView;
+
+import io.opentelemetry.api.metrics.Meter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process snapshot of approved educators, kept pre-sorted in listing order
+ * so pages are served as array slices. The snapshot is immutable. Write paths
+ * reload the educators they touched and queue them; queued changes are merged
+ * into a new snapshot once per apply interval, so a burst of writes costs one
+ * copy of the directory rather than one per write.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EducatorDirectory {
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    // Postgres compares uuids as unsigned bytes, unlike UUID.compareTo
+    private static final Comparator<UUID> UUID_ORDER = Comparator
+            .comparing((UUID id) -> id.getMostSignificantBits(), Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    static final Comparator<Entry> ORDER = Comparator.comparing(Entry::hasProduct, Comparator.reverseOrder())
+            .thenComparing(Entry::createdDate, Comparator.reverseOrder())
+            .thenComparing(Entry::id, UUID_ORDER.reversed());
+
+    private final EducatorProfileMapper mapper;
+    private final EducatorProfileRepository repository;
+    private final Meter meter;
+
+    private final Object writeLock = new Object();
+    private final Object applyLock = new Object();
+    private Set<UUID> touchedDuringRebuild;
+    private Set<UUID> pendingTouched = new HashSet<>();
+    private Map<UUID, Entry> pendingUpserts = new HashMap<>();
+    private volatile Snapshot snapshot;
+
+    @Value("${app.educator-directory.enabled:true}")
+    private boolean enabled;
+
+    @PostConstruct
+    void registerMetrics() {
+        meter.gaugeBuilder("profile.educator_directory.staleness")
+                .setDescription("Seconds since the educator directory was last fully rebuilt")
+                .setUnit("s")
+                .buildWithCallback(m -> {
+                    Snapshot current = this.snapshot;
+                    if (current != null) {
+                        m.record(Duration.between(current.rebuiltAt(), Instant.now()).toMillis() / 1000.0);
+                    }
+                });
+        meter.gaugeBuilder("profile.educator_directory.size")
+                .setDescription("Number of educators held in the directory snapshot")
+                .ofLongs()
+                .buildWithCallback(m -> {
+                    Snapshot current = this.snapshot;
+                    if (current != null) {
+                        m.record(current.entries().length);
+                    }
+                });
+    }
+
+    public boolean isReady() {
+        return this.enabled && this.snapshot != null;
+    }
+
+    /**
+     * Increases every time a new snapshot is published; zero before the first
+     * rebuild. Lets derived views skip recomputation when nothing changed.
+     */
+    public long getVersion() {
+        Snapshot current = this.snapshot;
+        return current == null ? 0 : current.version();
+    }
+
+    Entry[] getEntries() {
+        Snapshot current = this.snapshot;
+        return current == null ? null : current.entries();
+    }
+
+    public PagedResult<EducatorSummaryResponse> getPage(int pageNumber, int pageSize) {
+        Entry[] entries = this.snapshot.entries();
+        int from = (int) Math.min((long) Math.max(pageNumber - 1, 0) * pageSize, entries.length);
+        int to = Math.min(from + pageSize, entries.length);
+
+        return new PagedResult<EducatorSummaryResponse>(
+                toSummaries(entries, from, to),
+                pageSize == 0 ? 1 : (entries.length + pageSize - 1) / pageSize,
+                entries.length,
+                pageNumber,
+                pageSize);
+    }
+
+    public CursorPagedResult<EducatorSummaryResponse> getPageAfter(EducatorCursor cursor, int pageSize) {
+        Entry[] entries = this.snapshot.entries();
+        int from = 0;
+        if (cursor != null) {
+            int index = Arrays.binarySearch(entries,
+                    new Entry(null, cursor.hasProduct(), cursor.createdDate(), cursor.id()), ORDER);
+            from = index >= 0 ? index + 1 : -index - 1;
+        }
+        int to = Math.min(from + pageSize, entries.length);
+
+        String nextCursor = to < entries.length && to > from ? entries[to - 1].toCursor().encode() : null;
+        return new CursorPagedResult<EducatorSummaryResponse>(toSummaries(entries, from, to), nextCursor, pageSize);
+    }
+
+    /**
+     * Reloads a single educator once the surrounding transaction commits, or
+     * immediately when called outside of a transaction. The change shows up
+     * in pages after the next {@link #applyPending()}.
+     */
+    public void refresh(UUID id) {
+        if (!this.enabled) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload(id);
+                }
+            });
+            return;
+        }
+
+        reload(id);
+    }
+
+    /**
+     * Reloads a batch of educators, after the surrounding transaction commits
+     * when there is one.
+     */
+    public void refresh(Collection<UUID> ids) {
+        if (!this.enabled || ids.isEmpty()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Set<UUID> pending = Set.copyOf(ids);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload(pending);
+                }
+            });
+            return;
+        }
+
+        reload(ids);
+    }
+
+    private void reload(Collection<UUID> ids) {
+        try {
+            List<Entry> upserts = this.repository
+                    .findSummariesByIds(ids, EducatorVerificationStatus.APPROVED)
+                    .stream()
+                    .map(this::toEntry)
+                    .toList();
+            enqueue(Set.copyOf(ids), upserts);
+        } catch (RuntimeException e) {
+            log.error("Failed to refresh {} educators in directory", ids.size(), e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (this.enabled) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.educator-directory.rebuild-interval:PT5M}", initialDelayString = "${app.educator-directory.rebuild-interval:PT5M}")
+    public void scheduledRebuild() {
+        if (this.enabled) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        synchronized (this.writeLock) {
+            this.touchedDuringRebuild = new HashSet<>();
+        }
+
+        Entry[] entries;
+        try {
+            entries = loadAll();
+        } catch (RuntimeException e) {
+            synchronized (this.writeLock) {
+                this.touchedDuringRebuild = null;
+            }
+            log.error("Failed to rebuild educator directory", e);
+            return;
+        }
+
+        Set<UUID> touched;
+        synchronized (this.writeLock) {
+            Snapshot previous = this.snapshot;
+            this.snapshot = new Snapshot(entries, Instant.now(), previous == null ? 1 : previous.version() + 1);
+            touched = this.touchedDuringRebuild;
+            this.touchedDuringRebuild = null;
+        }
+
+        // Changes that landed while the table was being read may be missing from the scan
+        refresh(touched);
+        log.info("Educator directory rebuilt with {} educators", entries.length);
+    }
+
+    void reload(UUID id) {
+        try {
+            List<Entry> upserts = this.repository
+                    .findSummariesByIds(List.of(id), EducatorVerificationStatus.APPROVED)
+                    .stream()
+                    .map(this::toEntry)
+                    .toList();
+            enqueue(Set.of(id), upserts);
+        } catch (RuntimeException e) {
+            log.error("Failed to refresh educator {} in directory", id, e);
+        }
+    }
+
+    /**
+     * Merges the queued changes into a new snapshot: entries in the queued
+     * ids are dropped and their reloaded versions merged in, in one pass.
+     */
+    @Scheduled(fixedDelayString = "${app.educator-directory.apply-interval:PT1S}")
+    public void applyPending() {
+        // Serialized, so an older batch never lands on top of a newer one
+        synchronized (this.applyLock) {
+            Set<UUID> touched;
+            Map<UUID, Entry> upserts;
+            synchronized (this.writeLock) {
+                if (this.pendingTouched.isEmpty()) {
+                    return;
+                }
+                touched = this.pendingTouched;
+                upserts = this.pendingUpserts;
+                this.pendingTouched = new HashSet<>();
+                this.pendingUpserts = new HashMap<>();
+            }
+
+            Entry[] sorted = upserts.values().toArray(Entry[]::new);
+            Arrays.sort(sorted, ORDER);
+            // The merge runs outside the write lock; a rebuild that swaps the
+            // snapshot meanwhile gets the same changes merged into it instead
+            while (true) {
+                Snapshot base = this.snapshot;
+                Entry[] entries = merge(base.entries(), touched, sorted);
+                synchronized (this.writeLock) {
+                    if (this.snapshot == base) {
+                        this.snapshot = new Snapshot(entries, base.rebuiltAt(), base.version() + 1);
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Queues {@code upserts} to replace every entry in {@code touched}; ids
+     * without an upsert are removed.
+     */
+    private void enqueue(Set<UUID> touched, List<Entry> upserts) {
+        synchronized (this.writeLock) {
+            if (this.touchedDuringRebuild != null) {
+                this.touchedDuringRebuild.addAll(touched);
+            }
+            if (this.snapshot == null) {
+                return;
+            }
+
+            this.pendingTouched.addAll(touched);
+            touched.forEach(this.pendingUpserts::remove);
+            upserts.forEach(entry -> this.pendingUpserts.put(entry.id(), entry));
+        }
+    }
+
+    private static Entry[] merge(Entry[] current, Set<UUID> touched, Entry[] upserts) {
+        Entry[] merged = new Entry[current.length + upserts.length];
+        int size = 0;
+        int next = 0;
+        for (Entry entry : current) {
+            if (touched.contains(entry.id())) {
+                continue;
+            }
+            while (next < upserts.length && ORDER.compare(upserts[next], entry) < 0) {
+                merged[size++] = upserts[next++];
+            }
+            merged[size++] = entry;
+        }
+        while (next < upserts.length) {
+            merged[size++] = upserts[next++];
+        }
+        return size == merged.length ? merged : Arrays.copyOf(merged, size);
+    }
+
+    private Entry[] loadAll() {
+        List<Entry> entries = new ArrayList<>();
+        Limit limit = Limit.of(REBUILD_BATCH_SIZE);
+        List<EducatorSummaryView> batch = this.repository.findSummariesByStatus(EducatorVerificationStatus.APPROVED,
+                limit);
+        while (!batch.isEmpty()) {
+            batch.forEach(v -> entries.add(toEntry(v)));
+            if (batch.size() < REBUILD_BATCH_SIZE) {
+                break;
+            }
+            EducatorSummaryView last = batch.getLast();
+            batch = this.repository.findSummariesByStatusAfter(EducatorVerificationStatus.APPROVED,
+                    last.hasProduct(), last.createdDate(), last.id(), limit);
+        }
+
+        Entry[] result = entries.toArray(Entry[]::new);
+        Arrays.sort(result, ORDER);
+        return result;
+    }
+
+    private Entry toEntry(EducatorSummaryView view) {
+        return new Entry(mapper.toEducatorSummary(view), view.hasProduct(), view.createdDate(), view.id());
+    }
+
+    private static List<EducatorSummaryResponse> toSummaries(Entry[] entries, int from, int to) {
+        List<EducatorSummaryResponse> items = new ArrayList<>(Math.max(to - from, 0));
+        for (int i = from; i < to; i++) {
+            items.add(entries[i].summary());
+        }
+        return items;
+    }
+
+    record Entry(EducatorSummaryResponse summary, boolean hasProduct, LocalDateTime createdDate, UUID id) {
+        EducatorCursor toCursor() {
+            return new EducatorCursor(hasProduct, createdDate, id);
+        }
+    }
+
+    private record Snapshot(Entry[] entries, Instant rebuiltAt, long version) {
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.profile.features.educatorProfile;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.profile.features.educatorProfile.contracts.EducatorSummaryResponse;
+import com.example.profile.features.educatorProfile.entities.EducatorVerificationStatus;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes the approved educator directory as NDJSON, one
+ * {@code EducatorSummaryResponse} per line. Rows are read through a database
+ * cursor and written as they arrive, so memory use does not depend on the
+ * number of educators.
+ */
+@Slf4j
+@Component
+public class EducatorExporter {
+    private final EducatorProfileMapper mapper;
+    private final EducatorProfileRepository repository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+    private final LongCounter rowsCounter;
+
+    public EducatorExporter(EducatorProfileMapper mapper, EducatorProfileRepository repository,
+            ObjectMapper objectMapper, Meter meter) {
+        this.mapper = mapper;
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        // Flushing is left to the generator buffer rather than done per row
+        this.writer = objectMapper.writerFor(EducatorSummaryResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.rowsCounter = meter.counterBuilder("profile.educator_export.rows")
+                .setDescription("Educators written by NDJSON exports")
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public void export(OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        long[] rows = { 0 };
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            try {
+                this.repository.streamSummariesByStatus(EducatorVerificationStatus.APPROVED, view -> {
+                    try {
+                        writer.writeValue(generator, mapper.toEducatorSummary(view));
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    rows[0]++;
+                });
+            } catch (UncheckedIOException e) {
+                // Usually the client went away; the read-only transaction just rolls back
+                throw e.getCause();
+            } finally {
+                rowsCounter.add(rows[0]);
+            }
+        }
+
+        log.info("Exported {} educators in {} ms", rows[0], (System.nanoTime() - start) / 1_000_000);
+    }
+}
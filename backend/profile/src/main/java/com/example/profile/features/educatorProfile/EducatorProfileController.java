@@ -2,20 +2,33 @@ package com.example.profile.features.educatorProfile;
 
 import java.util.UUID;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.profile.features.educatorProfile.contracts.ChangeFeedResult;
+import com.example.profile.features.educatorProfile.contracts.CursorPagedResult;
+import com.example.profile.features.educatorProfile.contracts.EducatorChangeResponse;
 import com.example.profile.features.educatorProfile.contracts.EducatorDetailsResponse;
 import com.example.profile.features.educatorProfile.contracts.EducatorSummaryResponse;
 import com.example.profile.features.educatorProfile.contracts.PagedResult;
+import com.example.profile.features.educatorProfile.contracts.PatchEducatorProfileRequest;
 import com.example.profile.features.educatorProfile.contracts.UpdateEducatorProfileRequest;
+import com.example.profile.infrastructure.web.LookupRequest;
+import com.example.profile.infrastructure.web.LookupResult;
+import com.example.profile.infrastructure.web.RowVersion;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -28,27 +41,79 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class EducatorProfileController {
     private final EducatorProfileService service;
+    private final EducatorExporter exporter;
 
-    @Operation(summary = "Retrieve Educator Profiles", description = "Retrieve a paginated list of educator profiles using the 'skip' and 'take' query parameters.")
+    @Operation(summary = "Retrieve Educator Profiles", description = "Retrieve a paginated list of educator profiles using the 'pageNumber' and 'pageSize' (at most 100) query parameters. Set 'includeTotal' to false to skip totals.")
     @GetMapping()
     public ResponseEntity<PagedResult<EducatorSummaryResponse>> getEducatorProfiles(
             @RequestParam(defaultValue = "1") int pageNumber,
+            @RequestParam(defaultValue = "20") int pageSize,
+            @RequestParam(defaultValue = "true") boolean includeTotal) {
+        return ResponseEntity.ok(this.service.getEducatorProfiles(pageNumber, pageSize, includeTotal));
+    }
+
+    @Operation(summary = "Scroll Educator Profiles", description = "Retrieve educator profiles after the opaque 'after' cursor. An empty cursor starts from the first page; totals are not computed.")
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPagedResult<EducatorSummaryResponse>> scrollEducatorProfiles(
+            @RequestParam String after,
             @RequestParam(defaultValue = "20") int pageSize) {
-        return ResponseEntity.ok(this.service.getEducatorProfiles(pageNumber, pageSize));
+        return ResponseEntity.ok(this.service.getEducatorProfiles(after, pageSize));
     }
 
     @Operation(summary = "Retrieve Recommended Educator Profiles", description = "Retrieve a paginated list of recommended educator profiles.")
     @GetMapping("/recommended")
     public ResponseEntity<PagedResult<EducatorSummaryResponse>> getRecommendedEducatorProfiles(
             @RequestParam(defaultValue = "1") int pageNumber,
+            @RequestParam(defaultValue = "20") int pageSize,
+            @RequestParam(defaultValue = "true") boolean includeTotal) {
+        return ResponseEntity.ok(this.service.getRecommendedEducatorProfiles(pageNumber, pageSize, includeTotal));
+    }
+
+    @Operation(summary = "Scroll Recommended Educator Profiles", description = "Retrieve recommended educator profiles after the opaque 'after' cursor without computing totals.")
+    @GetMapping(value = "/recommended", params = "after")
+    public ResponseEntity<CursorPagedResult<EducatorSummaryResponse>> scrollRecommendedEducatorProfiles(
+            @RequestParam String after,
             @RequestParam(defaultValue = "20") int pageSize) {
-        return ResponseEntity.ok(this.service.getRecommendedEducatorProfiles(pageNumber, pageSize));
+        return ResponseEntity.ok(this.service.getRecommendedEducatorProfiles(after, pageSize));
     }
 
-    @Operation(summary = "Retrieve Educator Profile by ID", description = "Retrieve detailed information about an educator given their unique identifier.")
+    @Operation(summary = "Search Educator Profiles", description = "Full-text search over educator names, bio and experience, best matches first. Pass the returned 'nextCursor' as 'after' to fetch the next page.")
+    @GetMapping("/search")
+    public ResponseEntity<CursorPagedResult<EducatorSummaryResponse>> searchEducatorProfiles(
+            @RequestParam String q,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int pageSize) {
+        return ResponseEntity.ok(this.service.searchEducatorProfiles(q, after, pageSize));
+    }
+
+    @Operation(summary = "Export Educator Profiles", description = "Stream every approved educator as newline-delimited JSON, one summary per line. Intended for services that need the full set rather than pages.")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEducatorProfiles() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(this.exporter::export);
+    }
+
+    @Operation(summary = "Retrieve Educator Changes", description = "Retrieve educators changed after the opaque 'since' token, oldest first, with tombstones for educators that were deleted or are no longer approved. Omit 'since' to start from the beginning and pass the returned 'nextToken' on the next call.")
+    @GetMapping("/changes")
+    public ResponseEntity<ChangeFeedResult<EducatorChangeResponse>> getEducatorChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(this.service.getEducatorChanges(since, limit));
+    }
+
+    @Operation(summary = "Retrieve Educator Profile by ID", description = "Retrieve detailed information about an educator given their unique identifier. Supports If-None-Match and If-Modified-Since.")
     @GetMapping("/{id}")
-    public ResponseEntity<EducatorDetailsResponse> getEducatorProfileById(@PathVariable UUID id) {
-        return ResponseEntity.ok(this.service.getEducatorProfileById(id));
+    public ResponseEntity<EducatorDetailsResponse> getEducatorProfileById(@PathVariable UUID id,
+            WebRequest request) {
+        return this.service.getEducatorProfileById(id).respond(request);
+    }
+
+    @Operation(summary = "Look Up Educator Profiles", description = "Resolve up to 100 educator ids to educator summaries in one call. Ids that do not resolve to an approved educator are listed under 'missing'.")
+    @PostMapping("/lookup")
+    public ResponseEntity<LookupResult<EducatorSummaryResponse>> lookupEducatorProfiles(
+            @RequestBody @Valid LookupRequest request) {
+        return ResponseEntity.ok(this.service.lookupEducatorProfiles(request.ids()));
     }
 
     @Operation(summary = "Create Educator Profile", description = "Create an educator profile for the current authenticated user using the supplied details.")
@@ -64,4 +129,11 @@ public class EducatorProfileController {
         this.service.updateMyEducatorProfile(request);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Patch Educator Profile", description = "Update only the supplied fields of the current user's educator profile. Returns the new version as an ETag; send it back in If-Match to reject the update with 412 if the profile changed since.")
+    @PatchMapping("/me")
+    public ResponseEntity<Void> patchMyEducatorProfile(@RequestBody @Valid PatchEducatorProfileRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return this.service.patchMyEducatorProfile(request, RowVersion.fromIfMatch(ifMatch)).respond();
+    }
+}
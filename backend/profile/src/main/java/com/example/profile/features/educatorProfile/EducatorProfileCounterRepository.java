@@ -0,0 +1,30 @@
+package com.example.profile.features.educatorProfile;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import com.example.profile.features.educatorProfile.entities.EducatorProfileCounter;
+import com.example.profile.features.educatorProfile.entities.EducatorProfileCounterId;
+import com.example.profile.features.educatorProfile.entities.EducatorVerificationStatus;
+
+import jakarta.persistence.QueryHint;
+
+public interface EducatorProfileCounterRepository
+        extends JpaRepository<EducatorProfileCounter, EducatorProfileCounterId> {
+    @Query("select coalesce(sum(c.total), 0) from EducatorProfileCounter c where c.id.status = :status")
+    long countByStatus(EducatorVerificationStatus status);
+
+    // Without declared query spaces a native update evicts the whole
+    // second-level cache
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "educator_profile_counter"))
+    @Query(value = """
+            insert into educator_profile_counter (status, has_product, total)
+            values (:status, :hasProduct, :delta)
+            on conflict (status, has_product) do update set total = educator_profile_counter.total + excluded.total
+            """, nativeQuery = true)
+    void increment(int status, boolean hasProduct, long delta);
+}
@@ -1,13 +1,17 @@
 package com.example.profile.features.educatorProfile;
 
-import java.util.Random;
-
 import org.springframework.stereotype.Component;
 
+import com.example.profile.features.educatorProfile.contracts.EducatorChangeResponse;
 import com.example.profile.features.educatorProfile.contracts.EducatorDetailsResponse;
 import com.example.profile.features.educatorProfile.contracts.EducatorSummaryResponse;
 import com.example.profile.features.educatorProfile.contracts.UpdateEducatorProfileRequest;
 import com.example.profile.features.educatorProfile.entities.EducatorProfile;
+import com.example.profile.features.educatorProfile.entities.EducatorStats;
+import com.example.profile.features.educatorProfile.entities.EducatorVerificationStatus;
+import com.example.profile.features.educatorProfile.projections.EducatorChangeView;
+import com.example.profile.features.educatorProfile.projections.EducatorDetailsView;
+import com.example.profile.features.educatorProfile.projections.EducatorSummaryView;
 
 @Component
 public class EducatorProfileMapper {
@@ -24,31 +28,45 @@ public class EducatorProfileMapper {
                 .build();
     }
 
-    // TODO: map real counters
-    public EducatorSummaryResponse toEducatorSummary(EducatorProfile profile, Random random) {
+    public EducatorSummaryResponse toEducatorSummary(EducatorSummaryView view) {
         return new EducatorSummaryResponse(
-                profile.getId(),
-                profile.getUserProfile().getFirstName(),
-                profile.getUserProfile().getLastName(),
-                profile.getUserProfile().getImageUrl(),
-                profile.getBio(),
-                Math.round(1.0 + (5.0 - 1.0) * random.nextDouble() * 10.0) / 10.0,
-                random.nextInt(0, 20),
-                random.nextInt(0, 20));
+                view.id(),
+                view.firstName(),
+                view.lastName(),
+                view.imageUrl(),
+                view.bio(),
+                EducatorStats.averageRating(view.ratingSum(), view.ratingCount()),
+                view.studentCount(),
+                view.productCount());
+    }
+
+    public EducatorChangeResponse toEducatorChange(EducatorChangeView view) {
+        if (view.deletedDate() != null || view.status() != EducatorVerificationStatus.APPROVED) {
+            return new EducatorChangeResponse(view.id(), view.changeDate(), true, null);
+        }
+
+        return new EducatorChangeResponse(view.id(), view.changeDate(), false, new EducatorSummaryResponse(
+                view.id(),
+                view.firstName(),
+                view.lastName(),
+                view.imageUrl(),
+                view.bio(),
+                EducatorStats.averageRating(view.ratingSum(), view.ratingCount()),
+                view.studentCount(),
+                view.productCount()));
     }
 
-    // TODO: map real counters
-    public EducatorDetailsResponse toEducatorDetails(EducatorProfile profile, Random random) {
+    public EducatorDetailsResponse toEducatorDetails(EducatorDetailsView view) {
         return new EducatorDetailsResponse(
-                profile.getId(),
-                profile.getUserProfile().getFirstName(),
-                profile.getUserProfile().getLastName(),
-                profile.getUserProfile().getImageUrl(),
-                profile.getVideoUrl(),
-                profile.getBio(),
-                profile.getExperience(),
-                Math.round(1.0 + (5.0 - 1.0) * random.nextDouble() * 10.0) / 10.0,
-                random.nextInt(0, 20),
-                random.nextInt(0, 20));
+                view.id(),
+                view.firstName(),
+                view.lastName(),
+                view.imageUrl(),
+                view.videoUrl(),
+                view.bio(),
+                view.experience(),
+                EducatorStats.averageRating(view.ratingSum(), view.ratingCount()),
+                view.studentCount(),
+                view.productCount());
     }
 }
\ No newline at end of file
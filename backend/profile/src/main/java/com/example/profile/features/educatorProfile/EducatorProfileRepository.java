@@ -1,17 +1,108 @@
 package com.example.profile.features.educatorProfile;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-import org.springframework.data.domain.Page;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.example.profile.features.educatorProfile.entities.EducatorProfile;
 import com.example.profile.features.educatorProfile.entities.EducatorVerificationStatus;
+import com.example.profile.features.educatorProfile.projections.EducatorChangeView;
+import com.example.profile.features.educatorProfile.projections.EducatorDetailsView;
+import com.example.profile.features.educatorProfile.projections.EducatorSummaryView;
+import com.example.profile.infrastructure.caching.HibernateCacheConfig;
+import com.example.profile.infrastructure.web.ResourceVersion;
 
-public interface EducatorProfileRepository extends JpaRepository<EducatorProfile, UUID> {
-    Page<EducatorProfile> findByStatus(EducatorVerificationStatus status, Pageable pageable);
+import jakarta.persistence.QueryHint;
 
-    Optional<EducatorProfile> findApprovedById(UUID id);
-}
\ No newline at end of file
+public interface EducatorProfileRepository
+        extends JpaRepository<EducatorProfile, UUID>, EducatorProfileRepositoryCustom {
+    String SUMMARY_SELECT = """
+            select new com.example.profile.features.educatorProfile.projections.EducatorSummaryView(
+                e.id, u.firstName, u.lastName, u.imageUrl, e.bio, e.hasProduct, e.createdDate,
+                coalesce(s.ratingSum, 0L), coalesce(s.ratingCount, 0L),
+                coalesce(s.studentCount, 0), coalesce(s.productCount, 0))
+            from EducatorProfile e
+                join e.userProfile u
+                left join EducatorStats s on s.educatorId = e.id
+            """;
+
+    String LISTING_ORDER = " order by e.hasProduct desc, e.createdDate desc, e.id desc";
+
+    // Served from the query cache until a write touches one of the joined tables
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.EDUCATOR_LISTING_REGION)
+    })
+    @Query(SUMMARY_SELECT + " where e.status = :status and e.deletedDate is null" + LISTING_ORDER)
+    Slice<EducatorSummaryView> findSummariesByStatus(EducatorVerificationStatus status, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " where e.status = :status and e.deletedDate is null" + LISTING_ORDER)
+    List<EducatorSummaryView> findSummariesByStatus(EducatorVerificationStatus status, Limit limit);
+
+    @Query(SUMMARY_SELECT + """
+             where e.status = :status and e.deletedDate is null
+                and (e.hasProduct, e.createdDate, e.id) < (:hasProduct, :createdDate, :id)
+            """ + LISTING_ORDER)
+    List<EducatorSummaryView> findSummariesByStatusAfter(
+            EducatorVerificationStatus status,
+            boolean hasProduct,
+            LocalDateTime createdDate,
+            UUID id,
+            Limit limit);
+
+    @Query("""
+            select new com.example.profile.features.educatorProfile.projections.EducatorDetailsView(
+                e.id, u.firstName, u.lastName, u.imageUrl, e.videoUrl, e.bio, e.experience,
+                coalesce(s.ratingSum, 0L), coalesce(s.ratingCount, 0L),
+                coalesce(s.studentCount, 0), coalesce(s.productCount, 0))
+            from EducatorProfile e
+                join e.userProfile u
+                left join EducatorStats s on s.educatorId = e.id
+            where e.id = :id and e.status = :status and e.deletedDate is null
+            """)
+    Optional<EducatorDetailsView> findDetailsById(UUID id, EducatorVerificationStatus status);
+
+    String CHANGE_SELECT = """
+            select new com.example.profile.features.educatorProfile.projections.EducatorChangeView(
+                e.id, e.changeDate, e.status, coalesce(e.deletedDate, u.deletedDate),
+                u.firstName, u.lastName, u.imageUrl, e.bio,
+                coalesce(s.ratingSum, 0L), coalesce(s.ratingCount, 0L),
+                coalesce(s.studentCount, 0), coalesce(s.productCount, 0))
+            from EducatorProfile e
+                join e.userProfile u
+                left join EducatorStats s on s.educatorId = e.id
+            """;
+
+    String CHANGE_ORDER = " order by e.changeDate, e.id";
+
+    @Query(CHANGE_SELECT + " where e.changeDate < :until" + CHANGE_ORDER)
+    List<EducatorChangeView> findChanges(LocalDateTime until, Limit limit);
+
+    @Query(CHANGE_SELECT + """
+             where e.changeDate < :until
+                and (e.changeDate, e.id) > (:changeDate, :id)
+            """ + CHANGE_ORDER)
+    List<EducatorChangeView> findChangesAfter(LocalDateTime changeDate, UUID id, LocalDateTime until, Limit limit);
+
+    @Query("""
+            select new com.example.profile.infrastructure.web.ResourceVersion(
+                e.version,
+                coalesce(e.lastModifiedDate, e.createdDate),
+                coalesce(u.lastModifiedDate, u.createdDate),
+                s.lastModifiedDate)
+            from EducatorProfile e
+                join e.userProfile u
+                left join EducatorStats s on s.educatorId = e.id
+            where e.id = :id and e.status = :status and e.deletedDate is null
+            """)
+    Optional<ResourceVersion> findVersionById(UUID id, EducatorVerificationStatus status);
+}
@@ -0,0 +1,65 @@
+package com.example.profile.features.educatorProfile;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import com.example.profile.features.educatorProfile.contracts.PatchEducatorProfileRequest;
+import com.example.profile.features.educatorProfile.entities.EducatorVerificationStatus;
+import com.example.profile.features.educatorProfile.projections.EducatorSearchHit;
+import com.example.profile.features.educatorProfile.projections.EducatorSummaryView;
+
+public interface EducatorProfileRepositoryCustom {
+    /**
+     * Streams every educator with the given status in listing order through a
+     * forward-only cursor. Must run inside a transaction, otherwise the
+     * Postgres driver buffers the whole result set instead of fetching in
+     * batches.
+     */
+    void streamSummariesByStatus(EducatorVerificationStatus status, Consumer<EducatorSummaryView> consumer);
+
+    /**
+     * Streams the id of every educator profile, whatever its status, through
+     * a forward-only cursor. Must run inside a transaction.
+     */
+    void streamIds(Consumer<UUID> consumer);
+
+    List<EducatorSummaryView> findSummariesByIds(Collection<UUID> ids, EducatorVerificationStatus status);
+
+    /**
+     * Sets {@code has_product} on every given educator that does not have it
+     * yet, in one statement. Returns the status of each educator that was
+     * flipped; ids without a profile or already flipped are left out.
+     */
+    Map<UUID, EducatorVerificationStatus> markHasProduct(Collection<UUID> ids);
+
+    /**
+     * Applies the non-null fields of {@code patch} with one conditional
+     * update and returns the new version. Nothing is written, and the result
+     * is empty, when the profile is missing, when every value is unchanged,
+     * or when {@code expectedVersion} is given and the row no longer has it.
+     */
+    Optional<Long> patch(UUID id, PatchEducatorProfileRequest patch, Long expectedVersion);
+
+    Optional<Long> findRowVersion(UUID id);
+
+    /**
+     * Upper bound, exclusive, for the change feed: {@code settleDelay} before
+     * now, capped at the start of the oldest transaction still writing, whose
+     * rows may commit with an earlier change date than any bound taken now.
+     */
+    LocalDateTime findChangeFeedBound(Duration settleDelay);
+
+    /**
+     * Full-text search over names, bio and experience, best matches first.
+     * {@code after} is the last hit of the previous page, or {@code null} for
+     * the first page.
+     */
+    List<EducatorSearchHit> searchSummaries(String query, EducatorVerificationStatus status,
+            EducatorSearchCursor after, int limit);
+}
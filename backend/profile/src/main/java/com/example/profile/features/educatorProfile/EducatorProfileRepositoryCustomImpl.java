@@ -0,0 +1,220 @@
+package com.example.profile.features.educatorProfile;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.example.profile.features.educatorProfile.contracts.PatchEducatorProfileRequest;
+import com.example.profile.features.educatorProfile.entities.EducatorVerificationStatus;
+import com.example.profile.features.educatorProfile.projections.EducatorSearchHit;
+import com.example.profile.features.educatorProfile.projections.EducatorSummaryView;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+class EducatorProfileRepositoryCustomImpl implements EducatorProfileRepositoryCustom {
+    private static final int STREAM_FETCH_SIZE = 500;
+    private static final int ID_FETCH_SIZE = 10_000;
+
+    private static final String SUMMARY_COLUMNS = """
+            e.user_profile_id, u.first_name, u.last_name, u.image_url, e.bio, e.has_product, e.created_date,
+                coalesce(s.rating_sum, 0) as rating_sum, coalesce(s.rating_count, 0) as rating_count,
+                coalesce(s.student_count, 0) as student_count, coalesce(s.product_count, 0) as product_count
+            """;
+
+    private static final String SUMMARY_JOINS = """
+                join user_profile u on u.id = e.user_profile_id
+                left join educator_stats s on s.educator_id = e.user_profile_id
+            """;
+
+    private static final String SUMMARIES_BY_STATUS_SQL = "select " + SUMMARY_COLUMNS
+            + "from educator_profile e\n" + SUMMARY_JOINS
+            + "where e.status = ? and e.deleted_date is null\n"
+            + "order by e.has_product desc, e.created_date desc, e.user_profile_id desc";
+
+    private static final String IDS_SQL = "select user_profile_id from educator_profile";
+
+    // The ids travel as one array parameter, so the statement text (and its
+    // cached plan) is the same for any batch size
+    private static final String SUMMARIES_BY_IDS_SQL = "select " + SUMMARY_COLUMNS
+            + "from educator_profile e\n" + SUMMARY_JOINS
+            + "where e.user_profile_id = any(?) and e.status = ? and e.deleted_date is null";
+
+    // The GIN index on search_vector narrows the scan to matching rows; only
+    // those are ranked, then paged by (rank, id)
+    private static final String SEARCH_SQL = "select " + SUMMARY_COLUMNS
+            + ", ts_rank(e.search_vector, q.query) as rank\n"
+            + "from websearch_to_tsquery('english', ?) q(query), educator_profile e\n" + SUMMARY_JOINS
+            + "where e.search_vector @@ q.query and e.status = ? and e.deleted_date is null\n";
+
+    private static final String SEARCH_ORDER = "order by rank desc, e.user_profile_id desc limit ?";
+
+    private static final String SEARCH_FIRST_SQL = SEARCH_SQL + SEARCH_ORDER;
+
+    private static final String SEARCH_AFTER_SQL = SEARCH_SQL
+            + "and (ts_rank(e.search_vector, q.query), e.user_profile_id) < (?::real, ?)\n" + SEARCH_ORDER;
+
+    // Bypasses the entity, so callers evict the second-level cache for the
+    // returned ids after commit
+    private static final String MARK_HAS_PRODUCT_SQL = """
+            update educator_profile set has_product = true, last_modified_date = now()
+            where user_profile_id = any(?) and not has_product
+            returning user_profile_id, status
+            """;
+
+    // Writes only when a value changes and the version still matches; the
+    // version is bumped by trigger
+    private static final String PATCH_SQL = """
+            update educator_profile set
+                bio = coalesce(?, bio),
+                experience = coalesce(?, experience),
+                video_url = coalesce(?, video_url),
+                last_modified_date = now()
+            where user_profile_id = ? and deleted_date is null
+                and (?::bigint is null or version = ?)
+                and (bio, experience, video_url) is distinct from
+                    (coalesce(?, bio), coalesce(?, experience), coalesce(?, video_url))
+            returning version
+            """;
+
+    private static final String ROW_VERSION_SQL = """
+            select version from educator_profile where user_profile_id = ? and deleted_date is null
+            """;
+
+    // Only transactions that have written hold an xid; a change date is
+    // stamped after its transaction started, so none can fall below the cap
+    private static final String CHANGE_FEED_BOUND_SQL = """
+            select least(clock_timestamp() - ? * interval '1 millisecond',
+                (select min(xact_start) from pg_stat_activity
+                 where datname = current_database() and backend_xid is not null))
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void streamSummariesByStatus(EducatorVerificationStatus status, Consumer<EducatorSummaryView> consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SUMMARIES_BY_STATUS_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            ps.setInt(1, status.ordinal());
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(toSummaryView(rs, rs.getRow())));
+    }
+
+    @Override
+    public void streamIds(Consumer<UUID> consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(IDS_SQL, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(ID_FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(rs.getObject(1, UUID.class)));
+    }
+
+    @Override
+    public List<EducatorSummaryView> findSummariesByIds(Collection<UUID> ids, EducatorVerificationStatus status) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        return jdbcTemplate.query(SUMMARIES_BY_IDS_SQL, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids.toArray()));
+            ps.setInt(2, status.ordinal());
+        }, EducatorProfileRepositoryCustomImpl::toSummaryView);
+    }
+
+    @Override
+    public Map<UUID, EducatorVerificationStatus> markHasProduct(Collection<UUID> ids) {
+        Map<UUID, EducatorVerificationStatus> flipped = new HashMap<>();
+        if (ids.isEmpty()) {
+            return flipped;
+        }
+
+        EducatorVerificationStatus[] statuses = EducatorVerificationStatus.values();
+        jdbcTemplate.query(MARK_HAS_PRODUCT_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids.toArray())),
+                (RowCallbackHandler) rs -> flipped.put(rs.getObject("user_profile_id", UUID.class),
+                        statuses[rs.getInt("status")]));
+        return flipped;
+    }
+
+    @Override
+    public Optional<Long> patch(UUID id, PatchEducatorProfileRequest patch, Long expectedVersion) {
+        return jdbcTemplate.query(PATCH_SQL, ps -> {
+            ps.setString(1, patch.bio());
+            ps.setString(2, patch.experience());
+            ps.setString(3, patch.videoUrl());
+            ps.setObject(4, id);
+            ps.setObject(5, expectedVersion, Types.BIGINT);
+            ps.setObject(6, expectedVersion, Types.BIGINT);
+            ps.setString(7, patch.bio());
+            ps.setString(8, patch.experience());
+            ps.setString(9, patch.videoUrl());
+        }, (rs, rowNum) -> rs.getLong("version")).stream().findFirst();
+    }
+
+    @Override
+    public Optional<Long> findRowVersion(UUID id) {
+        return jdbcTemplate.queryForList(ROW_VERSION_SQL, Long.class, id).stream().findFirst();
+    }
+
+    @Override
+    public LocalDateTime findChangeFeedBound(Duration settleDelay) {
+        return jdbcTemplate.queryForObject(CHANGE_FEED_BOUND_SQL, Timestamp.class, settleDelay.toMillis())
+                .toLocalDateTime();
+    }
+
+    @Override
+    public List<EducatorSearchHit> searchSummaries(String query, EducatorVerificationStatus status,
+            EducatorSearchCursor after, int limit) {
+        if (after == null) {
+            return jdbcTemplate.query(SEARCH_FIRST_SQL, ps -> {
+                ps.setString(1, query);
+                ps.setInt(2, status.ordinal());
+                ps.setInt(3, limit);
+            }, EducatorProfileRepositoryCustomImpl::toSearchHit);
+        }
+
+        return jdbcTemplate.query(SEARCH_AFTER_SQL, ps -> {
+            ps.setString(1, query);
+            ps.setInt(2, status.ordinal());
+            ps.setFloat(3, after.rank());
+            ps.setObject(4, after.id());
+            ps.setInt(5, limit);
+        }, EducatorProfileRepositoryCustomImpl::toSearchHit);
+    }
+
+    private static EducatorSearchHit toSearchHit(ResultSet rs, int rowNum) throws SQLException {
+        return new EducatorSearchHit(toSummaryView(rs, rowNum), rs.getFloat("rank"));
+    }
+
+    private static EducatorSummaryView toSummaryView(ResultSet rs, int rowNum) throws SQLException {
+        return new EducatorSummaryView(
+                rs.getObject("user_profile_id", UUID.class),
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                rs.getString("image_url"),
+                rs.getString("bio"),
+                rs.getBoolean("has_product"),
+                rs.getTimestamp("created_date").toLocalDateTime(),
+                rs.getLong("rating_sum"),
+                rs.getLong("rating_count"),
+                rs.getInt("student_count"),
+                rs.getInt("product_count"));
+    }
+}
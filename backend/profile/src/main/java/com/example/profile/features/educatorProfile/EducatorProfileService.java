@@ -1,81 +1,174 @@
 package com.example.profile.features.educatorProfile;
 
-import java.util.Random;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.profile.exceptions.BadRequestException;
 import com.example.profile.exceptions.ConflictException;
 import com.example.profile.exceptions.ErrorCodes;
 import com.example.profile.exceptions.NotFoundException;
+import com.example.profile.features.educatorProfile.contracts.ChangeFeedResult;
+import com.example.profile.features.educatorProfile.contracts.CursorPagedResult;
+import com.example.profile.features.educatorProfile.contracts.EducatorChangeResponse;
 import com.example.profile.features.educatorProfile.contracts.EducatorDetailsResponse;
 import com.example.profile.features.educatorProfile.contracts.EducatorSummaryResponse;
 import com.example.profile.features.educatorProfile.contracts.PagedResult;
+import com.example.profile.features.educatorProfile.contracts.PatchEducatorProfileRequest;
 import com.example.profile.features.educatorProfile.contracts.UpdateEducatorProfileRequest;
 import com.example.profile.features.educatorProfile.entities.EducatorProfile;
 import com.example.profile.features.educatorProfile.entities.EducatorVerificationStatus;
+import com.example.profile.features.educatorProfile.projections.EducatorChangeView;
+import com.example.profile.features.educatorProfile.projections.EducatorSearchHit;
+import com.example.profile.features.educatorProfile.projections.EducatorSummaryView;
+import com.example.profile.features.userProfile.ProfileDetailsStore;
 import com.example.profile.features.userProfile.UserProfileRepository;
 import com.example.profile.features.userProfile.entities.UserProfile;
+import com.example.profile.infrastructure.caching.IdFilter;
+import com.example.profile.infrastructure.caching.NearCache;
+import com.example.profile.infrastructure.caching.ProfileCacheInvalidator;
+import com.example.profile.infrastructure.caching.SingleFlight;
 import com.example.profile.infrastructure.identity.CurrentUser;
 import com.example.profile.infrastructure.messaging.events.EducatorCreatedEvent;
 import com.example.profile.infrastructure.messaging.events.EducatorProfileUpdatedEvent;
 import com.example.profile.infrastructure.messaging.publishers.EventPublisher;
+import com.example.profile.infrastructure.persistence.PrimarySnapshot;
+import com.example.profile.infrastructure.persistence.ReplicaRead;
+import com.example.profile.infrastructure.web.LookupResult;
+import com.example.profile.infrastructure.web.RowVersion;
+import com.example.profile.infrastructure.web.Versioned;
 
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class EducatorProfileService {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+    // Writes stamp their change date before they commit, so the newest rows
+    // are held back a little; transactions still writing hold the bound back
+    // further, however long they run (see findChangeFeedBound)
+    private static final Duration CHANGE_FEED_SETTLE_DELAY = Duration.ofSeconds(5);
+
     private final CurrentUser currentUser;
     private final EventPublisher publisher;
+    private final EducatorDirectory directory;
+    private final EducatorRecommendations recommendations;
     private final EducatorProfileMapper mapper;
     private final EducatorProfileRepository repository;
+    private final EducatorProfileCounterRepository counterRepository;
     private final UserProfileRepository profileRepository;
+    private final NearCache<Versioned<EducatorDetailsResponse>> cache;
+    private final SingleFlight<Versioned<EducatorDetailsResponse>> educatorDetailsFlight;
+    private final PrimarySnapshot snapshot;
+    private final ReplicaRead replicaRead;
+    private final ProfileCacheInvalidator cacheInvalidator;
+    private final ProfileDetailsStore profileDetails;
+    private final IdFilter educatorIdFilter;
 
-    private static final Random random = new Random();
+    public PagedResult<EducatorSummaryResponse> getEducatorProfiles(int pageNumber, int pageSize,
+            boolean includeTotal) {
+        requirePageSize(pageSize);
+        return this.getApprovedEducatorProfilesPage(pageNumber, pageSize, includeTotal);
+    }
 
-    public PagedResult<EducatorSummaryResponse> getEducatorProfiles(int pageNumber, int pageSize) {
-        PageRequest pageable = PageRequest.of(pageNumber - 1, pageSize,
-                Sort.by(Sort.Order.desc("hasProduct"), Sort.Order.desc("createdDate")));
+    public PagedResult<EducatorSummaryResponse> getRecommendedEducatorProfiles(int pageNumber, int pageSize,
+            boolean includeTotal) {
+        requirePageSize(pageSize);
+        if (this.recommendations.isReady()) {
+            PagedResult<EducatorSummaryResponse> page = this.recommendations.getPage(pageNumber, pageSize);
+            return includeTotal ? page : new PagedResult<>(page.getItems(), pageNumber, pageSize);
+        }
 
-        Page<EducatorProfile> educatorProfiles = this.repository.findByStatus(
-                EducatorVerificationStatus.APPROVED, pageable);
+        return this.getApprovedEducatorProfilesPage(pageNumber, pageSize, includeTotal);
+    }
 
-        // TODO: replace random with real data
-        return new PagedResult<EducatorSummaryResponse>(
-                educatorProfiles.getContent().stream().map(m -> mapper.toEducatorSummary(m, random)).toList(),
-                educatorProfiles.getTotalPages(),
-                educatorProfiles.getTotalElements(),
-                pageNumber,
-                educatorProfiles.getSize());
+    public CursorPagedResult<EducatorSummaryResponse> getEducatorProfiles(String after, int pageSize) {
+        requirePageSize(pageSize);
+        return this.getApprovedEducatorProfilesAfter(after, pageSize);
     }
 
-    public PagedResult<EducatorSummaryResponse> getRecommendedEducatorProfiles(int pageNumber, int pageSize) {
-        // TODO: update sorting
-        PageRequest pageable = PageRequest.of(pageNumber - 1, pageSize,
-                Sort.by(Sort.Order.desc("hasProduct"), Sort.Order.desc("createdDate")));
+    public CursorPagedResult<EducatorSummaryResponse> getRecommendedEducatorProfiles(String after, int pageSize) {
+        requirePageSize(pageSize);
+        if (this.recommendations.isReady()) {
+            return this.recommendations.getPageAfter(after, pageSize);
+        }
 
-        Page<EducatorProfile> educatorProfiles = this.repository.findByStatus(
-                EducatorVerificationStatus.APPROVED, pageable);
+        return this.getApprovedEducatorProfilesAfter(after, pageSize);
+    }
 
-        // TODO: replace random with real data
-        return new PagedResult<EducatorSummaryResponse>(
-                educatorProfiles.getContent().stream().map(m -> mapper.toEducatorSummary(m, random)).toList(),
-                educatorProfiles.getTotalPages(),
-                educatorProfiles.getTotalElements(),
-                pageNumber,
-                educatorProfiles.getSize());
+    @Transactional(readOnly = true)
+    public CursorPagedResult<EducatorSummaryResponse> searchEducatorProfiles(String query, String after,
+            int pageSize) {
+        requirePageSize(pageSize);
+        if (query == null || query.isBlank() || query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new BadRequestException("Search query must be 1 to " + MAX_SEARCH_QUERY_LENGTH + " characters",
+                    ErrorCodes.INVALID_SEARCH_QUERY);
+        }
+
+        EducatorSearchCursor cursor = after == null || after.isBlank() ? null : EducatorSearchCursor.decode(after);
+        List<EducatorSearchHit> hits = this.repository.searchSummaries(query.strip(),
+                EducatorVerificationStatus.APPROVED, cursor, pageSize + 1);
+
+        boolean hasNext = hits.size() > pageSize;
+        List<EducatorSearchHit> page = hasNext ? hits.subList(0, pageSize) : hits;
+        String nextCursor = hasNext ? EducatorSearchCursor.of(page.getLast()).encode() : null;
+
+        return new CursorPagedResult<EducatorSummaryResponse>(
+                page.stream().map(hit -> mapper.toEducatorSummary(hit.summary())).toList(),
+                nextCursor,
+                pageSize);
     }
 
-    // TODO: replace random with real data
-    public EducatorDetailsResponse getEducatorProfileById(UUID id) {
-        return this.repository.findApprovedById(id)
-                .map(m -> mapper.toEducatorDetails(m, random))
-                .orElseThrow(() -> new NotFoundException("Profile not found", ErrorCodes.EDUCATOR_PROFILE_NOT_FOUND));
+    // Reads the primary: a lagging replica could expose a later change before
+    // an earlier one and let a consumer's token skip past it
+    public ChangeFeedResult<EducatorChangeResponse> getEducatorChanges(String since, int limit) {
+        requirePageSize(limit);
+
+        EducatorChangeToken token = since == null || since.isBlank() ? null : EducatorChangeToken.decode(since);
+        LocalDateTime until = this.repository.findChangeFeedBound(CHANGE_FEED_SETTLE_DELAY);
+        Limit fetch = Limit.of(limit + 1);
+        List<EducatorChangeView> changes = token == null
+                ? this.repository.findChanges(until, fetch)
+                : this.repository.findChangesAfter(token.changeDate(), token.id(), until, fetch);
+
+        boolean hasMore = changes.size() > limit;
+        List<EducatorChangeView> page = hasMore ? changes.subList(0, limit) : changes;
+        String nextToken = page.isEmpty() ? since : EducatorChangeToken.of(page.getLast()).encode();
+
+        return new ChangeFeedResult<EducatorChangeResponse>(
+                page.stream().map(mapper::toEducatorChange).toList(),
+                nextToken,
+                hasMore);
+    }
+
+    // Loads from the primary so the cache is never filled from a lagging replica.
+    // Concurrent requests for one educator share a single cache lookup or load
+    public Versioned<EducatorDetailsResponse> getEducatorProfileById(UUID id) {
+        this.requireKnownId(id);
+        return this.educatorDetailsFlight.execute(id, key -> this.cache.get(key, this::loadEducatorProfile));
+    }
+
+    @Transactional(readOnly = true)
+    public LookupResult<EducatorSummaryResponse> lookupEducatorProfiles(List<UUID> ids) {
+        Set<UUID> distinct = LookupResult.requireIds(ids);
+        List<EducatorSummaryResponse> found = this.repository
+                .findSummariesByIds(distinct, EducatorVerificationStatus.APPROVED)
+                .stream()
+                .map(mapper::toEducatorSummary)
+                .toList();
+        return LookupResult.of(distinct, found, EducatorSummaryResponse::id);
     }
 
     @Transactional
@@ -92,7 +185,13 @@ public class EducatorProfileService {
         educatorProfile.setUserProfile(profile);
         educatorProfile.setStatus(EducatorVerificationStatus.APPROVED);
 
+        this.educatorIdFilter.put(userId);
         this.repository.save(educatorProfile);
+        this.cacheInvalidator.announceInserted(List.of(userId));
+        this.adjustCounter(educatorProfile.getStatus(), educatorProfile.isHasProduct(), 1);
+        this.profileDetails.refresh(userId);
+        this.directory.refresh(userId);
+        this.cacheInvalidator.invalidate(userId);
 
         this.publisher.publishEducatorCreated(new EducatorCreatedEvent(userId.toString()));
 
@@ -103,6 +202,7 @@ public class EducatorProfileService {
         this.publisher.publishEducatorProfileUpdatedEvent(updatedEvent);
     }
 
+    @Transactional
     public void updateMyEducatorProfile(UpdateEducatorProfileRequest request) {
         UUID userId = this.currentUser.getUserId();
         EducatorProfile profile = this.repository.findById(userId)
@@ -113,17 +213,171 @@ public class EducatorProfileService {
         profile.setVideoUrl(request.videoUrl());
 
         this.repository.save(profile);
+        this.profileDetails.refresh(userId);
+        this.directory.refresh(userId);
+        this.cacheInvalidator.invalidate(userId);
     }
 
+    /**
+     * Applies only the supplied fields with a single conditional update;
+     * unchanged values write nothing. {@code expectedVersion}, when given,
+     * rejects the update if another one landed since.
+     */
+    @Transactional
+    public RowVersion patchMyEducatorProfile(PatchEducatorProfileRequest request, Long expectedVersion) {
+        UUID userId = this.currentUser.getUserId();
+        Long patched = this.repository.patch(userId, request, expectedVersion).orElse(null);
+        if (patched == null) {
+            return RowVersion.unchanged(this.repository.findRowVersion(userId), expectedVersion,
+                    ErrorCodes.EDUCATOR_PROFILE_NOT_FOUND);
+        }
+
+        this.profileDetails.refresh(userId);
+        this.directory.refresh(userId);
+        this.cacheInvalidator.invalidate(userId);
+        return new RowVersion(patched);
+    }
+
+    /**
+     * Flips the flag with the same conditional update as the batch form, so
+     * of two concurrent or redelivered events for one educator only the one
+     * whose update returns the row moves the counters.
+     */
+    @Transactional
     public void setEducatorHasProduct(String userId) {
-        EducatorProfile profile = this.repository.findById(UUID.fromString(userId))
-                .orElseThrow(() -> new NotFoundException("Profile not found", ErrorCodes.EDUCATOR_PROFILE_NOT_FOUND));
+        UUID id = UUID.fromString(userId);
+        EducatorVerificationStatus status = this.repository.markHasProduct(List.of(id)).get(id);
+        if (status == null) {
+            if (!this.repository.existsById(id)) {
+                throw new NotFoundException("Profile not found", ErrorCodes.EDUCATOR_PROFILE_NOT_FOUND);
+            }
+            return;
+        }
+
+        this.adjustCounter(status, false, -1);
+        this.adjustCounter(status, true, 1);
+        this.directory.refresh(id);
+        this.cacheInvalidator.invalidate(id);
+    }
 
-        if (profile.isHasProduct()) {
+    /**
+     * Batch form of {@link #setEducatorHasProduct(String)}: flips every
+     * educator in one statement and adjusts the counters once per status.
+     * Unknown ids are skipped rather than failing the batch.
+     */
+    @Transactional
+    public void setEducatorsHaveProduct(Collection<UUID> ids) {
+        Map<UUID, EducatorVerificationStatus> flipped = this.repository.markHasProduct(ids);
+        if (flipped.isEmpty()) {
             return;
         }
 
-        profile.setHasProduct(true);
-        this.repository.save(profile);
+        Map<EducatorVerificationStatus, Long> perStatus = flipped.values().stream()
+                .collect(Collectors.groupingBy(status -> status, Collectors.counting()));
+        perStatus.forEach((status, count) -> {
+            this.adjustCounter(status, false, -count);
+            this.adjustCounter(status, true, count);
+        });
+        this.directory.refresh(flipped.keySet());
+        this.cacheInvalidator.invalidate(flipped.keySet());
+    }
+
+    // The version comes from the same snapshot as the body, so a cached ETag
+    // never validates a body other than the one cached with it
+    private Versioned<EducatorDetailsResponse> loadEducatorProfile(UUID id) {
+        return this.snapshot.read(() -> new Versioned<>(
+                this.repository.findVersionById(id, EducatorVerificationStatus.APPROVED)
+                        .orElseThrow(this::passedFilterNotFound),
+                this.repository.findDetailsById(id, EducatorVerificationStatus.APPROVED)
+                        .map(mapper::toEducatorDetails)
+                        .orElseThrow(this::passedFilterNotFound)));
+    }
+
+    // Random ids scraped from the public endpoint are answered here without a
+    // query, and without the cost of a stack trace
+    private void requireKnownId(UUID id) {
+        if (!this.educatorIdFilter.mightContain(id)) {
+            throw new NotFoundException("Profile not found", ErrorCodes.EDUCATOR_PROFILE_NOT_FOUND, false);
+        }
+    }
+
+    // The filter holds every educator id whatever its status, so this also
+    // counts lookups of educators that are not approved
+    private NotFoundException passedFilterNotFound() {
+        this.educatorIdFilter.recordFalsePositive();
+        return new NotFoundException("Profile not found", ErrorCodes.EDUCATOR_PROFILE_NOT_FOUND);
+    }
+
+    private PagedResult<EducatorSummaryResponse> getApprovedEducatorProfilesPage(int pageNumber, int pageSize,
+            boolean includeTotal) {
+        if (this.directory.isReady()) {
+            PagedResult<EducatorSummaryResponse> page = this.directory.getPage(pageNumber, pageSize);
+            return includeTotal ? page : new PagedResult<>(page.getItems(), pageNumber, pageSize);
+        }
+
+        // Only the fallback needs a transaction; directory pages come from memory
+        return this.replicaRead.read(() -> this.findApprovedEducatorProfilesPage(pageNumber, pageSize,
+                includeTotal));
+    }
+
+    private PagedResult<EducatorSummaryResponse> findApprovedEducatorProfilesPage(int pageNumber, int pageSize,
+            boolean includeTotal) {
+        Slice<EducatorSummaryView> educatorProfiles = this.repository.findSummariesByStatus(
+                EducatorVerificationStatus.APPROVED, PageRequest.of(pageNumber - 1, pageSize));
+
+        List<EducatorSummaryResponse> items = educatorProfiles.map(mapper::toEducatorSummary).getContent();
+        if (!includeTotal) {
+            return new PagedResult<EducatorSummaryResponse>(items, pageNumber, pageSize);
+        }
+
+        long totalItems = this.counterRepository.countByStatus(EducatorVerificationStatus.APPROVED);
+        return new PagedResult<EducatorSummaryResponse>(
+                items,
+                (int) ((totalItems + pageSize - 1) / pageSize),
+                totalItems,
+                pageNumber,
+                pageSize);
+    }
+
+    private CursorPagedResult<EducatorSummaryResponse> getApprovedEducatorProfilesAfter(String after, int pageSize) {
+        EducatorCursor cursor = after == null || after.isBlank() ? null : EducatorCursor.decode(after);
+        if (this.directory.isReady()) {
+            return this.directory.getPageAfter(cursor, pageSize);
+        }
+
+        return this.replicaRead.read(() -> this.findApprovedEducatorProfilesAfter(cursor, pageSize));
+    }
+
+    private CursorPagedResult<EducatorSummaryResponse> findApprovedEducatorProfilesAfter(EducatorCursor cursor,
+            int pageSize) {
+        // One extra row tells whether another page exists without a count query
+        Limit limit = Limit.of(pageSize + 1);
+        List<EducatorSummaryView> educatorProfiles;
+        if (cursor == null) {
+            educatorProfiles = this.repository.findSummariesByStatus(EducatorVerificationStatus.APPROVED, limit);
+        } else {
+            educatorProfiles = this.repository.findSummariesByStatusAfter(EducatorVerificationStatus.APPROVED,
+                    cursor.hasProduct(), cursor.createdDate(), cursor.id(), limit);
+        }
+
+        boolean hasNext = educatorProfiles.size() > pageSize;
+        List<EducatorSummaryView> page = hasNext ? educatorProfiles.subList(0, pageSize) : educatorProfiles;
+        String nextCursor = hasNext ? EducatorCursor.of(page.getLast()).encode() : null;
+
+        return new CursorPagedResult<EducatorSummaryResponse>(
+                page.stream().map(mapper::toEducatorSummary).toList(),
+                nextCursor,
+                pageSize);
+    }
+
+    private static void requirePageSize(int pageSize) {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE,
+                    ErrorCodes.INVALID_PAGE_SIZE);
+        }
+    }
+
+    private void adjustCounter(EducatorVerificationStatus status, boolean hasProduct, long delta) {
+        this.counterRepository.increment(status.ordinal(), hasProduct, delta);
     }
-}
\ No newline at end of file
+}
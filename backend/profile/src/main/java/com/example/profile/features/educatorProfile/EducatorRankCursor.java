@@ -0,0 +1,38 @@
+package com.example.profile.features.educatorProfile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import com.example.profile.exceptions.BadRequestException;
+import com.example.profile.exceptions.ErrorCodes;
+
+/**
+ * Opaque keyset position in the recommendation ranking, ordered by
+ * {@code (score desc, id desc)}. The score is carried as its exact double bits
+ * so the next page resumes right after the last educator returned, even when
+ * the ranking was recomputed in between.
+ */
+public record EducatorRankCursor(double score, UUID id) {
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, Long.toHexString(Double.doubleToLongBits(score)), id.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EducatorRankCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Unexpected cursor format");
+            }
+            return new EducatorRankCursor(
+                    Double.longBitsToDouble(Long.parseUnsignedLong(parts[0], 16)),
+                    UUID.fromString(parts[1]));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor", ErrorCodes.INVALID_CURSOR);
+        }
+    }
+}
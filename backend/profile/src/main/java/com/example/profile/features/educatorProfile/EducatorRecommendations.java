@@ -0,0 +1,150 @@
+package com.example.profile.features.educatorProfile;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.profile.features.educatorProfile.EducatorDirectory.Entry;
+import com.example.profile.features.educatorProfile.contracts.CursorPagedResult;
+import com.example.profile.features.educatorProfile.contracts.EducatorSummaryResponse;
+import com.example.profile.features.educatorProfile.contracts.PagedResult;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Recommendation ranking precomputed from the {@link EducatorDirectory}
+ * snapshot. Requests are served as slices of the ranked array; the ranking is
+ * recomputed when the directory publishes a new snapshot or once the refresh
+ * interval elapses, so recency decay keeps moving. Cursors are keyset
+ * positions on {@code (score, id)} rather than offsets, so a re-ranking between
+ * two pages only repeats or skips educators whose own score moved across the
+ * boundary.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EducatorRecommendations {
+    private final EducatorDirectory directory;
+    private final RecommendationProperties properties;
+
+    private volatile Ranking ranking;
+
+    public boolean isReady() {
+        return this.ranking != null;
+    }
+
+    public PagedResult<EducatorSummaryResponse> getPage(int pageNumber, int pageSize) {
+        EducatorSummaryResponse[] items = this.ranking.items();
+        int from = (int) Math.min((long) Math.max(pageNumber - 1, 0) * pageSize, items.length);
+        int to = Math.min(from + pageSize, items.length);
+
+        return new PagedResult<EducatorSummaryResponse>(
+                List.of(Arrays.copyOfRange(items, from, to)),
+                pageSize == 0 ? 1 : (items.length + pageSize - 1) / pageSize,
+                items.length,
+                pageNumber,
+                pageSize);
+    }
+
+    public CursorPagedResult<EducatorSummaryResponse> getPageAfter(String after, int pageSize) {
+        Ranking ranking = this.ranking;
+        EducatorSummaryResponse[] items = ranking.items();
+        int from = after == null || after.isBlank() ? 0 : ranking.indexAfter(EducatorRankCursor.decode(after));
+        int to = Math.min(from + pageSize, items.length);
+
+        String nextCursor = to < items.length && to > from
+                ? new EducatorRankCursor(ranking.scores()[to - 1], items[to - 1].id()).encode()
+                : null;
+        return new CursorPagedResult<EducatorSummaryResponse>(
+                List.of(Arrays.copyOfRange(items, from, to)),
+                nextCursor,
+                pageSize);
+    }
+
+    @Scheduled(fixedDelayString = "${app.recommendations.check-interval:PT10S}")
+    public void refreshIfStale() {
+        Ranking current = this.ranking;
+        boolean directoryChanged = current == null || current.directoryVersion() != this.directory.getVersion();
+        boolean expired = current != null
+                && Duration.between(current.rankedAt(), Instant.now()).compareTo(properties.getRefreshInterval()) >= 0;
+
+        if (directoryChanged || expired) {
+            refresh();
+        }
+    }
+
+    public void refresh() {
+        long version = this.directory.getVersion();
+        Entry[] entries = this.directory.getEntries();
+        if (entries == null) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        this.ranking = rank(entries, version);
+        log.debug("Ranked {} educators in {} ms", entries.length, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private Ranking rank(Entry[] entries, long version) {
+        int maxStudentCount = 0;
+        for (Entry entry : entries) {
+            maxStudentCount = Math.max(maxStudentCount, entry.summary().studentCount());
+        }
+
+        EducatorScorer scorer = new EducatorScorer(properties, LocalDateTime.now(), maxStudentCount);
+        Scored[] scored = new Scored[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            Entry entry = entries[i];
+            scored[i] = new Scored(scorer.score(entry.summary(), entry.hasProduct(), entry.createdDate()),
+                    entry.summary().id(), i);
+        }
+
+        Arrays.sort(scored);
+
+        EducatorSummaryResponse[] items = new EducatorSummaryResponse[entries.length];
+        double[] scores = new double[entries.length];
+        for (int i = 0; i < scored.length; i++) {
+            items[i] = entries[scored[i].index()].summary();
+            scores[i] = scored[i].score();
+        }
+        return new Ranking(items, scores, version, Instant.now());
+    }
+
+    // Ranking order, the same as the search results: score desc, then id desc
+    private static int compare(double score, UUID id, double otherScore, UUID otherId) {
+        int result = Double.compare(otherScore, score);
+        return result != 0 ? result : otherId.compareTo(id);
+    }
+
+    private record Scored(double score, UUID id, int index) implements Comparable<Scored> {
+        @Override
+        public int compareTo(Scored other) {
+            return EducatorRecommendations.compare(score, id, other.score, other.id);
+        }
+    }
+
+    private record Ranking(EducatorSummaryResponse[] items, double[] scores, long directoryVersion,
+            Instant rankedAt) {
+        // Index of the first educator ranked after the cursor
+        int indexAfter(EducatorRankCursor cursor) {
+            int low = 0;
+            int high = items.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (EducatorRecommendations.compare(scores[mid], items[mid].id(), cursor.score(), cursor.id()) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.profile.features.educatorProfile;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import com.example.profile.features.educatorProfile.contracts.EducatorSummaryResponse;
+
+/**
+ * Weighted recommendation score. Every signal is normalised to [0, 1] before
+ * weighting: product availability, exponentially decayed recency, log-scaled
+ * student count relative to the most popular educator, and rating out of 5.
+ */
+class EducatorScorer {
+    private static final double MAX_RATING = 5.0;
+
+    private final RecommendationProperties properties;
+    private final LocalDateTime now;
+    private final double decayPerSecond;
+    private final double popularityScale;
+
+    EducatorScorer(RecommendationProperties properties, LocalDateTime now, int maxStudentCount) {
+        this.properties = properties;
+        this.now = now;
+        Duration halfLife = properties.getRecencyHalfLife();
+        this.decayPerSecond = halfLife == null || halfLife.isZero() ? 0 : Math.log(2) / halfLife.toSeconds();
+        this.popularityScale = maxStudentCount > 0 ? 1.0 / Math.log1p(maxStudentCount) : 0;
+    }
+
+    double score(EducatorSummaryResponse summary, boolean hasProduct, LocalDateTime createdDate) {
+        double ageSeconds = createdDate == null ? 0 : Math.max(Duration.between(createdDate, now).toSeconds(), 0);
+
+        return properties.getProductWeight() * (hasProduct ? 1.0 : 0.0)
+                + properties.getRecencyWeight() * Math.exp(-decayPerSecond * ageSeconds)
+                + properties.getPopularityWeight() * Math.log1p(summary.studentCount()) * popularityScale
+                + properties.getRatingWeight() * summary.rating() / MAX_RATING;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.profile.features.educatorProfile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import com.example.profile.exceptions.BadRequestException;
+import com.example.profile.exceptions.ErrorCodes;
+import com.example.profile.features.educatorProfile.projections.EducatorSearchHit;
+
+/**
+ * Opaque keyset position in search results, ordered by
+ * {@code (rank desc, id desc)}. The rank is carried as the exact float bits
+ * Postgres returned so the next page resumes without gaps or repeats.
+ */
+public record EducatorSearchCursor(float rank, UUID id) {
+    private static final String SEPARATOR = "|";
+
+    public static EducatorSearchCursor of(EducatorSearchHit hit) {
+        return new EducatorSearchCursor(hit.rank(), hit.summary().id());
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, Integer.toHexString(Float.floatToIntBits(rank)), id.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EducatorSearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Unexpected cursor format");
+            }
+            return new EducatorSearchCursor(
+                    Float.intBitsToFloat(Integer.parseUnsignedInt(parts[0], 16)),
+                    UUID.fromString(parts[1]));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor", ErrorCodes.INVALID_CURSOR);
+        }
+    }
+}
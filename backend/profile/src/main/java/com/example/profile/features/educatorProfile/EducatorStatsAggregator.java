@@ -0,0 +1,197 @@
+package com.example.profile.features.educatorProfile;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.example.profile.features.userProfile.ProfileDetailsStore;
+import com.example.profile.infrastructure.caching.ProfileCacheInvalidator;
+
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stages educator stats deltas from learning-service events in
+ * {@code educator_stats_delta}, in the caller's transaction, and folds them
+ * into {@code educator_stats} on a schedule. Staging is a plain insert, so
+ * events never contend on a hot stats row, and a staged delta survives a
+ * crash together with the inbox record of its event.
+ * <p>
+ * Deltas recorded together are summed per educator before staging, so a
+ * batch-listener batch stages one row per educator. The single-event listener
+ * records one event per transaction and so stages one row per event.
+ * <p>
+ * A flush drains a batch of deltas and upserts their per-educator sums with a
+ * single statement, so a burst of events for the same educator becomes one
+ * row update. Each upserted row also bumps the educator's
+ * {@code change_date} through the {@code educator_stats_change_date} trigger,
+ * one {@code educator_profile} update per flushed educator. Batches are
+ * claimed with {@code skip locked}, so replicas flush disjoint deltas. The
+ * profile details rows of the flushed educators are refreshed in the same
+ * transaction.
+ */
+@Slf4j
+@Component
+public class EducatorStatsAggregator {
+    private static final String STAGE_SQL = """
+            insert into educator_stats_delta (educator_id, rating_sum, rating_count, student_count, product_count)
+            values (?, ?, ?, ?, ?)
+            """;
+
+    // Rows are upserted in educator order, so concurrent flushes lock stats
+    // rows in the same order and cannot deadlock
+    private static final String FLUSH_SQL = """
+            with drained as (
+                delete from educator_stats_delta
+                where id in (
+                    select id from educator_stats_delta
+                    order by id
+                    limit ?
+                    for update skip locked)
+                returning educator_id, rating_sum, rating_count, student_count, product_count
+            ), upserted as (
+                insert into educator_stats
+                    (educator_id, rating_sum, rating_count, student_count, product_count, last_modified_date)
+                select educator_id, sum(rating_sum), sum(rating_count), sum(student_count), sum(product_count),
+                    now()
+                from drained
+                group by educator_id
+                order by educator_id
+                on conflict (educator_id) do update set
+                    rating_sum = educator_stats.rating_sum + excluded.rating_sum,
+                    rating_count = educator_stats.rating_count + excluded.rating_count,
+                    student_count = educator_stats.student_count + excluded.student_count,
+                    product_count = educator_stats.product_count + excluded.product_count,
+                    last_modified_date = excluded.last_modified_date
+                returning educator_id
+            )
+            select educator_id, (select count(*) from drained) as drained
+            from upserted
+            """;
+
+    private static final int FLUSH_BATCH_SIZE = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactions;
+    private final ProfileDetailsStore profileDetails;
+    private final EducatorDirectory directory;
+    private final ProfileCacheInvalidator cacheInvalidator;
+    private final LongCounter eventsCounter;
+    private final LongCounter rowsCounter;
+
+    public EducatorStatsAggregator(JdbcTemplate jdbcTemplate, TransactionOperations transactions,
+            ProfileDetailsStore profileDetails, EducatorDirectory directory, ProfileCacheInvalidator cacheInvalidator,
+            Meter meter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactions = transactions;
+        this.profileDetails = profileDetails;
+        this.directory = directory;
+        this.cacheInvalidator = cacheInvalidator;
+        this.eventsCounter = meter.counterBuilder("profile.educator_stats.events")
+                .setDescription("Educator stats deltas staged for the next flush")
+                .build();
+        this.rowsCounter = meter.counterBuilder("profile.educator_stats.flushed_rows")
+                .setDescription("Educator stats rows written by batched flushes")
+                .build();
+    }
+
+    public void recordProductCreated(UUID educatorId) {
+        record(List.of(Delta.productCreated(educatorId)));
+    }
+
+    public void recordStudentEnrolled(UUID educatorId) {
+        record(List.of(Delta.studentEnrolled(educatorId)));
+    }
+
+    public void recordRating(UUID educatorId, int rating) {
+        record(List.of(Delta.rating(educatorId, rating)));
+    }
+
+    /**
+     * Stages the deltas summed per educator with one batched insert, in the
+     * caller's transaction.
+     */
+    public void record(Collection<Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, Delta> merged = new LinkedHashMap<>();
+        for (Delta delta : deltas) {
+            merged.merge(delta.educatorId(), delta, Delta::plus);
+        }
+        jdbcTemplate.batchUpdate(STAGE_SQL, merged.values().stream()
+                .map(delta -> new Object[] { delta.educatorId(), delta.ratingSum(), delta.ratingCount(),
+                        delta.studentCount(), delta.productCount() })
+                .toList());
+        eventsCounter.add(deltas.size());
+    }
+
+    /**
+     * Folds staged deltas into {@code educator_stats} until none are left or
+     * a batch fails; failed batches stay staged for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${app.educator-stats.flush-interval:PT5S}")
+    public void flush() {
+        try {
+            while (flushBatch()) {
+                // Keep draining
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to flush educator stats", e);
+        }
+    }
+
+    // Returns true when the batch was full, i.e. when more deltas are likely waiting
+    private boolean flushBatch() {
+        Set<UUID> flushed = new LinkedHashSet<>();
+        long[] drained = { 0 };
+        transactions.executeWithoutResult(status -> {
+            jdbcTemplate.query(FLUSH_SQL, (RowCallbackHandler) rs -> {
+                flushed.add(rs.getObject("educator_id", UUID.class));
+                drained[0] = rs.getLong("drained");
+            }, FLUSH_BATCH_SIZE);
+            if (!flushed.isEmpty()) {
+                profileDetails.refresh(flushed);
+            }
+        });
+        if (flushed.isEmpty()) {
+            return false;
+        }
+
+        rowsCounter.add(flushed.size());
+        directory.refresh(flushed);
+        cacheInvalidator.invalidate(flushed);
+        return drained[0] == FLUSH_BATCH_SIZE;
+    }
+
+    public record Delta(UUID educatorId, long ratingSum, long ratingCount, int studentCount, int productCount) {
+        public static Delta productCreated(UUID educatorId) {
+            return new Delta(educatorId, 0, 0, 0, 1);
+        }
+
+        public static Delta studentEnrolled(UUID educatorId) {
+            return new Delta(educatorId, 0, 0, 1, 0);
+        }
+
+        public static Delta rating(UUID educatorId, int rating) {
+            return new Delta(educatorId, rating, 1, 0, 0);
+        }
+
+        Delta plus(Delta other) {
+            return new Delta(educatorId, ratingSum + other.ratingSum, ratingCount + other.ratingCount,
+                    studentCount + other.studentCount, productCount + other.productCount);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.profile.features.educatorProfile;
+
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.example.profile.features.educatorProfile.entities.EducatorStats;
+
+public interface EducatorStatsRepository extends JpaRepository<EducatorStats, UUID> {
+}
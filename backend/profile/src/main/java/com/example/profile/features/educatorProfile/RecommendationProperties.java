@@ -0,0 +1,20 @@
+package com.example.profile.features.educatorProfile;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.recommendations")
+public class RecommendationProperties {
+    private Duration refreshInterval;
+    private Duration recencyHalfLife;
+    private double productWeight;
+    private double recencyWeight;
+    private double popularityWeight;
+    private double ratingWeight;
+}
@@ -0,0 +1,11 @@
+package com.example.profile.features.educatorProfile.contracts;
+
+import java.util.List;
+
+/**
+ * A batch of changes and the token to resume from. When the batch is empty
+ * {@code nextToken} echoes the token that was passed in, so consumers can
+ * keep polling with whatever they stored last.
+ */
+public record ChangeFeedResult<T>(List<T> items, String nextToken, boolean hasMore) {
+}
@@ -0,0 +1,23 @@
+package com.example.profile.features.educatorProfile.contracts;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+
+@Getter
+public class CursorPagedResult<T> {
+    private List<T> items;
+    private String nextCursor;
+    private int pageSize;
+
+    public CursorPagedResult() {
+        this.items = new ArrayList<>();
+    }
+
+    public CursorPagedResult(List<T> items, String nextCursor, int pageSize) {
+        this.items = items == null ? new ArrayList<>() : items;
+        this.nextCursor = nextCursor;
+        this.pageSize = pageSize;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.profile.features.educatorProfile.contracts;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One entry of the educator change feed. Tombstones have {@code deleted} set
+ * and no {@code educator}; they cover deleted educators as well as ones that
+ * are no longer approved.
+ */
+public record EducatorChangeResponse(
+        UUID id,
+        LocalDateTime changedAt,
+        boolean deleted,
+        EducatorSummaryResponse educator) {
+}
@@ -8,8 +8,8 @@ import lombok.Getter;
 @Getter
 public class PagedResult<T> {
     private List<T> items;
-    private int totalPages;
-    private long totalItems;
+    private Integer totalPages;
+    private Long totalItems;
     private int currentPage;
     private int pageSize;
 
@@ -24,4 +24,10 @@ public class PagedResult<T> {
         this.currentPage = currentPage;
         this.pageSize = pageSize;
     }
+
+    public PagedResult(List<T> items, int currentPage, int pageSize) {
+        this.items = items == null ? new ArrayList<>() : items;
+        this.currentPage = currentPage;
+        this.pageSize = pageSize;
+    }
 }
\ No newline at end of file
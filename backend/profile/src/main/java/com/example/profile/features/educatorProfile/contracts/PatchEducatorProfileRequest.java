@@ -0,0 +1,14 @@
+package com.example.profile.features.educatorProfile.contracts;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Partial update of the current user's educator profile: omitted (null)
+ * fields keep their value.
+ */
+public record PatchEducatorProfileRequest(
+        @Pattern(regexp = ".*\\S.*", message = "must not be blank") @Size(max = 1024) String bio,
+        @Pattern(regexp = ".*\\S.*", message = "must not be blank") @Size(max = 1024) String experience,
+        @Pattern(regexp = ".*\\S.*", message = "must not be blank") @Size(max = 200) String videoUrl) {
+}
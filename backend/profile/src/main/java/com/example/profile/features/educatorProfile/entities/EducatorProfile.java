@@ -3,11 +3,15 @@ package com.example.profile.features.educatorProfile.entities;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import com.example.profile.features.userProfile.entities.UserProfile;
+import com.example.profile.infrastructure.caching.HibernateCacheConfig;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -30,6 +34,7 @@ import lombok.NoArgsConstructor;
 @Data
 @Entity
 @EntityListeners(AuditingEntityListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.EDUCATOR_PROFILE_REGION)
 public class EducatorProfile {
     @Id
     private UUID id;
@@ -66,4 +71,14 @@ public class EducatorProfile {
     private LocalDateTime lastModifiedDate;
 
     private LocalDateTime deletedDate;
+
+    // Maintained by a database trigger on every write; orders the change feed
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime changeDate;
+
+    // Bumped by a database trigger when an editable column changes. Mapped so
+    // queries can select it; a loaded entity's copy is not refreshed on write
+    @ColumnDefault("0")
+    @Column(insertable = false, updatable = false)
+    private long version;
 }
\ No newline at end of file
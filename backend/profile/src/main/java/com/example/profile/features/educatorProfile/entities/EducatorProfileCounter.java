@@ -0,0 +1,20 @@
+package com.example.profile.features.educatorProfile.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Entity
+public class EducatorProfileCounter {
+    @EmbeddedId
+    private EducatorProfileCounterId id;
+
+    @Column(nullable = false)
+    private long total;
+}
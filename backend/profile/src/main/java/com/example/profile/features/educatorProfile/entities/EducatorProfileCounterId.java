@@ -0,0 +1,24 @@
+package com.example.profile.features.educatorProfile.entities;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Embeddable
+public class EducatorProfileCounterId implements Serializable {
+    @Column(nullable = false)
+    @Enumerated(EnumType.ORDINAL)
+    private EducatorVerificationStatus status;
+
+    @Column(nullable = false)
+    private boolean hasProduct;
+}
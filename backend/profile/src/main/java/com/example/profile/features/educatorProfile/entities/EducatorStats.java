@@ -0,0 +1,44 @@
+package com.example.profile.features.educatorProfile.entities;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+@Entity
+public class EducatorStats {
+    @Id
+    private UUID educatorId;
+
+    @Column(nullable = false)
+    private long ratingSum;
+
+    @Column(nullable = false)
+    private long ratingCount;
+
+    @Column(nullable = false)
+    private int studentCount;
+
+    @Column(nullable = false)
+    private int productCount;
+
+    private LocalDateTime lastModifiedDate;
+
+    public double getRating() {
+        return averageRating(ratingSum, ratingCount);
+    }
+
+    public static double averageRating(long ratingSum, long ratingCount) {
+        return ratingCount == 0 ? 0.0 : Math.round((double) ratingSum / ratingCount * 10.0) / 10.0;
+    }
+}
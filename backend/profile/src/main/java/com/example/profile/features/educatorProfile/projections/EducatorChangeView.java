@@ -0,0 +1,21 @@
+package com.example.profile.features.educatorProfile.projections;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.example.profile.features.educatorProfile.entities.EducatorVerificationStatus;
+
+public record EducatorChangeView(
+        UUID id,
+        LocalDateTime changeDate,
+        EducatorVerificationStatus status,
+        LocalDateTime deletedDate,
+        String firstName,
+        String lastName,
+        String imageUrl,
+        String bio,
+        long ratingSum,
+        long ratingCount,
+        int studentCount,
+        int productCount) {
+}
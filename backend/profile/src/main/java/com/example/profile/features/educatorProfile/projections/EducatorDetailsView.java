@@ -0,0 +1,21 @@
+package com.example.profile.features.educatorProfile.projections;
+
+import java.util.UUID;
+
+/**
+ * Educator details read in one query joining {@code educator_profile},
+ * {@code user_profile} and {@code educator_stats}.
+ */
+public record EducatorDetailsView(
+        UUID id,
+        String firstName,
+        String lastName,
+        String imageUrl,
+        String videoUrl,
+        String bio,
+        String experience,
+        long ratingSum,
+        long ratingCount,
+        int studentCount,
+        int productCount) {
+}
@@ -0,0 +1,4 @@
+package com.example.profile.features.educatorProfile.projections;
+
+public record EducatorSearchHit(EducatorSummaryView summary, float rank) {
+}
@@ -0,0 +1,22 @@
+package com.example.profile.features.educatorProfile.projections;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Listing row read in one query joining {@code educator_profile},
+ * {@code user_profile} and {@code educator_stats}.
+ */
+public record EducatorSummaryView(
+        UUID id,
+        String firstName,
+        String lastName,
+        String imageUrl,
+        String bio,
+        boolean hasProduct,
+        LocalDateTime createdDate,
+        long ratingSum,
+        long ratingCount,
+        int studentCount,
+        int productCount) {
+}
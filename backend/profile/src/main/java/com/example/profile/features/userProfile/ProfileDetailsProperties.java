@@ -0,0 +1,14 @@
+package com.example.profile.features.userProfile;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.profile-details")
+public class ProfileDetailsProperties {
+    private int rebuildBatchSize;
+    private int rebuildParallelism;
+}
@@ -0,0 +1,99 @@
+package com.example.profile.features.userProfile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Backfills {@code profile_details_view} from the source tables, then exits.
+ * The id space is cut into batches of roughly equal size, which are upserted
+ * in parallel, each in its own short transaction. Safe to run against a live
+ * database and to re-run. Start the service with
+ * {@code --rebuild-profile-details --spring.main.web-application-type=none}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProfileDetailsRebuildCommand implements ApplicationRunner {
+    public static final String OPTION = "rebuild-profile-details";
+
+    // Every n-th id in key order closes a batch
+    private static final String BOUNDARIES_SQL = """
+            select id from (
+                select id, row_number() over (order by id) as position from user_profile
+            ) ids
+            where position % ? = 0
+            order by id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProfileDetailsStore store;
+    private final ProfileDetailsProperties properties;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+
+        int exitCode = rebuild() ? 0 : 1;
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+
+    boolean rebuild() {
+        List<UUID> boundaries = jdbcTemplate.queryForList(BOUNDARIES_SQL, UUID.class,
+                properties.getRebuildBatchSize());
+        List<UUID> starts = new ArrayList<>();
+        starts.add(null);
+        starts.addAll(boundaries);
+
+        log.info("Rebuilding profile details in {} batches with {} threads", starts.size(),
+                properties.getRebuildParallelism());
+        long startedAt = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getRebuildParallelism());
+        try {
+            List<Future<Integer>> batches = new ArrayList<>(starts.size());
+            for (int i = 0; i < starts.size(); i++) {
+                UUID after = starts.get(i);
+                UUID upTo = i + 1 < starts.size() ? starts.get(i + 1) : null;
+                batches.add(executor.submit(() -> store.rebuild(after, upTo)));
+            }
+
+            long rows = 0;
+            int failed = 0;
+            for (Future<Integer> batch : batches) {
+                try {
+                    rows += batch.get();
+                } catch (ExecutionException e) {
+                    failed++;
+                    log.error("Profile details batch failed", e.getCause());
+                }
+            }
+
+            log.info("Rebuilt {} profile details rows in {} ms, {} batches failed", rows,
+                    (System.nanoTime() - startedAt) / 1_000_000, failed);
+            return failed == 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.profile.features.userProfile;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.profile.features.educatorProfile.entities.EducatorStats;
+import com.example.profile.features.userProfile.contracts.ProfileDetailsResponse;
+import com.example.profile.features.userProfile.contracts.ProfileEducatorDetailsResponse;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reads and maintains {@code profile_details_view}, the denormalized row
+ * behind the profile details endpoints. Every refresh re-projects the rows
+ * from {@code user_profile}, {@code educator_profile} and
+ * {@code educator_stats}, so it only has to run in the transaction that
+ * changed them.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProfileDetailsStore {
+    private static final String FIND_BY_ID_SQL = """
+            select user_profile_id, username, first_name, last_name, bio, image_url, is_educator,
+                educator_bio, educator_experience, educator_video_url,
+                rating_sum, rating_count, student_count, product_count
+            from profile_details_view
+            where user_profile_id = ?
+            """;
+
+    private static final String UPSERT_SQL = """
+            insert into profile_details_view (user_profile_id, username, first_name, last_name, bio, image_url,
+                is_educator, educator_bio, educator_experience, educator_video_url,
+                rating_sum, rating_count, student_count, product_count, refreshed_date)
+            select u.id, u.username, u.first_name, u.last_name, u.bio, u.image_url,
+                e.user_profile_id is not null, e.bio, e.experience, e.video_url,
+                coalesce(s.rating_sum, 0), coalesce(s.rating_count, 0),
+                coalesce(s.student_count, 0), coalesce(s.product_count, 0), now()
+            from user_profile u
+                left join educator_profile e on e.user_profile_id = u.id
+                left join educator_stats s on s.educator_id = u.id
+            where %s
+            on conflict (user_profile_id) do update set
+                username = excluded.username,
+                first_name = excluded.first_name,
+                last_name = excluded.last_name,
+                bio = excluded.bio,
+                image_url = excluded.image_url,
+                is_educator = excluded.is_educator,
+                educator_bio = excluded.educator_bio,
+                educator_experience = excluded.educator_experience,
+                educator_video_url = excluded.educator_video_url,
+                rating_sum = excluded.rating_sum,
+                rating_count = excluded.rating_count,
+                student_count = excluded.student_count,
+                product_count = excluded.product_count,
+                refreshed_date = excluded.refreshed_date
+            """;
+
+    private static final String IDS_FILTER = "u.id = any(?)";
+    private static final String RANGE_FILTER = "(?::uuid is null or u.id > ?) and (?::uuid is null or u.id <= ?)";
+
+    // Taken before the upsert reads the source tables: a concurrent writer of
+    // the same profile either commits first, and the upsert (a new statement)
+    // sees its changes, or waits here until this transaction has committed
+    private static final String LOCK_IDS_SQL = """
+            select user_profile_id from profile_details_view
+            where user_profile_id = any(?)
+            order by user_profile_id
+            for update
+            """;
+
+    private static final String LOCK_RANGE_SQL = """
+            select user_profile_id from profile_details_view
+            where (?::uuid is null or user_profile_id > ?) and (?::uuid is null or user_profile_id <= ?)
+            order by user_profile_id
+            for update
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    public Optional<ProfileDetailsResponse> findById(UUID id) {
+        return jdbcTemplate.query(FIND_BY_ID_SQL, ProfileDetailsStore::toProfileDetails, id).stream().findFirst();
+    }
+
+    // Transactional in its own right: the call below bypasses the proxy, so
+    // the annotation on the collection form never applies to it
+    @Transactional
+    public void refresh(UUID id) {
+        refresh(List.of(id));
+    }
+
+    /**
+     * Re-projects the given profiles. Joins the caller's transaction, and
+     * flushes it first so the projection sees its pending entity changes.
+     */
+    @Transactional
+    public void refresh(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        entityManager.flush();
+        Object[] idArray = ids.toArray();
+        jdbcTemplate.query(LOCK_IDS_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", idArray)),
+                rs -> null);
+        jdbcTemplate.update(UPSERT_SQL.formatted(IDS_FILTER),
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", idArray)));
+    }
+
+    /**
+     * Re-projects every profile with an id in {@code (after, upTo]}; either
+     * bound may be {@code null} for an open range. Returns the number of rows
+     * written.
+     */
+    @Transactional
+    public int rebuild(UUID after, UUID upTo) {
+        Object[] range = { after, after, upTo, upTo };
+        jdbcTemplate.query(LOCK_RANGE_SQL, rs -> null, range);
+        return jdbcTemplate.update(UPSERT_SQL.formatted(RANGE_FILTER), range);
+    }
+
+    private static ProfileDetailsResponse toProfileDetails(ResultSet rs, int rowNum) throws SQLException {
+        ProfileEducatorDetailsResponse educator = rs.getBoolean("is_educator")
+                ? new ProfileEducatorDetailsResponse(
+                        rs.getString("educator_bio"),
+                        rs.getString("educator_experience"),
+                        rs.getString("educator_video_url"),
+                        EducatorStats.averageRating(rs.getLong("rating_sum"), rs.getLong("rating_count")),
+                        rs.getInt("student_count"),
+                        rs.getInt("product_count"))
+                : null;
+
+        return new ProfileDetailsResponse(
+                rs.getObject("user_profile_id", UUID.class),
+                rs.getString("username"),
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                rs.getString("bio"),
+                rs.getString("image_url"),
+                educator);
+    }
+}
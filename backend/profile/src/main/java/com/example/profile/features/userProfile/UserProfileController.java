@@ -2,16 +2,26 @@ package com.example.profile.features.userProfile;
 
 import java.util.UUID;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.example.profile.features.userProfile.contracts.PatchUserProfileRequest;
 import com.example.profile.features.userProfile.contracts.ProfileDetailsResponse;
+import com.example.profile.features.userProfile.contracts.ProfileSummaryResponse;
 import com.example.profile.features.userProfile.contracts.UpdateUserProfileRequest;
+import com.example.profile.infrastructure.web.LookupRequest;
+import com.example.profile.infrastructure.web.LookupResult;
+import com.example.profile.infrastructure.web.RowVersion;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -25,16 +35,23 @@ import lombok.RequiredArgsConstructor;
 public class UserProfileController {
     private final UserProfileService service;
 
-    @Operation(summary = "Retrieve User Profile by ID", description = "Get user profile details by providing the user's unique identifier.")
+    @Operation(summary = "Retrieve User Profile by ID", description = "Get user profile details by providing the user's unique identifier. Supports If-None-Match and If-Modified-Since.")
     @GetMapping("/{id}")
-    public ResponseEntity<ProfileDetailsResponse> getUserProfileById(@PathVariable UUID id) {
-        return ResponseEntity.ok(this.service.getUserProfileById(id));
+    public ResponseEntity<ProfileDetailsResponse> getUserProfileById(@PathVariable UUID id, WebRequest request) {
+        return this.service.getUserProfileById(id).respond(request);
     }
 
-    @Operation(summary = "Retrieve Current User Profile", description = "Fetch the profile details of the currently authenticated user.")
+    @Operation(summary = "Retrieve Current User Profile", description = "Fetch the profile details of the currently authenticated user. Supports If-None-Match and If-Modified-Since.")
     @GetMapping("/me")
-    public ResponseEntity<ProfileDetailsResponse> getMyUserProfile() {
-        return ResponseEntity.ok(this.service.getMyUserProfile());
+    public ResponseEntity<ProfileDetailsResponse> getMyUserProfile(WebRequest request) {
+        return this.service.getMyUserProfile().respond(request);
+    }
+
+    @Operation(summary = "Look Up User Profiles", description = "Resolve up to 100 user ids to profile summaries in one call. Ids that do not resolve are listed under 'missing'.")
+    @PostMapping("/lookup")
+    public ResponseEntity<LookupResult<ProfileSummaryResponse>> lookupUserProfiles(
+            @RequestBody @Valid LookupRequest request) {
+        return ResponseEntity.ok(this.service.lookupUserProfiles(request.ids()));
     }
 
     @Operation(summary = "Update Current User Profile", description = "Update the profile information of the currently authenticated user.")
@@ -43,4 +60,11 @@ public class UserProfileController {
         this.service.updateUserProfile(request);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Patch Current User Profile", description = "Update only the supplied fields of the current user's profile. Returns the new version as an ETag; send it back in If-Match to reject the update with 412 if the profile changed since.")
+    @PatchMapping("/me")
+    public ResponseEntity<Void> patchUserProfile(@RequestBody @Valid PatchUserProfileRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return this.service.patchUserProfile(request, RowVersion.fromIfMatch(ifMatch)).respond();
+    }
+}
@@ -1,15 +1,17 @@
 package com.example.profile.features.userProfile;
 
-import java.util.Random;
 import java.util.UUID;
 
 import org.springframework.stereotype.Component;
 
 import com.example.profile.features.educatorProfile.entities.EducatorProfile;
+import com.example.profile.features.educatorProfile.entities.EducatorStats;
 import com.example.profile.features.userProfile.contracts.ProfileDetailsResponse;
 import com.example.profile.features.userProfile.contracts.ProfileEducatorDetailsResponse;
+import com.example.profile.features.userProfile.contracts.ProfileSummaryResponse;
 import com.example.profile.features.userProfile.contracts.UpdateUserProfileRequest;
 import com.example.profile.features.userProfile.entities.UserProfile;
+import com.example.profile.features.userProfile.projections.ProfileSummaryView;
 import com.example.profile.infrastructure.messaging.events.EducatorProfileUpdatedEvent;
 import com.example.profile.infrastructure.messaging.events.RegistrationInitiatedEvent;
 
@@ -29,7 +31,8 @@ public class UserProfileMapper {
                 .build();
     }
 
-    public ProfileDetailsResponse toProfileDetails(UserProfile profile, EducatorProfile educator, Random random) {
+    public ProfileDetailsResponse toProfileDetails(UserProfile profile, EducatorProfile educator,
+            EducatorStats stats) {
         return new ProfileDetailsResponse(
                 profile.getId(),
                 profile.getUsername(),
@@ -37,11 +40,19 @@ public class UserProfileMapper {
                 profile.getLastName(),
                 profile.getBio(),
                 profile.getImageUrl(),
-                toProfileEducatorDetails(educator, random));
+                toProfileEducatorDetails(educator, stats));
     }
 
-    // TODO: map real counters
-    public ProfileEducatorDetailsResponse toProfileEducatorDetails(EducatorProfile educator, Random random) {
+    public ProfileSummaryResponse toProfileSummary(ProfileSummaryView view) {
+        return new ProfileSummaryResponse(
+                view.id(),
+                view.username(),
+                view.firstName(),
+                view.lastName(),
+                view.imageUrl());
+    }
+
+    public ProfileEducatorDetailsResponse toProfileEducatorDetails(EducatorProfile educator, EducatorStats stats) {
         if (educator == null) {
             return null;
         }
@@ -50,9 +61,9 @@ public class UserProfileMapper {
                 educator.getBio(),
                 educator.getExperience(),
                 educator.getVideoUrl(),
-                Math.round(1.0 + (5.0 - 1.0) * random.nextDouble() * 10.0) / 10.0,
-                random.nextInt(0, 20),
-                random.nextInt(0, 20));
+                stats == null ? 0.0 : stats.getRating(),
+                stats == null ? 0 : stats.getStudentCount(),
+                stats == null ? 0 : stats.getProductCount());
     }
 
     public void mapUserProfile(UpdateUserProfileRequest source, UserProfile target) {
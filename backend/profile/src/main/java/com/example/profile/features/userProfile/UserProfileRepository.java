@@ -1,10 +1,25 @@
 package com.example.profile.features.userProfile;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.example.profile.features.userProfile.entities.UserProfile;
+import com.example.profile.infrastructure.web.ResourceVersion;
 
+import java.util.Optional;
 import java.util.UUID;
 
-public interface UserProfileRepository extends JpaRepository<UserProfile, UUID> {
-}
\ No newline at end of file
+public interface UserProfileRepository extends JpaRepository<UserProfile, UUID>, UserProfileRepositoryCustom {
+    @Query("""
+            select new com.example.profile.infrastructure.web.ResourceVersion(
+                u.version,
+                coalesce(u.lastModifiedDate, u.createdDate),
+                coalesce(e.lastModifiedDate, e.createdDate),
+                s.lastModifiedDate)
+            from UserProfile u
+                left join EducatorProfile e on e.id = u.id
+                left join EducatorStats s on s.educatorId = u.id
+            where u.id = :id
+            """)
+    Optional<ResourceVersion> findVersionById(UUID id);
+}
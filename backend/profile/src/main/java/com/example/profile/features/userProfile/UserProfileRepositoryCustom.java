@@ -0,0 +1,47 @@
+package com.example.profile.features.userProfile;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import com.example.profile.features.userProfile.contracts.PatchUserProfileRequest;
+import com.example.profile.features.userProfile.entities.UserProfile;
+import com.example.profile.features.userProfile.projections.ProfileSummaryView;
+import com.example.profile.features.userProfile.projections.UserProfilePatchView;
+
+public interface UserProfileRepositoryCustom {
+    List<ProfileSummaryView> findSummariesByIds(Collection<UUID> ids);
+
+    /**
+     * Returns which of the given ids already have a profile, deleted ones
+     * included.
+     */
+    Set<UUID> findExistingIds(Collection<UUID> ids);
+
+    /**
+     * Inserts new profiles with a plain persist rather than the
+     * merge-or-insert of {@code save}, which would select each assigned id
+     * first. The inserts are flushed together so they go out as JDBC batches.
+     */
+    void persistAll(Collection<UserProfile> profiles);
+
+    /**
+     * Applies the non-null fields of {@code patch} with one conditional
+     * update. Nothing is written, and the result is empty, when the profile
+     * is missing, when every value is unchanged, or when
+     * {@code expectedVersion} is given and the row no longer has it.
+     */
+    Optional<UserProfilePatchView> patch(UUID id, PatchUserProfileRequest patch, Long expectedVersion);
+
+    Optional<Long> findRowVersion(UUID id);
+
+    /**
+     * Streams the id of every user profile, deleted ones included, through a
+     * forward-only cursor. Must run inside a transaction, otherwise the
+     * Postgres driver buffers the whole result set.
+     */
+    void streamIds(Consumer<UUID> consumer);
+}
@@ -0,0 +1,150 @@
+package com.example.profile.features.userProfile;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.example.profile.features.userProfile.contracts.PatchUserProfileRequest;
+import com.example.profile.features.userProfile.entities.UserProfile;
+import com.example.profile.features.userProfile.projections.ProfileSummaryView;
+import com.example.profile.features.userProfile.projections.UserProfilePatchView;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+class UserProfileRepositoryCustomImpl implements UserProfileRepositoryCustom {
+    private static final int ID_FETCH_SIZE = 10_000;
+
+    private static final String IDS_SQL = "select id from user_profile";
+
+    private static final String SUMMARIES_BY_IDS_SQL = """
+            select id, username, first_name, last_name, image_url
+            from user_profile
+            where id = any(?) and deleted_date is null
+            """;
+
+    private static final String EXISTING_IDS_SQL = "select id from user_profile where id = any(?)";
+
+    // Writes only when a value changes and the version still matches; the
+    // self-join exposes the old row so the result can tell whether the fields
+    // mirrored on the educator profile changed. The version is bumped by trigger
+    private static final String PATCH_SQL = """
+            update user_profile u set
+                first_name = coalesce(?, u.first_name),
+                last_name = coalesce(?, u.last_name),
+                bio = coalesce(?, u.bio),
+                image_url = coalesce(?, u.image_url),
+                last_modified_date = now()
+            from user_profile o
+            where u.id = ? and o.id = u.id and u.deleted_date is null
+                and (?::bigint is null or u.version = ?)
+                and (u.first_name, u.last_name, u.bio, u.image_url) is distinct from
+                    (coalesce(?, u.first_name), coalesce(?, u.last_name), coalesce(?, u.bio), coalesce(?, u.image_url))
+            returning u.version, u.first_name, u.last_name, u.image_url,
+                (o.first_name, o.last_name, o.image_url) is distinct from (u.first_name, u.last_name, u.image_url)
+                    as educator_fields_changed
+            """;
+
+    private static final String ROW_VERSION_SQL = """
+            select version from user_profile where id = ? and deleted_date is null
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public List<ProfileSummaryView> findSummariesByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        return jdbcTemplate.query(SUMMARIES_BY_IDS_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids.toArray())),
+                UserProfileRepositoryCustomImpl::toSummaryView);
+    }
+
+    @Override
+    public Set<UUID> findExistingIds(Collection<UUID> ids) {
+        Set<UUID> existing = new HashSet<>();
+        if (ids.isEmpty()) {
+            return existing;
+        }
+
+        jdbcTemplate.query(EXISTING_IDS_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids.toArray())),
+                (RowCallbackHandler) rs -> existing.add(rs.getObject(1, UUID.class)));
+        return existing;
+    }
+
+    @Override
+    public void persistAll(Collection<UserProfile> profiles) {
+        if (profiles.isEmpty()) {
+            return;
+        }
+
+        profiles.forEach(entityManager::persist);
+        entityManager.flush();
+    }
+
+    @Override
+    public Optional<UserProfilePatchView> patch(UUID id, PatchUserProfileRequest patch, Long expectedVersion) {
+        return jdbcTemplate.query(PATCH_SQL, ps -> {
+            ps.setString(1, patch.firstName());
+            ps.setString(2, patch.lastName());
+            ps.setString(3, patch.bio());
+            ps.setString(4, patch.imageUrl());
+            ps.setObject(5, id);
+            ps.setObject(6, expectedVersion, Types.BIGINT);
+            ps.setObject(7, expectedVersion, Types.BIGINT);
+            ps.setString(8, patch.firstName());
+            ps.setString(9, patch.lastName());
+            ps.setString(10, patch.bio());
+            ps.setString(11, patch.imageUrl());
+        }, UserProfileRepositoryCustomImpl::toPatchView).stream().findFirst();
+    }
+
+    @Override
+    public Optional<Long> findRowVersion(UUID id) {
+        return jdbcTemplate.queryForList(ROW_VERSION_SQL, Long.class, id).stream().findFirst();
+    }
+
+    @Override
+    public void streamIds(Consumer<UUID> consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(IDS_SQL, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(ID_FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(rs.getObject(1, UUID.class)));
+    }
+
+    private static ProfileSummaryView toSummaryView(ResultSet rs, int rowNum) throws SQLException {
+        return new ProfileSummaryView(
+                rs.getObject("id", UUID.class),
+                rs.getString("username"),
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                rs.getString("image_url"));
+    }
+
+    private static UserProfilePatchView toPatchView(ResultSet rs, int rowNum) throws SQLException {
+        return new UserProfilePatchView(
+                rs.getLong("version"),
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                rs.getString("image_url"),
+                rs.getBoolean("educator_fields_changed"));
+    }
+}
@@ -1,21 +1,40 @@
 package com.example.profile.features.userProfile;
 
-import java.util.Random;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.profile.exceptions.ErrorCodes;
 import com.example.profile.exceptions.NotFoundException;
+import com.example.profile.features.educatorProfile.EducatorDirectory;
 import com.example.profile.features.educatorProfile.EducatorProfileRepository;
+import com.example.profile.features.educatorProfile.EducatorStatsRepository;
 import com.example.profile.features.educatorProfile.entities.EducatorProfile;
+import com.example.profile.features.educatorProfile.entities.EducatorStats;
+import com.example.profile.features.userProfile.contracts.PatchUserProfileRequest;
 import com.example.profile.features.userProfile.contracts.ProfileDetailsResponse;
+import com.example.profile.features.userProfile.contracts.ProfileSummaryResponse;
 import com.example.profile.features.userProfile.contracts.UpdateUserProfileRequest;
 import com.example.profile.features.userProfile.entities.UserProfile;
+import com.example.profile.features.userProfile.projections.UserProfilePatchView;
+import com.example.profile.infrastructure.caching.IdFilter;
+import com.example.profile.infrastructure.caching.NearCache;
+import com.example.profile.infrastructure.caching.ProfileCacheInvalidator;
+import com.example.profile.infrastructure.caching.SingleFlight;
 import com.example.profile.infrastructure.identity.CurrentUser;
+import com.example.profile.infrastructure.messaging.events.EducatorProfileUpdatedEvent;
 import com.example.profile.infrastructure.messaging.events.RegistrationCompletedEvent;
 import com.example.profile.infrastructure.messaging.events.RegistrationInitiatedEvent;
 import com.example.profile.infrastructure.messaging.publishers.EventPublisher;
+import com.example.profile.infrastructure.persistence.PrimarySnapshot;
+import com.example.profile.infrastructure.web.LookupResult;
+import com.example.profile.infrastructure.web.RowVersion;
+import com.example.profile.infrastructure.web.Versioned;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,26 +48,37 @@ public class UserProfileService {
     private final UserProfileMapper mapper;
     private final UserProfileRepository repository;
     private final EducatorProfileRepository educatorRepository;
+    private final EducatorDirectory educatorDirectory;
+    private final EducatorStatsRepository statsRepository;
+    private final NearCache<Versioned<ProfileDetailsResponse>> cache;
+    private final SingleFlight<Versioned<ProfileDetailsResponse>> userDetailsFlight;
+    private final PrimarySnapshot snapshot;
+    private final ProfileCacheInvalidator cacheInvalidator;
+    private final ProfileDetailsStore details;
+    private final IdFilter userIdFilter;
 
-    private static final Random random = new Random();
+    public Versioned<ProfileDetailsResponse> getMyUserProfile() {
+        return this.getUserProfileById(this.currentUser.getUserId());
+    }
 
-    // TODO: replace random with real data
-    public ProfileDetailsResponse getMyUserProfile() {
-        UUID userId = this.currentUser.getUserId();
-        UserProfile user = this.repository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Profile not found", ErrorCodes.USER_PROFILE_NOT_FOUND));
-        EducatorProfile educator = this.educatorRepository.findById(userId).orElse(null);
-        return this.mapper.toProfileDetails(user, educator, random);
+    // Loads from the primary so the cache is never filled from a lagging replica.
+    // Concurrent requests for one profile share a single cache lookup or load
+    public Versioned<ProfileDetailsResponse> getUserProfileById(UUID id) {
+        this.requireKnownId(id);
+        return this.userDetailsFlight.execute(id, key -> this.cache.get(key, this::loadUserProfile));
     }
 
-    // TODO: replace random with real data
-    public ProfileDetailsResponse getUserProfileById(UUID id) {
-        UserProfile user = this.repository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Profile not found", ErrorCodes.USER_PROFILE_NOT_FOUND));
-        EducatorProfile educator = this.educatorRepository.findById(id).orElse(null);
-        return this.mapper.toProfileDetails(user, educator, random);
+    @Transactional(readOnly = true)
+    public LookupResult<ProfileSummaryResponse> lookupUserProfiles(List<UUID> ids) {
+        Set<UUID> distinct = LookupResult.requireIds(ids);
+        List<ProfileSummaryResponse> found = this.repository.findSummariesByIds(distinct)
+                .stream()
+                .map(mapper::toProfileSummary)
+                .toList();
+        return LookupResult.of(distinct, found, ProfileSummaryResponse::id);
     }
 
+    @Transactional
     public void updateUserProfile(UpdateUserProfileRequest request) {
         UUID userId = this.currentUser.getUserId();
         var profile = this.repository.findById(userId)
@@ -56,30 +86,139 @@ public class UserProfileService {
 
         this.mapper.mapUserProfile(request, profile);
         this.repository.save(profile);
+        this.details.refresh(userId);
+        this.cacheInvalidator.invalidate(userId);
 
         if (educatorRepository.existsById(userId)) {
+            this.educatorDirectory.refresh(userId);
             this.eventPublisher.publishEducatorProfileUpdatedEvent(mapper.toProfileUpdatedEvent(profile));
         }
     }
 
-    public void createUserProfile(RegistrationInitiatedEvent request) {
-        String userId = request.getUserId();
-        boolean success = false;
-        String errorMessage = null;
+    /**
+     * Applies only the supplied fields with a single conditional update, with
+     * no read first and no row lock beyond the update's own. Unchanged values
+     * write nothing and publish nothing; {@code expectedVersion}, when given,
+     * rejects the update if another one landed since.
+     */
+    @Transactional
+    public RowVersion patchUserProfile(PatchUserProfileRequest request, Long expectedVersion) {
+        UUID userId = this.currentUser.getUserId();
+        UserProfilePatchView patched = this.repository.patch(userId, request, expectedVersion).orElse(null);
+        if (patched == null) {
+            return RowVersion.unchanged(this.repository.findRowVersion(userId), expectedVersion,
+                    ErrorCodes.USER_PROFILE_NOT_FOUND);
+        }
 
+        this.details.refresh(userId);
+        this.cacheInvalidator.invalidate(userId);
+
+        // Only names and image are mirrored downstream, so a bio edit stays local
+        if (patched.educatorFieldsChanged() && this.educatorRepository.existsById(userId)) {
+            this.educatorDirectory.refresh(userId);
+            this.eventPublisher.publishEducatorProfileUpdatedEvent(new EducatorProfileUpdatedEvent(
+                    userId.toString(), patched.firstName(), patched.lastName(), patched.imageUrl()));
+        }
+        return new RowVersion(patched.version());
+    }
+
+    /**
+     * Creates the profile, refreshes its details row and records the
+     * completion in one transaction. A registration whose profile already
+     * exists, i.e. a redelivery, is confirmed again rather than failing on the
+     * duplicate key, so auth is never told to delete a user that has a
+     * profile. Only a registration that cannot be mapped is reported as
+     * failed; database errors propagate so the message is retried.
+     */
+    @Transactional
+    public void createUserProfile(RegistrationInitiatedEvent request) {
+        UserProfile profile;
         try {
-            this.repository.save(this.mapper.toUserProfile(request));
-            success = true;
-        } catch (Exception e) {
-            log.error("Error creating user profile for userId: {}", userId, e);
-            errorMessage = e.getMessage();
+            profile = this.mapper.toUserProfile(request);
+        } catch (RuntimeException e) {
+            log.error("Error creating user profile for userId: {}", request.getUserId(), e);
+            this.eventPublisher.publishRegistrationCompleted(completed(request, false, e.getMessage()));
+            return;
+        }
+
+        UUID id = profile.getId();
+        if (!this.repository.existsById(id)) {
+            this.userIdFilter.put(id);
+            this.repository.persistAll(List.of(profile));
+            this.cacheInvalidator.announceInserted(List.of(id));
         }
+        this.details.refresh(id);
+        this.cacheInvalidator.invalidate(id);
+        this.eventPublisher.publishRegistrationCompleted(completed(request, true, null));
+    }
+
+    /**
+     * Batch form of {@link #createUserProfile(RegistrationInitiatedEvent)}
+     * for the batch listener: profiles that do not exist yet are inserted in
+     * JDBC batches, the details view is refreshed with one statement and
+     * every completion is recorded with one outbox insert. Redelivered
+     * registrations are confirmed without touching their profile.
+     * <p>
+     * Unlike the single form this throws when any part fails, rolling back
+     * the whole batch so the caller can fall back to one at a time.
+     */
+    @Transactional
+    public void createUserProfiles(List<RegistrationInitiatedEvent> requests) {
+        Map<UUID, UserProfile> profiles = new LinkedHashMap<>();
+        for (RegistrationInitiatedEvent request : requests) {
+            UserProfile profile = this.mapper.toUserProfile(request);
+            profiles.putIfAbsent(profile.getId(), profile);
+        }
+
+        Set<UUID> existing = this.repository.findExistingIds(profiles.keySet());
+        List<UserProfile> created = profiles.values().stream()
+                .filter(profile -> !existing.contains(profile.getId()))
+                .toList();
+        created.forEach(profile -> this.userIdFilter.put(profile.getId()));
+        this.repository.persistAll(created);
+        this.cacheInvalidator.announceInserted(created.stream().map(UserProfile::getId).toList());
+        this.details.refresh(profiles.keySet());
+        this.cacheInvalidator.invalidate(profiles.keySet());
+
+        this.eventPublisher.publishRegistrationsCompleted(requests.stream()
+                .map(request -> completed(request, true, null))
+                .toList());
+    }
+
+    // The version comes from the same snapshot as the body, so a cached ETag
+    // never validates a body other than the one cached with it
+    private Versioned<ProfileDetailsResponse> loadUserProfile(UUID id) {
+        return this.snapshot.read(() -> new Versioned<>(
+                this.repository.findVersionById(id).orElseThrow(this::passedFilterNotFound),
+                this.details.findById(id).orElseGet(() -> this.loadUserProfileFromSources(id))));
+    }
+
+    // Serves profiles the details view does not hold yet, i.e. before the
+    // rebuild command has backfilled them
+    private ProfileDetailsResponse loadUserProfileFromSources(UUID id) {
+        UserProfile user = this.repository.findById(id).orElseThrow(this::passedFilterNotFound);
+        EducatorProfile educator = this.educatorRepository.findById(id).orElse(null);
+        EducatorStats stats = educator == null ? null : this.statsRepository.findById(id).orElse(null);
+        return this.mapper.toProfileDetails(user, educator, stats);
+    }
+
+    // Random ids scraped from the public endpoint are answered here without a
+    // query, and without the cost of a stack trace
+    private void requireKnownId(UUID id) {
+        if (!this.userIdFilter.mightContain(id)) {
+            throw new NotFoundException("Profile not found", ErrorCodes.USER_PROFILE_NOT_FOUND, false);
+        }
+    }
+
+    private NotFoundException passedFilterNotFound() {
+        this.userIdFilter.recordFalsePositive();
+        return new NotFoundException("Profile not found", ErrorCodes.USER_PROFILE_NOT_FOUND);
+    }
 
-        RegistrationCompletedEvent event = new RegistrationCompletedEvent(
-                userId,
-                success,
-                errorMessage);
+    private static RegistrationCompletedEvent completed(RegistrationInitiatedEvent request, boolean success,
+            String errorMessage) {
+        RegistrationCompletedEvent event = new RegistrationCompletedEvent(request.getUserId(), success, errorMessage);
         event.setCorrelationId(request.getCorrelationId());
-        this.eventPublisher.publishRegistrationCompleted(event);
+        return event;
     }
-}
\ No newline at end of file
+}
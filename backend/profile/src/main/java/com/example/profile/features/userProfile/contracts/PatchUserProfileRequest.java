@@ -0,0 +1,15 @@
+package com.example.profile.features.userProfile.contracts;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Partial update of the current user's profile: omitted (null) fields keep
+ * their value.
+ */
+public record PatchUserProfileRequest(
+        @Pattern(regexp = ".*\\S.*", message = "must not be blank") @Size(max = 50) String firstName,
+        @Pattern(regexp = ".*\\S.*", message = "must not be blank") @Size(max = 50) String lastName,
+        @Size(max = 200) String bio,
+        @Size(max = 200) String imageUrl) {
+}
@@ -0,0 +1,11 @@
+package com.example.profile.features.userProfile.contracts;
+
+import java.util.UUID;
+
+public record ProfileSummaryResponse(
+        UUID id,
+        String username,
+        String firstName,
+        String lastName,
+        String imageUrl) {
+}
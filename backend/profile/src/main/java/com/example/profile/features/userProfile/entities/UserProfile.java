@@ -4,10 +4,15 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import com.example.profile.infrastructure.caching.HibernateCacheConfig;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
@@ -24,6 +29,7 @@ import lombok.NoArgsConstructor;
 @Data
 @Entity
 @EntityListeners(AuditingEntityListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.USER_PROFILE_REGION)
 public class UserProfile {
     @Id
     @Column(nullable = false, unique = true)
@@ -59,4 +65,10 @@ public class UserProfile {
     private LocalDateTime lastModifiedDate;
 
     private LocalDateTime deletedDate;
+
+    // Bumped by a database trigger when an editable column changes. Mapped so
+    // queries can select it; a loaded entity's copy is not refreshed on write
+    @ColumnDefault("0")
+    @Column(insertable = false, updatable = false)
+    private long version;
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.example.profile.features.userProfile.projections;
+
+import java.util.UUID;
+
+public record ProfileSummaryView(
+        UUID id,
+        String username,
+        String firstName,
+        String lastName,
+        String imageUrl) {
+}
@@ -0,0 +1,13 @@
+package com.example.profile.features.userProfile.projections;
+
+/**
+ * Row written by a profile PATCH. {@code educatorFieldsChanged} is set when
+ * the names or image mirrored on the educator profile changed.
+ */
+public record UserProfilePatchView(
+        long version,
+        String firstName,
+        String lastName,
+        String imageUrl,
+        boolean educatorFieldsChanged) {
+}
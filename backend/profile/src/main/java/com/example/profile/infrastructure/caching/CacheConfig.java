@@ -0,0 +1,66 @@
+package com.example.profile.infrastructure.caching;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.profile.features.educatorProfile.EducatorProfileRepository;
+import com.example.profile.features.educatorProfile.contracts.EducatorDetailsResponse;
+import com.example.profile.features.userProfile.UserProfileRepository;
+import com.example.profile.features.userProfile.contracts.ProfileDetailsResponse;
+import com.example.profile.infrastructure.persistence.PrimarySnapshot;
+import com.example.profile.infrastructure.persistence.ReplicaRoutingDataSource;
+import com.example.profile.infrastructure.web.Versioned;
+
+import io.opentelemetry.api.metrics.Meter;
+
+@Configuration
+public class CacheConfig {
+    @Bean
+    NearCache<Versioned<ProfileDetailsResponse>> userProfileCache(CacheProperties properties, Meter meter) {
+        return new NearCache<>("user_profile", properties, meter);
+    }
+
+    @Bean
+    NearCache<Versioned<EducatorDetailsResponse>> educatorProfileCache(CacheProperties properties, Meter meter) {
+        return new NearCache<>("educator_profile", properties, meter);
+    }
+
+    @Bean
+    SingleFlight<Versioned<ProfileDetailsResponse>> userDetailsFlight(CacheProperties properties, Meter meter) {
+        return new SingleFlight<>("user_profile", properties.getLoadTimeout(), meter);
+    }
+
+    @Bean
+    SingleFlight<Versioned<EducatorDetailsResponse>> educatorDetailsFlight(CacheProperties properties,
+            Meter meter) {
+        return new SingleFlight<>("educator_profile", properties.getLoadTimeout(), meter);
+    }
+
+    // Cache loads read a body and its version together; read-only, but kept
+    // on the primary so nothing lagging is cached
+    @Bean
+    PrimarySnapshot cacheLoadSnapshot(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setName(ReplicaRoutingDataSource.PRIMARY_READ);
+        template.setReadOnly(true);
+        template.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return new PrimarySnapshot(template);
+    }
+
+    @Bean
+    IdFilter userIdFilter(UserProfileRepository repository, PlatformTransactionManager transactionManager,
+            IdFilterProperties properties, Meter meter) {
+        return new IdFilter("user_profile", repository::count, repository::streamIds,
+                new TransactionTemplate(transactionManager), properties, meter);
+    }
+
+    @Bean
+    IdFilter educatorIdFilter(EducatorProfileRepository repository, PlatformTransactionManager transactionManager,
+            IdFilterProperties properties, Meter meter) {
+        return new IdFilter("educator_profile", repository::count, repository::streamIds,
+                new TransactionTemplate(transactionManager), properties, meter);
+    }
+}
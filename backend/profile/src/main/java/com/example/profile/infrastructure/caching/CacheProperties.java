@@ -0,0 +1,17 @@
+package com.example.profile.infrastructure.caching;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.cache.profiles")
+public class CacheProperties {
+    private long maximumSize;
+    private Duration ttl;
+    private Duration loadTimeout;
+}
@@ -0,0 +1,73 @@
+package com.example.profile.infrastructure.caching;
+
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Hibernate second-level cache backed by Caffeine through JCache. Every region
+ * is created here with its own bound, and Hibernate refuses to start if an
+ * entity or query names a region that is missing.
+ */
+@Configuration
+public class HibernateCacheConfig {
+    public static final String USER_PROFILE_REGION = "user_profile";
+    public static final String EDUCATOR_PROFILE_REGION = "educator_profile";
+    public static final String EDUCATOR_LISTING_REGION = "educator_listing";
+
+    @Bean(destroyMethod = "close")
+    CacheManager hibernateCacheManager(HibernateCacheProperties properties) {
+        // A unique URI per context keeps test contexts sharing a JVM apart
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        cacheManager.createCache(USER_PROFILE_REGION, region(properties.getEntityMaximumSize(), properties));
+        cacheManager.createCache(EDUCATOR_PROFILE_REGION, region(properties.getEntityMaximumSize(), properties));
+        cacheManager.createCache(EDUCATOR_LISTING_REGION, region(properties.getQueryMaximumSize(), properties));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                region(properties.getQueryMaximumSize(), properties));
+
+        // Update timestamps must outlive every cached query result, so this
+        // region is neither bounded nor expired; it holds one entry per table
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>().setStoreByValue(false));
+
+        return cacheManager;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+            // Statistics feed the per-region hit ratio metrics; per-session
+            // metric logging would otherwise be switched on along with them
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            properties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maximumSize, HibernateCacheProperties properties) {
+        return new CaffeineConfiguration<>()
+                .setStoreByValue(false)
+                .setMaximumSize(OptionalLong.of(maximumSize))
+                .setExpireAfterWrite(OptionalLong.of(properties.getTtl().toNanos()));
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.profile.infrastructure.caching;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.cache.hibernate")
+public class HibernateCacheProperties {
+    private long entityMaximumSize = 50_000;
+    private long queryMaximumSize = 1_000;
+    private Duration ttl = Duration.ofMinutes(10);
+}
@@ -0,0 +1,178 @@
+package com.example.profile.infrastructure.caching;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionOperations;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bloom filter over every id a table holds, so lookups of ids that were never
+ * inserted are answered without a query. Ids are only ever added, which keeps
+ * the filter a superset of the table: it may let an unknown id through, but
+ * never rejects a known one.
+ * <p>
+ * The filter is built from a streaming id scan at startup and rebuilt
+ * periodically to resize it and drop deleted ids. Writers add new ids before
+ * they commit; the filter also receives every invalidated id, so inserts on
+ * other replicas arrive with the cache invalidation broadcast. Writers announce
+ * inserts through the outbox ({@link ProfileCacheInvalidator#announceInserted}),
+ * so that broadcast is confirmed and retried rather than best effort. Until the
+ * first build completes every id is let through.
+ */
+@Slf4j
+public class IdFilter implements ProfileCache {
+    private static final AttributeKey<String> FILTER = AttributeKey.stringKey("filter");
+
+    private final String name;
+    private final LongSupplier count;
+    private final Consumer<Consumer<UUID>> scan;
+    private final TransactionOperations transactions;
+    private final IdFilterProperties properties;
+    private final Attributes attributes;
+    private final LongCounter rejectedCounter;
+    private final LongCounter falsePositivesCounter;
+
+    private final Object rebuildLock = new Object();
+    private volatile BloomFilter current;
+    // Collects inserts from before the count until after the swap, so an id
+    // committed after the scan passed its position, or put into the old filter
+    // during the swap, is replayed into the new one
+    private volatile Set<UUID> insertedDuringRebuild;
+
+    public IdFilter(String name, LongSupplier count, Consumer<Consumer<UUID>> scan,
+            TransactionOperations transactions, IdFilterProperties properties, Meter meter) {
+        this.name = name;
+        this.count = count;
+        this.scan = scan;
+        this.transactions = transactions;
+        this.properties = properties;
+        this.attributes = Attributes.of(FILTER, name);
+        this.rejectedCounter = meter.counterBuilder("profile.id_filter.rejected")
+                .setDescription("Lookups answered as not found without a query")
+                .build();
+        this.falsePositivesCounter = meter.counterBuilder("profile.id_filter.false_positives")
+                .setDescription("Lookups let through by the filter that found nothing")
+                .build();
+        meter.gaugeBuilder("profile.id_filter.false_positive_rate")
+                .setDescription("Expected share of unknown ids the filter lets through, from the bits set")
+                .buildWithCallback(m -> {
+                    BloomFilter filter = this.current;
+                    if (filter != null) {
+                        m.record(filter.expectedFalsePositiveRate(), attributes);
+                    }
+                });
+        meter.gaugeBuilder("profile.id_filter.memory")
+                .setDescription("Memory held by the filter bit array")
+                .setUnit("By")
+                .ofLongs()
+                .buildWithCallback(m -> {
+                    BloomFilter filter = this.current;
+                    if (filter != null) {
+                        m.record(filter.memoryBytes(), attributes);
+                    }
+                });
+        meter.gaugeBuilder("profile.id_filter.size")
+                .setDescription("Ids inserted into the filter since it was last built")
+                .ofLongs()
+                .buildWithCallback(m -> {
+                    BloomFilter filter = this.current;
+                    if (filter != null) {
+                        m.record(filter.insertions(), attributes);
+                    }
+                });
+    }
+
+    /**
+     * False only when the id is definitely absent; rejections are counted.
+     */
+    public boolean mightContain(UUID id) {
+        BloomFilter filter = this.current;
+        if (!this.properties.isEnabled() || filter == null || filter.mightContain(id)) {
+            return true;
+        }
+
+        rejectedCounter.add(1, attributes);
+        return false;
+    }
+
+    /**
+     * Records a lookup the filter let through that found nothing. Together
+     * with the rejected count this gives the observed false positive rate.
+     */
+    public void recordFalsePositive() {
+        falsePositivesCounter.add(1, attributes);
+    }
+
+    public void put(UUID id) {
+        Set<UUID> inserted = this.insertedDuringRebuild;
+        if (inserted != null) {
+            inserted.add(id);
+        }
+        BloomFilter filter = this.current;
+        if (filter != null) {
+            filter.put(id);
+        }
+    }
+
+    @Override
+    public void invalidate(Collection<UUID> ids) {
+        ids.forEach(this::put);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (this.properties.isEnabled()) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.id-filter.rebuild-interval:PT1H}", initialDelayString = "${app.cache.id-filter.rebuild-interval:PT1H}")
+    public void scheduledRebuild() {
+        if (this.properties.isEnabled()) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        synchronized (this.rebuildLock) {
+            long start = System.nanoTime();
+            Set<UUID> inserted = ConcurrentHashMap.newKeySet();
+            this.insertedDuringRebuild = inserted;
+            try {
+                // A read-write transaction keeps the scan on the primary, where
+                // no committed id can be missing
+                BloomFilter next = this.transactions.execute(status -> {
+                    long expected = Math.max(this.properties.getMinimumCapacity(),
+                            (long) (this.count.getAsLong() * this.properties.getHeadroom()));
+                    BloomFilter filter = new BloomFilter(expected, this.properties.getFalsePositiveRate());
+                    this.scan.accept(filter::put);
+                    return filter;
+                });
+                long ids = next.insertions();
+                this.current = next;
+                // A put records the id before reading the current filter, so
+                // one that still saw the old filter is in the set by now
+                inserted.forEach(next::put);
+                log.info("Id filter {} rebuilt with {} ids in {} ms", this.name, ids,
+                        (System.nanoTime() - start) / 1_000_000);
+            } catch (RuntimeException e) {
+                log.error("Failed to rebuild id filter {}", this.name, e);
+            } finally {
+                this.insertedDuringRebuild = null;
+            }
+        }
+    }
+}
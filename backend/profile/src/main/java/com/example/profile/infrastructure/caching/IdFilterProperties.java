@@ -0,0 +1,20 @@
+package com.example.profile.infrastructure.caching;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.cache.id-filter")
+public class IdFilterProperties {
+    private boolean enabled = true;
+    private double falsePositiveRate = 0.01;
+    // Capacity relative to the ids present at rebuild, leaving room for inserts
+    private double headroom = 2.0;
+    private long minimumCapacity = 100_000;
+    private Duration rebuildInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,63 @@
+package com.example.profile.infrastructure.caching;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
+
+/**
+ * Bounded in-process read cache keyed by profile id. Entries expire after a
+ * fixed TTL so a lost invalidation only leaves data stale for a bounded time.
+ */
+public class NearCache<V> implements ProfileCache {
+    private static final AttributeKey<String> CACHE = AttributeKey.stringKey("cache");
+
+    private final Cache<UUID, V> cache;
+
+    public NearCache(String name, CacheProperties properties, Meter meter) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+
+        Attributes attributes = Attributes.of(CACHE, name);
+        meter.counterBuilder("profile.cache.hits")
+                .setDescription("Near-cache lookups served from memory")
+                .buildWithCallback(m -> m.record(stats().hitCount(), attributes));
+        meter.counterBuilder("profile.cache.misses")
+                .setDescription("Near-cache lookups that went to the database")
+                .buildWithCallback(m -> m.record(stats().missCount(), attributes));
+        meter.counterBuilder("profile.cache.evictions")
+                .setDescription("Near-cache entries evicted by size or TTL")
+                .buildWithCallback(m -> m.record(stats().evictionCount(), attributes));
+        meter.gaugeBuilder("profile.cache.size")
+                .setDescription("Approximate number of entries held by the near-cache")
+                .ofLongs()
+                .buildWithCallback(m -> m.record(cache.estimatedSize(), attributes));
+    }
+
+    /**
+     * Returns the cached value or loads it; exceptions thrown by the loader
+     * propagate and nothing is cached.
+     */
+    public V get(UUID id, Function<UUID, V> loader) {
+        return cache.get(id, loader);
+    }
+
+    @Override
+    public void invalidate(Collection<UUID> ids) {
+        cache.invalidateAll(ids);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.profile.infrastructure.caching;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * A local cache holding per-profile state, evicted by
+ * {@link ProfileCacheInvalidator} whenever a profile changes.
+ */
+public interface ProfileCache {
+    void invalidate(Collection<UUID> ids);
+}
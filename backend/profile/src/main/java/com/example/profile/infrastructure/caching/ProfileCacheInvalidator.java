@@ -0,0 +1,103 @@
+package com.example.profile.infrastructure.caching;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.profile.infrastructure.messaging.events.ProfileCacheInvalidatedEvent;
+import com.example.profile.infrastructure.messaging.publishers.EventPublisher;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drops profile entries from every local cache (near-caches and the Hibernate
+ * second-level cache) and broadcasts the invalidation so the other replicas
+ * drop theirs as well.
+ */
+@Slf4j
+@Component
+public class ProfileCacheInvalidator {
+    private final List<ProfileCache> caches;
+    private final EventPublisher publisher;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public ProfileCacheInvalidator(List<ProfileCache> caches, EventPublisher publisher) {
+        this.caches = caches;
+        this.publisher = publisher;
+    }
+
+    public void invalidate(UUID id) {
+        invalidate(List.of(id));
+    }
+
+    /**
+     * Evicts and broadcasts once the surrounding transaction commits, so a
+     * concurrent read cannot re-cache the pre-commit state, or immediately
+     * when called outside of a transaction.
+     */
+    public void invalidate(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateAndBroadcast(ids);
+                }
+            });
+            return;
+        }
+
+        invalidateAndBroadcast(ids);
+    }
+
+    /**
+     * Records a broadcast of newly inserted ids in the outbox, within the
+     * caller's transaction. Other replicas' id filters would answer a lookup of
+     * an id they never received as not found, so unlike evictions this
+     * broadcast must not be lost.
+     */
+    public void announceInserted(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        List<String> userIds = ids.stream().map(UUID::toString).toList();
+        publisher.publishProfilesInserted(new ProfileCacheInvalidatedEvent(userIds, instanceId));
+    }
+
+    /**
+     * Applies an invalidation received from the broadcast exchange. Returns
+     * false for our own broadcasts, which were already applied locally.
+     */
+    public boolean onBroadcast(ProfileCacheInvalidatedEvent event) {
+        if (instanceId.equals(event.getOrigin())) {
+            return false;
+        }
+
+        evict(event.getUserIds().stream().map(UUID::fromString).toList());
+        return true;
+    }
+
+    private void invalidateAndBroadcast(Collection<UUID> ids) {
+        evict(ids);
+
+        try {
+            List<String> userIds = ids.stream().map(UUID::toString).toList();
+            publisher.publishProfileCacheInvalidated(new ProfileCacheInvalidatedEvent(userIds, instanceId));
+        } catch (RuntimeException e) {
+            // Other replicas fall back to the cache TTL
+            log.warn("Failed to broadcast cache invalidation for {} profiles", ids.size(), e);
+        }
+    }
+
+    private void evict(Collection<UUID> ids) {
+        caches.forEach(cache -> cache.invalidate(ids));
+    }
+}
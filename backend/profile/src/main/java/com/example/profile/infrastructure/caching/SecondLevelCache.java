@@ -0,0 +1,82 @@
+package com.example.profile.infrastructure.caching;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.ToLongFunction;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import com.example.profile.features.educatorProfile.entities.EducatorProfile;
+import com.example.profile.features.userProfile.entities.UserProfile;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.ObservableLongMeasurement;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Keeps the Hibernate second-level cache in step with writes Hibernate does
+ * not see: JDBC stats flushes and changes made on other replicas. Also
+ * publishes per-region hit and miss counts.
+ */
+@Component
+public class SecondLevelCache implements ProfileCache {
+    private static final AttributeKey<String> REGION = AttributeKey.stringKey("region");
+
+    private final Cache cache;
+    private final Statistics statistics;
+
+    public SecondLevelCache(EntityManagerFactory entityManagerFactory, Meter meter) {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.cache = sessionFactory.getCache();
+        this.statistics = sessionFactory.getStatistics();
+
+        meter.counterBuilder("profile.hibernate_cache.hits")
+                .setDescription("Second-level cache lookups served from memory")
+                .buildWithCallback(m -> record(m, CacheRegionStatistics::getHitCount));
+        meter.counterBuilder("profile.hibernate_cache.misses")
+                .setDescription("Second-level cache lookups that went to the database")
+                .buildWithCallback(m -> record(m, CacheRegionStatistics::getMissCount));
+        meter.counterBuilder("profile.hibernate_cache.puts")
+                .setDescription("Entries written to the second-level cache")
+                .buildWithCallback(m -> record(m, CacheRegionStatistics::getPutCount));
+        meter.gaugeBuilder("profile.hibernate_cache.hit_ratio")
+                .setDescription("Share of second-level cache lookups served from memory since startup")
+                .buildWithCallback(m -> forEachRegion((region, stats) -> {
+                    long lookups = stats.getHitCount() + stats.getMissCount();
+                    m.record(lookups == 0 ? 0 : (double) stats.getHitCount() / lookups, region);
+                }));
+    }
+
+    /**
+     * Evicts the profiles and every cached listing page, since any of them
+     * may show the changed educators.
+     */
+    @Override
+    public void invalidate(Collection<UUID> ids) {
+        for (UUID id : ids) {
+            cache.evictEntityData(UserProfile.class, id);
+            cache.evictEntityData(EducatorProfile.class, id);
+        }
+        cache.evictQueryRegion(HibernateCacheConfig.EDUCATOR_LISTING_REGION);
+    }
+
+    private void record(ObservableLongMeasurement measurement, ToLongFunction<CacheRegionStatistics> value) {
+        forEachRegion((region, stats) -> measurement.record(value.applyAsLong(stats), region));
+    }
+
+    private void forEachRegion(BiConsumer<Attributes, CacheRegionStatistics> action) {
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats != null) {
+                action.accept(Attributes.of(REGION, region), stats);
+            }
+        }
+    }
+}
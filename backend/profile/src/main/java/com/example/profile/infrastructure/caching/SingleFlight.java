@@ -0,0 +1,119 @@
+package com.example.profile.infrastructure.caching;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import com.example.profile.exceptions.ErrorCodes;
+import com.example.profile.exceptions.ServiceUnavailableException;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.metrics.Meter;
+
+/**
+ * Coalesces concurrent loads of the same profile id: the first caller runs
+ * the load on its own thread and every caller arriving meanwhile waits for
+ * and shares its result, including its exception. Waiters give up after the
+ * timeout with a 503 rather than queueing behind a slow query.
+ * <p>
+ * Invalidating an id detaches its in-flight load, so callers arriving after a
+ * write start a fresh load instead of joining one that may predate it.
+ * Metrics are tagged by flight name only; the waiters-per-load histogram
+ * shows how hot the busiest keys are without a per-id series.
+ */
+public class SingleFlight<V> implements ProfileCache {
+    private static final AttributeKey<String> FLIGHT = AttributeKey.stringKey("flight");
+
+    private final ConcurrentMap<UUID, Flight<V>> inFlight = new ConcurrentHashMap<>();
+    private final Duration timeout;
+    private final Attributes attributes;
+    private final LongCounter loadsCounter;
+    private final LongCounter sharedCounter;
+    private final LongCounter timeoutsCounter;
+    private final LongHistogram waitersHistogram;
+
+    public SingleFlight(String name, Duration timeout, Meter meter) {
+        this.timeout = timeout;
+        this.attributes = Attributes.of(FLIGHT, name);
+        this.loadsCounter = meter.counterBuilder("profile.single_flight.loads")
+                .setDescription("Loads executed on behalf of one or more callers")
+                .build();
+        this.sharedCounter = meter.counterBuilder("profile.single_flight.shared")
+                .setDescription("Calls served by a load another caller had already started")
+                .build();
+        this.timeoutsCounter = meter.counterBuilder("profile.single_flight.timeouts")
+                .setDescription("Calls that gave up waiting for a concurrent load")
+                .build();
+        this.waitersHistogram = meter.histogramBuilder("profile.single_flight.waiters")
+                .setDescription("Callers that joined each load")
+                .ofLongs()
+                .build();
+        meter.gaugeBuilder("profile.single_flight.in_flight")
+                .setDescription("Loads currently running")
+                .ofLongs()
+                .buildWithCallback(m -> m.record(inFlight.size(), attributes));
+    }
+
+    public V execute(UUID key, Function<UUID, V> loader) {
+        Flight<V> flight = new Flight<>();
+        Flight<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        loadsCounter.add(1, attributes);
+        try {
+            V value = loader.apply(key);
+            flight.result.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+            waitersHistogram.record(flight.waiters.get(), attributes);
+        }
+    }
+
+    @Override
+    public void invalidate(Collection<UUID> ids) {
+        ids.forEach(inFlight::remove);
+    }
+
+    private V await(Flight<V> flight) {
+        flight.waiters.incrementAndGet();
+        sharedCounter.add(1, attributes);
+        try {
+            return flight.result.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw (Error) e.getCause();
+        } catch (TimeoutException e) {
+            timeoutsCounter.add(1, attributes);
+            throw new ServiceUnavailableException("Timed out waiting for the profile to load",
+                    ErrorCodes.LOAD_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for the profile to load",
+                    ErrorCodes.LOAD_TIMEOUT);
+        }
+    }
+
+    private static final class Flight<V> {
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private final AtomicInteger waiters = new AtomicInteger();
+    }
+}
@@ -3,6 +3,7 @@ package com.example.profile.infrastructure.identity;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -25,6 +26,25 @@ public class CurrentUser {
         }
         throw new UnauthorizedException("User is not authenticated");
     }
+
+    /**
+     * Same as {@link #getUserId()}, but empty for anonymous requests and for
+     * code running outside of a request.
+     */
+    public Optional<UUID> findUserId() {
+        Authentication authentication = securityContextProvider.getContext().map(SecurityContext::getAuthentication)
+                .orElse(null);
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(UUID.fromString(authentication.getName()));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
 }
 
 @Component
@@ -6,6 +6,9 @@ public class Constants {
     public static final String PROFILE_DLQ_NAME = "profile-events-dlq";
     public static final String PROFILE_DLQ_ROUTING_KEY = "dlq.profile";
 
+    // Exchanges
+    public static final String PROFILE_CACHE_EXCHANGE = "profile-cache-invalidation";
+
     // Patterns
     public static final String AUTH_TO_PROFILE_PATTERN = "auth.to.profile.#";
     public static final String LEARNING_TO_PROFILE_PATTERN = "learning.to.profile.#";
@@ -19,6 +22,9 @@ public class Constants {
     public static final String EDUCATOR_CREATED = "EDUCATOR_CREATED";
     public static final String EDUCATOR_PRODUCT_CREATED = "EDUCATOR_PRODUCT_CREATED";
     public static final String EDUCATOR_PROFILE_UPDATED = "EDUCATOR_PROFILE_UPDATED";
+    public static final String EDUCATOR_STUDENT_ENROLLED = "EDUCATOR_STUDENT_ENROLLED";
+    public static final String EDUCATOR_RATED = "EDUCATOR_RATED";
     public static final String REGISTRATION_INITIATED = "REGISTRATION_INITIATED";
     public static final String REGISTRATION_COMPLETED = "REGISTRATION_COMPLETED";
+    public static final String PROFILE_CACHE_INVALIDATED = "PROFILE_CACHE_INVALIDATED";
 }
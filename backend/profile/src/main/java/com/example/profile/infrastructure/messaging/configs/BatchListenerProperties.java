@@ -0,0 +1,20 @@
+package com.example.profile.infrastructure.messaging.configs;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.rabbitmq.batch-listener")
+public class BatchListenerProperties {
+    // Consumes the profile queue in batches instead of one message at a time
+    private boolean enabled = false;
+    private int batchSize = 100;
+    // How long a partial batch waits for more messages before it is delivered
+    private Duration receiveTimeout = Duration.ofMillis(200);
+    private int concurrentConsumers = 3;
+}
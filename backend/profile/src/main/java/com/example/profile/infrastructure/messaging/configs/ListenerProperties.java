@@ -0,0 +1,32 @@
+package com.example.profile.infrastructure.messaging.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.rabbitmq.listener")
+public class ListenerProperties {
+    // Runs listener consumers on virtual threads instead of platform threads
+    private boolean virtualThreads = false;
+    private int concurrentConsumers = 3;
+    private int maxConcurrentConsumers = 10;
+    private int prefetchCount = 10;
+    // Handlers running at once across every container, whatever the mode
+    private int maxConcurrency = 10;
+    private Virtual virtual = new Virtual();
+
+    /**
+     * Consumer settings used instead of the ones above in virtual-thread mode.
+     * Consumers are cheap there, so there are more of them, each holding a
+     * smaller prefetch.
+     */
+    @Data
+    public static class Virtual {
+        private int concurrentConsumers = 10;
+        private int maxConcurrentConsumers = 20;
+        private int prefetchCount = 2;
+    }
+}
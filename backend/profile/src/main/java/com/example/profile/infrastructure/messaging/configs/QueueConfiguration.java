@@ -1,7 +1,9 @@
 package com.example.profile.infrastructure.messaging.configs;
 
+import org.springframework.amqp.core.AnonymousQueue;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.amqp.core.TopicExchange;
@@ -34,6 +36,13 @@ public class QueueConfiguration {
                 .build();
     }
 
+    // Every replica needs its own copy of each invalidation, so the queue is
+    // server-named, exclusive and removed when the instance disconnects
+    @Bean
+    Queue profileCacheInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
     @Bean
     Binding profileQueueBindingFromAuth(Queue profileEventsQueue, TopicExchange topicExchange) {
         return BindingBuilder.bind(profileEventsQueue)
@@ -48,6 +57,13 @@ public class QueueConfiguration {
                 .with(Constants.LEARNING_TO_PROFILE_PATTERN);
     }
 
+    @Bean
+    Binding profileCacheInvalidationBinding(Queue profileCacheInvalidationQueue,
+            FanoutExchange cacheInvalidationExchange) {
+        return BindingBuilder.bind(profileCacheInvalidationQueue)
+                .to(cacheInvalidationExchange);
+    }
+
     @Bean
     Binding profileDlqBinding(Queue profileEventsDlq, TopicExchange deadLetterExchange) {
         return BindingBuilder.bind(profileEventsDlq)
@@ -5,6 +5,7 @@ import java.util.Map;
 
 import org.springframework.amqp.core.AcknowledgeMode;
 import org.springframework.amqp.core.ExchangeBuilder;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.TopicExchange;
 import org.springframework.amqp.rabbit.annotation.EnableRabbit;
 import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
@@ -18,18 +19,28 @@ import org.springframework.amqp.rabbit.retry.RejectAndDontRequeueRecoverer;
 import org.springframework.amqp.support.converter.DefaultJackson2JavaTypeMapper;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.aop.interceptor.ConcurrencyThrottleInterceptor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 
 import com.example.profile.infrastructure.messaging.Constants;
 import com.example.profile.infrastructure.messaging.events.EducatorProductCreatedEvent;
+import com.example.profile.infrastructure.messaging.events.EducatorRatedEvent;
+import com.example.profile.infrastructure.messaging.events.EducatorStudentEnrolledEvent;
+import com.example.profile.infrastructure.messaging.events.ProfileCacheInvalidatedEvent;
 import com.example.profile.infrastructure.messaging.events.RegistrationInitiatedEvent;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Configuration
 @EnableRabbit
 public class RabbitMQConfig {
@@ -84,58 +95,133 @@ public class RabbitMQConfig {
                 .build();
     }
 
+    @Bean
+    FanoutExchange cacheInvalidationExchange() {
+        return ExchangeBuilder.fanoutExchange(Constants.PROFILE_CACHE_EXCHANGE)
+                .durable(true)
+                .build();
+    }
+
     @Bean
     RabbitAdmin rabbitAdmin(ConnectionFactory connectionFactory) {
         return new RabbitAdmin(connectionFactory);
     }
 
+    /**
+     * Outbox events are retried by the relay from their own confirms, so the
+     * template callbacks only log and count what the broker refused.
+     */
     @Bean
-    RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory, MessageConverter messageConverter) {
+    RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory, MessageConverter messageConverter,
+            Meter meter) {
+        LongCounter nackedCounter = meter.counterBuilder("profile.publisher.nacked")
+                .setDescription("Messages nacked by the broker")
+                .build();
+        LongCounter returnedCounter = meter.counterBuilder("profile.publisher.returned")
+                .setDescription("Messages returned by the broker as unroutable")
+                .build();
+
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
         rabbitTemplate.setMessageConverter(messageConverter);
         rabbitTemplate.setExchange(exchangeName);
         rabbitTemplate.setConfirmCallback((correlationData, ack, cause) -> {
             if (!ack) {
-                // Handle nack - implement message storage and retry logic
-                System.err.println("Message was not confirmed: " + cause);
+                nackedCounter.add(1);
+                log.warn("Message {} was nacked by the broker: {}",
+                        correlationData == null ? null : correlationData.getId(), cause);
             }
         });
         rabbitTemplate.setReturnsCallback(returned -> {
-            // Handle returned messages (when message can't be delivered to queue)
-            System.err.println("Message returned: " + returned.getMessage() +
-                    ", replyCode: " + returned.getReplyCode() +
-                    ", replyText: " + returned.getReplyText() +
-                    ", exchange: " + returned.getExchange() +
-                    ", routingKey: " + returned.getRoutingKey());
+            returnedCounter.add(1);
+            log.error("Message returned by broker: replyCode={}, replyText={}, exchange={}, routingKey={}",
+                    returned.getReplyCode(), returned.getReplyText(), returned.getExchange(),
+                    returned.getRoutingKey());
         });
         rabbitTemplate.setMandatory(true);
         return rabbitTemplate;
     }
 
+    // Shared by both containers, so listeners never take more than this many connections
+    @Bean
+    ConcurrencyThrottleInterceptor listenerThrottle(ListenerProperties properties) {
+        ConcurrencyThrottleInterceptor throttle = new ConcurrencyThrottleInterceptor();
+        throttle.setConcurrencyLimit(properties.getMaxConcurrency());
+        return throttle;
+    }
+
     @Bean
     SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
             ConnectionFactory connectionFactory,
             MessageConverter messageConverter,
-            MessageRecoverer messageRecoverer) {
+            MessageRecoverer messageRecoverer,
+            ListenerProperties properties,
+            ConcurrencyThrottleInterceptor listenerThrottle) {
 
         SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
         factory.setConnectionFactory(connectionFactory);
         factory.setMessageConverter(messageConverter);
         factory.setAcknowledgeMode(AcknowledgeMode.AUTO);
         factory.setDefaultRequeueRejected(false);
-        factory.setConcurrentConsumers(3);
-        factory.setMaxConcurrentConsumers(10);
-        factory.setPrefetchCount(10);
+        int concurrent = properties.getConcurrentConsumers();
+        int max = properties.getMaxConcurrentConsumers();
+        int prefetch = properties.getPrefetchCount();
+        if (properties.isVirtualThreads()) {
+            factory.setTaskExecutor(virtualThreadExecutor("profile-listener-"));
+            concurrent = properties.getVirtual().getConcurrentConsumers();
+            max = properties.getVirtual().getMaxConcurrentConsumers();
+            prefetch = properties.getVirtual().getPrefetchCount();
+        }
+        max = Math.min(max, properties.getMaxConcurrency());
+        factory.setConcurrentConsumers(Math.min(concurrent, max));
+        factory.setMaxConcurrentConsumers(max);
+        factory.setPrefetchCount(prefetch);
 
         RetryInterceptorBuilder.StatelessRetryInterceptorBuilder retryInterceptor = RetryInterceptorBuilder.stateless()
                 .maxAttempts(3)
                 .backOffOptions(1000, 2.0, 10000)
                 .recoverer(messageRecoverer);
-        factory.setAdviceChain(retryInterceptor.build());
+        // Inside the retry advice, so a message backing off holds no slot
+        factory.setAdviceChain(retryInterceptor.build(), listenerThrottle);
 
         return factory;
     }
 
+    /**
+     * Delivers the profile queue as lists of up to {@code batchSize} raw
+     * messages, acknowledged by the listener itself. There is no retry advice:
+     * a failed batch is retried one message at a time by the listener.
+     */
+    @Bean
+    SimpleRabbitListenerContainerFactory batchRabbitListenerContainerFactory(
+            ConnectionFactory connectionFactory,
+            BatchListenerProperties properties,
+            ListenerProperties listenerProperties,
+            ConcurrencyThrottleInterceptor listenerThrottle) {
+
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        factory.setDefaultRequeueRejected(false);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(properties.getBatchSize());
+        factory.setReceiveTimeout(properties.getReceiveTimeout().toMillis());
+        factory.setConcurrentConsumers(properties.getConcurrentConsumers());
+        // The consumer needs a full batch unacknowledged before it can deliver it
+        factory.setPrefetchCount(properties.getBatchSize() * 2);
+        if (listenerProperties.isVirtualThreads()) {
+            factory.setTaskExecutor(virtualThreadExecutor("profile-batch-listener-"));
+        }
+        factory.setAdviceChain(listenerThrottle);
+        return factory;
+    }
+
+    private static SimpleAsyncTaskExecutor virtualThreadExecutor(String threadNamePrefix) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
     @Bean
     MessageConverter messageConverter(ObjectMapper objectMapper) {
         Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter(objectMapper);
@@ -143,6 +229,9 @@ public class RabbitMQConfig {
         Map<String, Class<?>> idClassMapping = new HashMap<>();
         idClassMapping.put(Constants.REGISTRATION_INITIATED, RegistrationInitiatedEvent.class);
         idClassMapping.put(Constants.EDUCATOR_PRODUCT_CREATED, EducatorProductCreatedEvent.class);
+        idClassMapping.put(Constants.EDUCATOR_STUDENT_ENROLLED, EducatorStudentEnrolledEvent.class);
+        idClassMapping.put(Constants.EDUCATOR_RATED, EducatorRatedEvent.class);
+        idClassMapping.put(Constants.PROFILE_CACHE_INVALIDATED, ProfileCacheInvalidatedEvent.class);
         typeMapper.setIdClassMapping(idClassMapping);
         typeMapper.setTrustedPackages("*");
         converter.setJavaTypeMapper(typeMapper);
@@ -0,0 +1,177 @@
+package com.example.profile.infrastructure.messaging.consumers;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.example.profile.features.educatorProfile.EducatorProfileService;
+import com.example.profile.features.educatorProfile.EducatorStatsAggregator;
+import com.example.profile.features.userProfile.UserProfileService;
+import com.example.profile.infrastructure.messaging.Constants;
+import com.example.profile.infrastructure.messaging.events.BaseEvent;
+import com.example.profile.infrastructure.messaging.events.EducatorProductCreatedEvent;
+import com.example.profile.infrastructure.messaging.events.EducatorRatedEvent;
+import com.example.profile.infrastructure.messaging.events.EducatorStudentEnrolledEvent;
+import com.example.profile.infrastructure.messaging.events.RegistrationInitiatedEvent;
+import com.example.profile.infrastructure.messaging.inbox.EventInbox;
+import com.rabbitmq.client.Channel;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Batch alternative to {@link EventConsumer}, enabled with
+ * {@code app.rabbitmq.batch-listener.enabled}. Deliveries are grouped by type
+ * so each group costs one transaction: registrations are inserted together,
+ * product flips are one set-based update, and stats deltas are staged with
+ * one insert. Each group is recorded in the inbox in its own transaction, so
+ * events already handled are acknowledged without being applied again.
+ * <p>
+ * When a group fails as a whole its messages are retried one at a time, and
+ * only the ones that fail again are dead-lettered. Everything else is
+ * acknowledged with a single multiple-ack.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.rabbitmq.batch-listener.enabled", havingValue = "true")
+public class BatchEventConsumer {
+    private final UserProfileService profileService;
+    private final EducatorProfileService educatorService;
+    private final EducatorStatsAggregator statsAggregator;
+    private final MessageConverter messageConverter;
+    private final EventInbox inbox;
+
+    @RabbitListener(queues = Constants.PROFILE_QUEUE_NAME, containerFactory = "batchRabbitListenerContainerFactory")
+    public void handle(List<Message> messages, Channel channel) throws IOException {
+        log.debug("Received batch of {} messages", messages.size());
+
+        Set<Long> rejected = new HashSet<>();
+        Batch<RegistrationInitiatedEvent> registrations = new Batch<>("registration");
+        Batch<EducatorProductCreatedEvent> products = new Batch<>("product");
+        Batch<BaseEvent> stats = new Batch<>("stats");
+        for (Message message : messages) {
+            long tag = message.getMessageProperties().getDeliveryTag();
+            try {
+                switch (messageConverter.fromMessage(message)) {
+                    case RegistrationInitiatedEvent event -> registrations.add(event, tag);
+                    case EducatorProductCreatedEvent event -> products.add(event, tag);
+                    case EducatorStudentEnrolledEvent event -> stats.add(event, tag);
+                    case EducatorRatedEvent event -> stats.add(event, tag);
+                    case Object unknown -> log.warn("Received unknown event type: {}", unknown.getClass().getName());
+                }
+            } catch (RuntimeException e) {
+                log.error("Rejecting unreadable message: {}", message.getMessageProperties().getMessageId(), e);
+                rejected.add(tag);
+            }
+        }
+
+        rejected.addAll(handle(registrations, profileService::createUserProfiles, profileService::createUserProfile));
+        rejected.addAll(handle(products, this::setEducatorsHaveProduct, event -> {
+            educatorService.setEducatorHasProduct(event.getUserId());
+            statsAggregator.recordProductCreated(UUID.fromString(event.getUserId()));
+        }));
+        rejected.addAll(handle(stats,
+                events -> statsAggregator.record(events.stream().map(BatchEventConsumer::toDelta).toList()),
+                event -> statsAggregator.record(List.of(toDelta(event)))));
+        settle(channel, messages, rejected);
+    }
+
+    /**
+     * Handles the group in one inbox transaction. When that fails as a whole
+     * the events are retried in a transaction each, and the delivery tags of
+     * the ones that fail again are returned.
+     */
+    private <E extends BaseEvent> Set<Long> handle(Batch<E> batch, Consumer<List<E>> handler, Consumer<E> single) {
+        if (batch.isEmpty()) {
+            return Set.of();
+        }
+
+        try {
+            inbox.processAll(batch.items, handler);
+            return Set.of();
+        } catch (RuntimeException e) {
+            log.warn("Failed to handle {} {} events as a batch, retrying one at a time", batch.size(), batch.name, e);
+        }
+
+        Set<Long> rejected = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            E event = batch.items.get(i);
+            try {
+                inbox.process(event, () -> single.accept(event));
+            } catch (RuntimeException e) {
+                log.error("Failed to handle {} event: {}", batch.name, event, e);
+                rejected.add(batch.tags.get(i));
+            }
+        }
+        return rejected;
+    }
+
+    private void setEducatorsHaveProduct(List<EducatorProductCreatedEvent> events) {
+        List<UUID> ids = events.stream().map(event -> UUID.fromString(event.getUserId())).toList();
+        educatorService.setEducatorsHaveProduct(new LinkedHashSet<>(ids));
+        statsAggregator.record(ids.stream().map(EducatorStatsAggregator.Delta::productCreated).toList());
+    }
+
+    private static EducatorStatsAggregator.Delta toDelta(BaseEvent event) {
+        return switch (event) {
+            case EducatorStudentEnrolledEvent enrolled ->
+                EducatorStatsAggregator.Delta.studentEnrolled(UUID.fromString(enrolled.getUserId()));
+            case EducatorRatedEvent rated ->
+                EducatorStatsAggregator.Delta.rating(UUID.fromString(rated.getUserId()), rated.getRating());
+            default -> throw new IllegalArgumentException("Not a stats event: " + event.getEventType());
+        };
+    }
+
+    // Rejected messages go to the dead-letter queue first, so the single
+    // multiple-ack that follows only covers the ones that were handled
+    private static void settle(Channel channel, List<Message> messages, Set<Long> rejected) throws IOException {
+        long lastHandled = -1;
+        for (Message message : messages) {
+            long tag = message.getMessageProperties().getDeliveryTag();
+            if (rejected.contains(tag)) {
+                channel.basicNack(tag, false, false);
+            } else {
+                lastHandled = Math.max(lastHandled, tag);
+            }
+        }
+
+        if (lastHandled >= 0) {
+            channel.basicAck(lastHandled, true);
+        }
+    }
+
+    private static final class Batch<T> {
+        private final String name;
+        private final List<T> items = new ArrayList<>();
+        private final List<Long> tags = new ArrayList<>();
+
+        private Batch(String name) {
+            this.name = name;
+        }
+
+        private void add(T item, long tag) {
+            items.add(item);
+            tags.add(tag);
+        }
+
+        private int size() {
+            return items.size();
+        }
+
+        private boolean isEmpty() {
+            return items.isEmpty();
+        }
+    }
+}
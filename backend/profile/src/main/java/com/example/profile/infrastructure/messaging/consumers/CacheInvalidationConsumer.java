@@ -0,0 +1,30 @@
+package com.example.profile.infrastructure.messaging.consumers;
+
+import java.util.UUID;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import com.example.profile.features.educatorProfile.EducatorDirectory;
+import com.example.profile.infrastructure.caching.ProfileCacheInvalidator;
+import com.example.profile.infrastructure.messaging.events.ProfileCacheInvalidatedEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidationConsumer {
+    private final ProfileCacheInvalidator invalidator;
+    private final EducatorDirectory directory;
+
+    @RabbitListener(queues = "#{profileCacheInvalidationQueue.name}")
+    public void handle(ProfileCacheInvalidatedEvent event) {
+        log.debug("Received ProfileCacheInvalidatedEvent: {}", event);
+        if (invalidator.onBroadcast(event)) {
+            // The directory snapshot on this replica is just as stale as the cache
+            directory.refresh(event.getUserIds().stream().map(UUID::fromString).toList());
+        }
+    }
+}
@@ -1,14 +1,21 @@
 package com.example.profile.infrastructure.messaging.consumers;
 
+import java.util.UUID;
+
 import org.springframework.amqp.rabbit.annotation.RabbitHandler;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import com.example.profile.features.educatorProfile.EducatorProfileService;
+import com.example.profile.features.educatorProfile.EducatorStatsAggregator;
 import com.example.profile.features.userProfile.UserProfileService;
 import com.example.profile.infrastructure.messaging.Constants;
 import com.example.profile.infrastructure.messaging.events.EducatorProductCreatedEvent;
+import com.example.profile.infrastructure.messaging.events.EducatorRatedEvent;
+import com.example.profile.infrastructure.messaging.events.EducatorStudentEnrolledEvent;
 import com.example.profile.infrastructure.messaging.events.RegistrationInitiatedEvent;
+import com.example.profile.infrastructure.messaging.inbox.EventInbox;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,21 +23,40 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.rabbitmq.batch-listener.enabled", havingValue = "false", matchIfMissing = true)
 @RabbitListener(queues = Constants.PROFILE_QUEUE_NAME)
 public class EventConsumer {
     private final UserProfileService profileService;
     private final EducatorProfileService educatorService;
+    private final EducatorStatsAggregator statsAggregator;
+    private final EventInbox inbox;
 
     @RabbitHandler
     public void handle(RegistrationInitiatedEvent event) {
         log.info("Received RegistrationInitiatedEvent: {}", event);
-        profileService.createUserProfile(event);
+        inbox.process(event, () -> profileService.createUserProfile(event));
     }
 
     @RabbitHandler
     public void handle(EducatorProductCreatedEvent event) {
         log.info("Received EducatorProductCreatedEvent: {}", event);
-        educatorService.setEducatorHasProduct(event.getUserId());
+        inbox.process(event, () -> {
+            educatorService.setEducatorHasProduct(event.getUserId());
+            statsAggregator.recordProductCreated(UUID.fromString(event.getUserId()));
+        });
+    }
+
+    @RabbitHandler
+    public void handle(EducatorStudentEnrolledEvent event) {
+        log.info("Received EducatorStudentEnrolledEvent: {}", event);
+        inbox.process(event, () -> statsAggregator.recordStudentEnrolled(UUID.fromString(event.getUserId())));
+    }
+
+    @RabbitHandler
+    public void handle(EducatorRatedEvent event) {
+        log.info("Received EducatorRatedEvent: {}", event);
+        inbox.process(event,
+                () -> statsAggregator.recordRating(UUID.fromString(event.getUserId()), event.getRating()));
     }
 
     @RabbitHandler(isDefault = true)
@@ -0,0 +1,24 @@
+package com.example.profile.infrastructure.messaging.events;
+
+import com.example.profile.infrastructure.messaging.Constants;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString(callSuper = true)
+public class EducatorRatedEvent extends BaseEvent {
+    private String userId;
+    private int rating;
+
+    public EducatorRatedEvent(String userId, int rating) {
+        super();
+        setEventType(Constants.EDUCATOR_RATED);
+        this.userId = userId;
+        this.rating = rating;
+    }
+}
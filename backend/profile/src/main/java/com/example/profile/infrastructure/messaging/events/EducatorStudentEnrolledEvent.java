@@ -0,0 +1,22 @@
+package com.example.profile.infrastructure.messaging.events;
+
+import com.example.profile.infrastructure.messaging.Constants;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString(callSuper = true)
+public class EducatorStudentEnrolledEvent extends BaseEvent {
+    private String userId;
+
+    public EducatorStudentEnrolledEvent(String userId) {
+        super();
+        setEventType(Constants.EDUCATOR_STUDENT_ENROLLED);
+        this.userId = userId;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.profile.infrastructure.messaging.events;
+
+import java.util.List;
+
+import com.example.profile.infrastructure.messaging.Constants;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString(callSuper = true)
+public class ProfileCacheInvalidatedEvent extends BaseEvent {
+    private List<String> userIds;
+    private String origin;
+
+    public ProfileCacheInvalidatedEvent(List<String> userIds, String origin) {
+        super();
+        setEventType(Constants.PROFILE_CACHE_INVALIDATED);
+        this.userIds = userIds;
+        this.origin = origin;
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.profile.infrastructure.messaging.inbox;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.example.profile.infrastructure.messaging.events.BaseEvent;
+import com.example.profile.infrastructure.persistence.BatchedPurge;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Remembers which events have been handled, keyed by event id, so messages
+ * redelivered after a retry or a consumer crash are dropped rather than
+ * applied twice. Recent ids are answered from memory; older ones from
+ * {@code processed_event}, which is purged after the configured retention.
+ * <p>
+ * {@link #process} records the event in the same transaction as its
+ * handler's writes, so both commit or neither does: a redelivery after a
+ * crash finds either the record or no trace of the first attempt, and
+ * handlers need not be idempotent. {@link #processAll} does the same for a
+ * batch with one insert.
+ */
+@Slf4j
+@Component
+public class EventInbox {
+    private static final String RECORD_SQL = """
+            insert into processed_event (event_id, event_type) values (?, ?)
+            on conflict (event_id) do nothing
+            """;
+
+    private static final String PURGE_SQL = """
+            delete from processed_event
+            where event_id in (select event_id from processed_event where processed_date < ? limit ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactions;
+    private final InboxProperties properties;
+    private final Cache<String, Boolean> recent;
+    private final LongCounter duplicatesCounter;
+
+    public EventInbox(JdbcTemplate jdbcTemplate, TransactionOperations transactions, InboxProperties properties,
+            Meter meter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactions = transactions;
+        this.properties = properties;
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(properties.getRecentMaximumSize())
+                .expireAfterWrite(properties.getRecentTtl())
+                .build();
+        this.duplicatesCounter = meter.counterBuilder("profile.inbox.duplicates")
+                .setDescription("Redelivered events dropped because they were already handled")
+                .build();
+        meter.gaugeBuilder("profile.inbox.recent_size")
+                .setDescription("Approximate number of handled event ids held in memory")
+                .ofLongs()
+                .buildWithCallback(m -> m.record(recent.estimatedSize()));
+    }
+
+    /**
+     * Runs the handler unless the event was already handled. The event is
+     * recorded first, in the transaction the handler joins: a concurrent
+     * delivery of the same event waits on that row and is dropped once this
+     * one commits. Exceptions from the handler propagate and roll the record
+     * back with everything else.
+     */
+    public void process(BaseEvent event, Runnable handler) {
+        String eventId = event.getEventId();
+        if (eventId == null) {
+            transactions.executeWithoutResult(status -> handler.run());
+            return;
+        }
+        if (recent.getIfPresent(eventId) != null) {
+            dropDuplicate(event);
+            return;
+        }
+
+        boolean handled = Boolean.TRUE.equals(transactions.execute(status -> {
+            if (jdbcTemplate.update(RECORD_SQL, eventId, event.getEventType()) == 0) {
+                return false;
+            }
+            handler.run();
+            return true;
+        }));
+        recent.put(eventId, Boolean.TRUE);
+        if (!handled) {
+            dropDuplicate(event);
+        }
+    }
+
+    /**
+     * Batch form of {@link #process}: records the events with one batched
+     * insert and hands the ones not handled before to the handler, all in one
+     * transaction. Exceptions from the handler roll back every record.
+     */
+    public <E extends BaseEvent> void processAll(List<E> events, Consumer<List<E>> handler) {
+        List<E> unseen = new ArrayList<>(events.size());
+        for (E event : events) {
+            if (event.getEventId() != null && recent.getIfPresent(event.getEventId()) != null) {
+                dropDuplicate(event);
+            } else {
+                unseen.add(event);
+            }
+        }
+        if (unseen.isEmpty()) {
+            return;
+        }
+
+        List<E> identified = unseen.stream().filter(event -> event.getEventId() != null).toList();
+        transactions.executeWithoutResult(status -> {
+            int[] recorded = identified.isEmpty()
+                    ? new int[0]
+                    : jdbcTemplate.batchUpdate(RECORD_SQL, identified.stream()
+                            .map(event -> new Object[] { event.getEventId(), event.getEventType() })
+                            .toList());
+
+            // A repeated id within the batch conflicts with its first copy
+            List<E> claimed = new ArrayList<>(unseen.size());
+            int next = 0;
+            for (E event : unseen) {
+                if (event.getEventId() != null && recorded[next++] == 0) {
+                    dropDuplicate(event);
+                } else {
+                    claimed.add(event);
+                }
+            }
+            if (!claimed.isEmpty()) {
+                handler.accept(claimed);
+            }
+        });
+        identified.forEach(event -> recent.put(event.getEventId(), Boolean.TRUE));
+    }
+
+    private void dropDuplicate(BaseEvent event) {
+        duplicatesCounter.add(1);
+        log.info("Dropping duplicate {} event: {}", event.getEventType(), event.getEventId());
+    }
+
+    @Scheduled(fixedDelayString = "${app.inbox.purge-interval:PT1H}")
+    public void purge() {
+        Timestamp before = Timestamp.from(Instant.now().minus(properties.getRetention()));
+        try {
+            BatchedPurge.run(jdbcTemplate, PURGE_SQL, before);
+        } catch (RuntimeException e) {
+            log.error("Failed to purge processed events", e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.profile.infrastructure.messaging.inbox;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.inbox")
+public class InboxProperties {
+    // Recently handled ids kept in memory, so most duplicates skip the table
+    private long recentMaximumSize = 100_000;
+    private Duration recentTtl = Duration.ofHours(1);
+    // Must outlast any redelivery, including replays from the dead-letter queue
+    private Duration retention = Duration.ofDays(7);
+    private Duration purgeInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,127 @@
+package com.example.profile.infrastructure.messaging.outbox;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.profile.infrastructure.messaging.events.BaseEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+
+/**
+ * Records events in {@code event_outbox} for {@link OutboxRelay} to publish.
+ * The insert joins the caller's transaction, so an event is sent if and only
+ * if the change it describes commits, and the caller never waits on the
+ * broker.
+ * <p>
+ * Events that only carry the latest state of something can be coalesced:
+ * they are held back for {@code app.outbox.coalesce-window}, and a later event
+ * with the same key replaces the pending row instead of adding one. The window
+ * starts with the first event, so a steady stream of edits is still published
+ * at least once per window.
+ */
+@Component
+public class EventOutbox {
+    private static final String INSERT_SQL = """
+            insert into event_outbox (event_id, event_type, exchange, routing_key, payload)
+            values (?, ?, ?, ?, ?::jsonb)
+            """;
+
+    // xmax is only set on the conflicting row, so it tells an insert from a merge
+    private static final String COALESCE_SQL = """
+            insert into event_outbox (event_id, event_type, exchange, routing_key, payload, coalesce_key,
+                next_attempt_date)
+            values (?, ?, ?, ?, ?::jsonb, ?, now() + ? * interval '1 millisecond')
+            on conflict (coalesce_key)
+                where coalesce_key is not null and sent_date is null and failed_date is null and claimed_date is null
+            do update set event_id = excluded.event_id, payload = excluded.payload
+            returning xmax <> 0 as merged
+            """;
+
+    private static final AttributeKey<String> EVENT_TYPE = AttributeKey.stringKey("event_type");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final OutboxProperties properties;
+    private final LongCounter coalesceReceivedCounter;
+    private final LongCounter coalesceMergedCounter;
+    private final AtomicLong coalesceReceived = new AtomicLong();
+    private final AtomicLong coalesceMerged = new AtomicLong();
+
+    public EventOutbox(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, OutboxProperties properties,
+            Meter meter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.coalesceReceivedCounter = meter.counterBuilder("profile.outbox.coalesce.received")
+                .setDescription("Coalescible events recorded")
+                .build();
+        this.coalesceMergedCounter = meter.counterBuilder("profile.outbox.coalesce.merged")
+                .setDescription("Coalescible events folded into an event still waiting to be sent")
+                .build();
+        meter.gaugeBuilder("profile.outbox.coalesce.ratio")
+                .setDescription("Coalescible events recorded per event published since startup")
+                .buildWithCallback(m -> {
+                    long received = coalesceReceived.get();
+                    long published = received - coalesceMerged.get();
+                    m.record(published == 0 ? 1.0 : (double) received / published);
+                });
+    }
+
+    public void add(String exchange, String routingKey, BaseEvent event) {
+        jdbcTemplate.update(INSERT_SQL, event.getEventId(), event.getEventType(), exchange, routingKey,
+                serialize(event));
+    }
+
+    /**
+     * Records the events with one batched insert.
+     */
+    public void addAll(String exchange, String routingKey, Collection<? extends BaseEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> rows = events.stream()
+                .map(event -> new Object[] { event.getEventId(), event.getEventType(), exchange, routingKey,
+                        serialize(event) })
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    /**
+     * Records the event to be sent once the coalesce window has passed,
+     * replacing any event with the same key that is still waiting and not yet
+     * claimed by the relay. Returns true when an event was replaced.
+     */
+    public boolean coalesce(String exchange, String routingKey, BaseEvent event, String key) {
+        Boolean merged = jdbcTemplate.queryForObject(COALESCE_SQL, Boolean.class, event.getEventId(),
+                event.getEventType(), exchange, routingKey, serialize(event), key,
+                properties.getCoalesceWindow().toMillis());
+
+        Attributes attributes = Attributes.of(EVENT_TYPE, event.getEventType());
+        coalesceReceived.incrementAndGet();
+        coalesceReceivedCounter.add(1, attributes);
+        if (Boolean.TRUE.equals(merged)) {
+            coalesceMerged.incrementAndGet();
+            coalesceMergedCounter.add(1, attributes);
+            return true;
+        }
+        return false;
+    }
+
+    private String serialize(BaseEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize event: " + event.getEventId(), e);
+        }
+    }
+}
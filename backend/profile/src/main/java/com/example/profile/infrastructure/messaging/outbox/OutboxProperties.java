@@ -0,0 +1,29 @@
+package com.example.profile.infrastructure.messaging.outbox;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+    private Duration pollInterval = Duration.ofSeconds(1);
+    private int batchSize = 100;
+    private Duration confirmTimeout = Duration.ofSeconds(5);
+    // How long a claimed batch is reserved for the relay that claimed it; must
+    // cover sending it and the confirm timeout. Rows of a relay that died
+    // mid-batch are claimed again once it runs out
+    private Duration claimLease = Duration.ofSeconds(30);
+    private int maxAttempts = 10;
+    private Duration initialBackoff = Duration.ofSeconds(1);
+    private Duration maxBackoff = Duration.ofMinutes(5);
+    // How long coalescible events wait for a newer event with the same key
+    private Duration coalesceWindow = Duration.ofSeconds(2);
+    // Sent rows are kept this long for inspection, then purged
+    private Duration retention = Duration.ofDays(7);
+    private Duration purgeInterval = Duration.ofHours(1);
+}
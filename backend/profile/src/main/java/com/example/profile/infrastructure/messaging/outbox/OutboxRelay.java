@@ -0,0 +1,285 @@
+package com.example.profile.infrastructure.messaging.outbox;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.example.profile.infrastructure.persistence.BatchedPurge;
+
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publishes {@code event_outbox} rows to RabbitMQ in id order. Each batch is
+ * claimed with {@code skip locked} and leased by pushing its next attempt past
+ * {@code app.outbox.claim-lease}; the claim commits before anything is sent,
+ * so no row lock is held while the broker confirms and writers of the same
+ * rows, such as coalescing upserts, never wait on the relay. Replicas relay
+ * disjoint batches, and the whole batch is sent before any confirm is awaited,
+ * so a batch costs one broker round trip rather than one per event.
+ * <p>
+ * Acked rows are marked sent. Nacked, returned and unconfirmed rows are
+ * retried with exponential backoff and marked failed after the configured
+ * number of attempts. A coalesced row that a newer row with the same key has
+ * replaced since it was claimed is settled without being sent. Delivery is at
+ * least once: a crash before the result commits sends the batch again once the
+ * lease runs out, and consumers can deduplicate on the message id, which is
+ * the event id.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+    private static final String CLAIM_SQL = """
+            update event_outbox o set
+                claimed_date = coalesce(o.claimed_date, now()),
+                next_attempt_date = now() + ? * interval '1 millisecond'
+            from (
+                select id from event_outbox
+                where sent_date is null and failed_date is null and next_attempt_date <= now()
+                order by id
+                limit ?
+                for update skip locked
+            ) c
+            where o.id = c.id
+            returning o.id, o.event_id, o.event_type, o.exchange, o.routing_key, o.payload::text as payload,
+                o.attempts, o.coalesce_key is not null and exists (
+                    select 1 from event_outbox n where n.coalesce_key = o.coalesce_key and n.id > o.id
+                ) as superseded
+            """;
+
+    private static final String MARK_SENT_SQL = """
+            update event_outbox set sent_date = now(), attempts = attempts + 1
+            where id = ?
+            """;
+
+    private static final String MARK_SUPERSEDED_SQL = """
+            update event_outbox set sent_date = now()
+            where id = ?
+            """;
+
+    private static final String MARK_RETRY_SQL = """
+            update event_outbox set
+                attempts = attempts + 1,
+                last_error = ?,
+                next_attempt_date = now() + ? * interval '1 millisecond',
+                failed_date = case when attempts + 1 >= ? then now() end
+            where id = ?
+            """;
+
+    private static final String PURGE_SQL = """
+            delete from event_outbox
+            where id in (select id from event_outbox where sent_date < ? limit ?)
+            """;
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactions;
+    private final RabbitTemplate rabbitTemplate;
+    private final OutboxProperties properties;
+    private final LongCounter publishedCounter;
+    private final LongCounter retriedCounter;
+    private final LongCounter failedCounter;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate, TransactionOperations transactions, RabbitTemplate rabbitTemplate,
+            OutboxProperties properties, Meter meter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactions = transactions;
+        this.rabbitTemplate = rabbitTemplate;
+        this.properties = properties;
+        this.publishedCounter = meter.counterBuilder("profile.outbox.published")
+                .setDescription("Outbox events confirmed by the broker")
+                .build();
+        this.retriedCounter = meter.counterBuilder("profile.outbox.retried")
+                .setDescription("Outbox events scheduled for another attempt")
+                .build();
+        this.failedCounter = meter.counterBuilder("profile.outbox.failed")
+                .setDescription("Outbox events given up on after the last attempt")
+                .build();
+    }
+
+    /**
+     * Relays batches until the outbox is drained or a batch has a failure,
+     * which usually means the broker is unavailable.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:PT1S}")
+    public void relay() {
+        try {
+            while (relayBatch()) {
+                // Keep draining
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to relay outbox events", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.purge-interval:PT1H}")
+    public void purge() {
+        Timestamp before = Timestamp.from(Instant.now().minus(properties.getRetention()));
+        try {
+            BatchedPurge.run(jdbcTemplate, PURGE_SQL, before);
+        } catch (RuntimeException e) {
+            log.error("Failed to purge sent outbox events", e);
+        }
+    }
+
+    /**
+     * Returns true when a full batch was claimed and every event in it was
+     * confirmed, i.e. when more events are likely waiting.
+     */
+    boolean relayBatch() {
+        List<Row> claimed = transactions.execute(status -> jdbcTemplate.query(CLAIM_SQL, OutboxRelay::toRow,
+                properties.getClaimLease().toMillis(), properties.getBatchSize()));
+        if (claimed == null || claimed.isEmpty()) {
+            return false;
+        }
+
+        // The update returns rows in no particular order
+        List<Row> rows = claimed.stream().sorted(Comparator.comparingLong(Row::id)).toList();
+        List<Object[]> superseded = new ArrayList<>();
+        List<Row> pending = new ArrayList<>(rows.size());
+        List<CorrelationData> confirms = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (row.superseded()) {
+                superseded.add(new Object[] { row.id() });
+                continue;
+            }
+            pending.add(row);
+            confirms.add(send(row));
+        }
+
+        long deadline = System.nanoTime() + properties.getConfirmTimeout().toNanos();
+        List<Object[]> sent = new ArrayList<>(pending.size());
+        List<Object[]> retries = new ArrayList<>();
+        int failed = 0;
+        for (int i = 0; i < pending.size(); i++) {
+            Row row = pending.get(i);
+            String error = await(confirms.get(i), deadline);
+            if (error == null) {
+                sent.add(new Object[] { row.id() });
+                continue;
+            }
+
+            if (row.attempts() + 1 >= properties.getMaxAttempts()) {
+                failed++;
+                log.error("Giving up on outbox event {} after {} attempts: {}", row.eventId(),
+                        row.attempts() + 1, error);
+            } else {
+                log.warn("Failed to publish outbox event {}, will retry: {}", row.eventId(), error);
+            }
+            retries.add(new Object[] { truncate(error), backoff(row.attempts()).toMillis(),
+                    properties.getMaxAttempts(), row.id() });
+        }
+
+        transactions.executeWithoutResult(status -> {
+            if (!sent.isEmpty()) {
+                jdbcTemplate.batchUpdate(MARK_SENT_SQL, sent);
+            }
+            if (!superseded.isEmpty()) {
+                jdbcTemplate.batchUpdate(MARK_SUPERSEDED_SQL, superseded);
+            }
+            if (!retries.isEmpty()) {
+                jdbcTemplate.batchUpdate(MARK_RETRY_SQL, retries);
+            }
+        });
+
+        publishedCounter.add(sent.size());
+        retriedCounter.add(retries.size() - failed);
+        failedCounter.add(failed);
+        return retries.isEmpty() && rows.size() == properties.getBatchSize();
+    }
+
+    private CorrelationData send(Row row) {
+        CorrelationData correlation = new CorrelationData(row.eventId());
+        try {
+            rabbitTemplate.send(row.exchange(), row.routingKey(), toMessage(row), correlation);
+        } catch (RuntimeException e) {
+            correlation.getFuture().completeExceptionally(e);
+        }
+        return correlation;
+    }
+
+    /**
+     * Waits for the confirm until the shared batch deadline; returns null
+     * when the broker accepted and routed the event, otherwise the reason.
+     */
+    private static String await(CorrelationData correlation, long deadline) {
+        try {
+            CorrelationData.Confirm confirm = correlation.getFuture()
+                    .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (!confirm.isAck()) {
+                return "Nacked by broker: " + confirm.getReason();
+            }
+            // A return always arrives before the ack of the same message
+            ReturnedMessage returned = correlation.getReturned();
+            if (returned != null) {
+                return "Returned by broker: " + returned.getReplyText();
+            }
+            return null;
+        } catch (TimeoutException e) {
+            return "Timed out waiting for broker confirm";
+        } catch (ExecutionException e) {
+            return "Failed to send: " + e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "Interrupted waiting for broker confirm";
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts, 20));
+        return backoff.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : backoff;
+    }
+
+    private static Message toMessage(Row row) {
+        return MessageBuilder.withBody(row.payload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setMessageId(row.eventId())
+                .setHeader("__TypeId__", row.eventType())
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .build();
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private static Row toRow(ResultSet rs, int rowNum) throws SQLException {
+        return new Row(
+                rs.getLong("id"),
+                rs.getString("event_id"),
+                rs.getString("event_type"),
+                rs.getString("exchange"),
+                rs.getString("routing_key"),
+                rs.getString("payload"),
+                rs.getInt("attempts"),
+                rs.getBoolean("superseded"));
+    }
+
+    record Row(long id, String eventId, String eventType, String exchange, String routingKey, String payload,
+            int attempts, boolean superseded) {
+    }
+}
@@ -1,10 +1,9 @@
 package com.example.profile.infrastructure.messaging.publishers;
 
-import java.util.concurrent.TimeUnit;
+import java.util.List;
 
 import org.springframework.amqp.core.MessagePostProcessor;
 import org.springframework.amqp.core.MessageProperties;
-import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
 
@@ -12,50 +11,70 @@ import com.example.profile.infrastructure.messaging.Constants;
 import com.example.profile.infrastructure.messaging.events.BaseEvent;
 import com.example.profile.infrastructure.messaging.events.EducatorCreatedEvent;
 import com.example.profile.infrastructure.messaging.events.EducatorProfileUpdatedEvent;
+import com.example.profile.infrastructure.messaging.events.ProfileCacheInvalidatedEvent;
 import com.example.profile.infrastructure.messaging.events.RegistrationCompletedEvent;
+import com.example.profile.infrastructure.messaging.outbox.EventOutbox;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Integration events go through the transactional outbox and are published by
+ * the relay once the calling transaction commits; callers never wait on the
+ * broker. Cache invalidations are sent directly and not confirmed, since a
+ * lost one only leaves other replicas stale until the cache TTL; the broadcast
+ * of inserted ids, which other replicas' id filters depend on, goes through the
+ * outbox instead.
+ */
 @Slf4j
 @Service
 @AllArgsConstructor
 public class EventPublisher {
     private final RabbitTemplate rabbitTemplate;
+    private final EventOutbox outbox;
 
     public void publishEvent(String routingKey, BaseEvent event) {
-        try {
-            CorrelationData correlationData = new CorrelationData(event.getEventId());
-            MessagePostProcessor processor = message -> {
-                MessageProperties props = message.getMessageProperties();
-                props.setHeader("__TypeId__", event.getEventType());
-                props.setContentType(MessageProperties.CONTENT_TYPE_JSON);
-                props.setContentEncoding("UTF-8");
-                return message;
-            };
-
-            rabbitTemplate.convertAndSend(routingKey, event, processor, correlationData);
-
-            boolean confirmed = correlationData.getFuture().get(5, TimeUnit.SECONDS).isAck();
-            if (!confirmed) {
-                throw new IllegalStateException("Message not confirmed by broker");
-            }
-        } catch (Exception e) {
-            log.error("Failed to publish event: {}", event.getEventId(), e);
-            // TODO: Consider storing failed messages for retry
-            throw new RuntimeException("Failed to publish message", e);
-        }
+        publishEvent(rabbitTemplate.getExchange(), routingKey, event);
+    }
+
+    public void publishEvent(String exchange, String routingKey, BaseEvent event) {
+        outbox.add(exchange, routingKey, event);
     }
 
     public void publishRegistrationCompleted(RegistrationCompletedEvent event) {
         publishEvent(Constants.REGISTRATION_COMPLETED_KEY, event);
     }
 
+    public void publishRegistrationsCompleted(List<RegistrationCompletedEvent> events) {
+        outbox.addAll(rabbitTemplate.getExchange(), Constants.REGISTRATION_COMPLETED_KEY, events);
+    }
+
     public void publishEducatorCreated(EducatorCreatedEvent event) {
         publishEvent(Constants.EDUCATOR_CREATED_KEY, event);
     }
 
+    /**
+     * Updates only carry the educator's latest state, so a burst of them for
+     * the same user is coalesced into one event.
+     */
     public void publishEducatorProfileUpdatedEvent(EducatorProfileUpdatedEvent event) {
-        publishEvent(Constants.EDUCATOR_UPDATED_KEY, event);
+        outbox.coalesce(rabbitTemplate.getExchange(), Constants.EDUCATOR_UPDATED_KEY, event,
+                event.getEventType() + ":" + event.getUserId());
+    }
+
+    public void publishProfilesInserted(ProfileCacheInvalidatedEvent event) {
+        publishEvent(Constants.PROFILE_CACHE_EXCHANGE, "", event);
+    }
+
+    public void publishProfileCacheInvalidated(ProfileCacheInvalidatedEvent event) {
+        MessagePostProcessor processor = message -> {
+            MessageProperties props = message.getMessageProperties();
+            props.setHeader("__TypeId__", event.getEventType());
+            props.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+            props.setContentEncoding("UTF-8");
+            return message;
+        };
+
+        rabbitTemplate.convertAndSend(Constants.PROFILE_CACHE_EXCHANGE, "", event, processor);
     }
 }
@@ -0,0 +1,25 @@
+package com.example.profile.infrastructure.persistence;
+
+import java.sql.Timestamp;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Deletes rows older than a cutoff a batch at a time, each in its own
+ * statement, so a large backlog never holds row locks or bloats a single
+ * transaction. The statement takes the cutoff and the batch size, in that
+ * order.
+ */
+public final class BatchedPurge {
+    private static final int BATCH_SIZE = 1000;
+
+    private BatchedPurge() {
+    }
+
+    public static void run(JdbcTemplate jdbcTemplate, String sql, Timestamp before) {
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(sql, before, BATCH_SIZE);
+        } while (deleted == BATCH_SIZE);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.profile.infrastructure.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.profile.infrastructure.identity.CurrentUser;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.opentelemetry.api.metrics.Meter;
+
+@Configuration
+public class DataSourceConfig {
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    @Bean
+    ReplicaRoutingDataSource routingDataSource(DataSourceProperties properties, ReplicaProperties replicaProperties,
+            CurrentUser currentUser, Meter meter, Environment environment) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        bindHikari(binder, primary);
+        primary.setPoolName("primary");
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : replicaProperties.getUrls()) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(url)
+                    .username(replicaProperties.getUsername() != null
+                            ? replicaProperties.getUsername()
+                            : properties.determineUsername())
+                    .password(replicaProperties.getPassword() != null
+                            ? replicaProperties.getPassword()
+                            : properties.determinePassword())
+                    .build();
+            bindHikari(binder, replica);
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+
+        return new ReplicaRoutingDataSource(primary, replicas, replicaProperties, currentUser, meter);
+    }
+
+    // Boot binds spring.datasource.hikari.* only onto a pool it creates itself,
+    // so pool size, timeouts and the rest are applied here, to every pool
+    private static void bindHikari(Binder binder, HikariDataSource pool) {
+        binder.bind(HIKARI_PREFIX, Bindable.ofInstance(pool));
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        // Defers the physical connection to the first statement, by which
+        // point the transaction's read-only flag has been set
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    ReplicaRead replicaRead(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return new ReplicaRead(template);
+    }
+}
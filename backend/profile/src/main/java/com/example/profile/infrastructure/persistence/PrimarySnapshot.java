@@ -0,0 +1,22 @@
+package com.example.profile.infrastructure.persistence;
+
+import java.util.function.Supplier;
+
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Runs a group of reads in one repeatable-read transaction on the primary,
+ * so values read together, such as a body and its version, describe the
+ * same committed state and are never older than the latest commit.
+ */
+public class PrimarySnapshot {
+    private final TransactionOperations transactions;
+
+    public PrimarySnapshot(TransactionOperations transactions) {
+        this.transactions = transactions;
+    }
+
+    public <T> T read(Supplier<T> reads) {
+        return transactions.execute(status -> reads.get());
+    }
+}
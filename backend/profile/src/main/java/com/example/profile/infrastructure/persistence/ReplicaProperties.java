@@ -0,0 +1,22 @@
+package com.example.profile.infrastructure.persistence;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.datasource.replicas")
+public class ReplicaProperties {
+    private List<String> urls = new ArrayList<>();
+    private String username;
+    private String password;
+    private Duration healthCheckTimeout = Duration.ofSeconds(2);
+    private Duration maxLag;
+    private Duration readYourWritesWindow = Duration.ZERO;
+}
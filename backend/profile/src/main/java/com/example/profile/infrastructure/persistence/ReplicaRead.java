@@ -0,0 +1,22 @@
+package com.example.profile.infrastructure.persistence;
+
+import java.util.function.Supplier;
+
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Runs a group of reads in one read-only transaction, which the routing data
+ * source sends to a replica. For reads usually answered from memory, so only
+ * the database fallback opens a transaction.
+ */
+public class ReplicaRead {
+    private final TransactionOperations transactions;
+
+    public ReplicaRead(TransactionOperations transactions) {
+        this.transactions = transactions;
+    }
+
+    public <T> T read(Supplier<T> reads) {
+        return transactions.execute(status -> reads.get());
+    }
+}
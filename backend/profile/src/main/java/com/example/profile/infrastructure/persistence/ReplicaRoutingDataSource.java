@@ -0,0 +1,223 @@
+package com.example.profile.infrastructure.persistence;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.profile.infrastructure.identity.CurrentUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends connections for read-only transactions declared by application code
+ * to a healthy replica, and everything else to the primary. Spring Data's own
+ * read-only transactions around bare repository calls stay on the primary, as
+ * do {@link #PRIMARY_READ} transactions, so read-modify-write flows and cache
+ * loads never see replica lag.
+ * <p>
+ * Must sit behind a {@code LazyConnectionDataSourceProxy}: the transaction's
+ * read-only flag is only known once the transaction has begun.
+ * <p>
+ * When a read-your-writes window is configured, an authenticated user's
+ * read-only transactions go to the primary for that long after any of their
+ * read-write transactions. The window is tracked per instance.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    /** Name of read-only transactions that must see the latest commit. */
+    public static final String PRIMARY_READ = "primary-read";
+
+    private static final String REPOSITORY_TRANSACTION_PREFIX = "org.springframework.data.";
+    private static final AttributeKey<String> TARGET = AttributeKey.stringKey("target");
+    private static final Attributes PRIMARY = Attributes.of(TARGET, "primary");
+    private static final Attributes REPLICA = Attributes.of(TARGET, "replica");
+
+    // Lag is zero while the replica has replayed everything it received,
+    // otherwise the age of the last replayed transaction
+    private static final String LAG_SQL = """
+            select case
+                when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0)
+            end
+            """;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReplicaProperties properties;
+    private final CurrentUser currentUser;
+    private final Cache<UUID, Boolean> recentWriters;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongCounter connectionsCounter;
+    private final LongCounter failoverCounter;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, ReplicaProperties properties,
+            CurrentUser currentUser, Meter meter) {
+        this.primary = primary;
+        this.replicas = IntStream.range(0, replicas.size())
+                .mapToObj(i -> new Replica(i, replicas.get(i)))
+                .toList();
+        this.properties = properties;
+        this.currentUser = currentUser;
+        this.recentWriters = properties.getReadYourWritesWindow().isPositive()
+                ? Caffeine.newBuilder().expireAfterWrite(properties.getReadYourWritesWindow()).build()
+                : null;
+        this.connectionsCounter = meter.counterBuilder("profile.datasource.connections")
+                .setDescription("Connections handed out, by target pool")
+                .build();
+        this.failoverCounter = meter.counterBuilder("profile.datasource.replica_failovers")
+                .setDescription("Read-only connections sent to the primary because no replica was usable")
+                .build();
+        meter.gaugeBuilder("profile.datasource.healthy_replicas")
+                .setDescription("Replicas currently passing health checks")
+                .ofLongs()
+                .buildWithCallback(m -> m.record(this.replicas.stream().filter(r -> r.healthy).count()));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.health-check-interval:PT5S}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy = isHealthy(replica);
+            if (healthy != replica.healthy) {
+                log.info("Replica {} is now {}", replica.index, healthy ? "healthy" : "unhealthy");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private Connection connect(Connector connector) throws SQLException {
+        if (!routeToReplica()) {
+            connectionsCounter.add(1, PRIMARY);
+            return connector.connect(primary);
+        }
+
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = nextHealthyReplica();
+            if (replica == null) {
+                break;
+            }
+            try {
+                Connection connection = connector.connect(replica.dataSource);
+                connectionsCounter.add(1, REPLICA);
+                return connection;
+            } catch (SQLException e) {
+                replica.healthy = false;
+                log.warn("Replica {} is unavailable, marking it unhealthy", replica.index, e);
+            }
+        }
+
+        failoverCounter.add(1);
+        connectionsCounter.add(1, PRIMARY);
+        return connector.connect(primary);
+    }
+
+    private boolean routeToReplica() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return false;
+        }
+
+        Optional<UUID> userId = recentWriters == null ? Optional.empty() : currentUser.findUserId();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            userId.ifPresent(id -> recentWriters.put(id, Boolean.TRUE));
+            return false;
+        }
+
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (replicas.isEmpty() || PRIMARY_READ.equals(name)
+                || (name != null && name.startsWith(REPOSITORY_TRANSACTION_PREFIX))) {
+            return false;
+        }
+
+        return userId.map(id -> recentWriters.getIfPresent(id) == null).orElse(true);
+    }
+
+    private Replica nextHealthyReplica() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private boolean isHealthy(Replica replica) {
+        int timeoutSeconds = (int) Math.max(1, properties.getHealthCheckTimeout().toSeconds());
+        try (Connection connection = replica.dataSource.getConnection()) {
+            if (!connection.isValid(timeoutSeconds)) {
+                return false;
+            }
+            if (properties.getMaxLag() == null) {
+                return true;
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(timeoutSeconds);
+                try (ResultSet rs = statement.executeQuery(LAG_SQL)) {
+                    double lagSeconds = rs.next() ? rs.getDouble(1) : Double.MAX_VALUE;
+                    return lagSeconds * 1000 <= properties.getMaxLag().toMillis();
+                }
+            }
+        } catch (SQLException e) {
+            log.debug("Health check failed for replica {}", replica.index, e);
+            return false;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Connector {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+        private final int index;
+        private final DataSource dataSource;
+        // Starts unhealthy; the first scheduled check admits it
+        private volatile boolean healthy;
+
+        private Replica(int index, DataSource dataSource) {
+            this.index = index;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.profile.infrastructure.web;
+
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.validation.constraints.NotEmpty;
+
+public record LookupRequest(@NotEmpty List<UUID> ids) {
+}
@@ -0,0 +1,54 @@
+package com.example.profile.infrastructure.web;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+import com.example.profile.exceptions.BadRequestException;
+import com.example.profile.exceptions.ErrorCodes;
+
+/**
+ * Result of a batched lookup: found items keyed by id in request order, and
+ * the requested ids that did not resolve to anything.
+ */
+public record LookupResult<T>(Map<UUID, T> items, List<UUID> missing) {
+    public static final int MAX_IDS = 100;
+
+    /**
+     * De-duplicates the requested ids, keeping their order, and rejects batches
+     * larger than {@link #MAX_IDS}.
+     */
+    public static Set<UUID> requireIds(Collection<UUID> ids) {
+        Set<UUID> distinct = new LinkedHashSet<>(ids == null ? List.of() : ids);
+        distinct.remove(null);
+        if (distinct.size() > MAX_IDS) {
+            throw new BadRequestException("At most " + MAX_IDS + " ids can be looked up at once",
+                    ErrorCodes.TOO_MANY_IDS);
+        }
+        return distinct;
+    }
+
+    public static <T> LookupResult<T> of(Set<UUID> ids, Collection<T> found, Function<T, UUID> idOf) {
+        Map<UUID, T> byId = new HashMap<>();
+        found.forEach(item -> byId.put(idOf.apply(item), item));
+
+        Map<UUID, T> items = new LinkedHashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : ids) {
+            T item = byId.get(id);
+            if (item != null) {
+                items.put(id, item);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new LookupResult<>(items, missing);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.profile.infrastructure.web;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.function.Supplier;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Validator for a read model, taken from the version of the row the resource's
+ * PATCH edits and the latest modification timestamp of every row it is built
+ * from. Read in the same snapshot as the body and cached with it as a
+ * {@link Versioned}, so a conditional GET for a cached resource needs no query.
+ * The ETag leads with the row version, so a client can send it back in
+ * {@code If-Match} (see {@link RowVersion#fromIfMatch}).
+ */
+public record ResourceVersion(long rowVersion, Instant lastModified) {
+    // Clients must revalidate, but may keep the body and reuse it on 304
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    /**
+     * Projection constructor: takes the newest of the given timestamps, any of
+     * which may be null for optional joined rows.
+     */
+    public ResourceVersion(long rowVersion, LocalDateTime first, LocalDateTime second, LocalDateTime third) {
+        this(rowVersion, latest(first, second, third));
+    }
+
+    // Strong: the rows at this version and timestamp determine the body
+    public String etag() {
+        return "\"" + rowVersion + RowVersion.SEPARATOR
+                + Long.toHexString(ChronoUnit.MICROS.between(Instant.EPOCH, lastModified)) + "\"";
+    }
+
+    public <T> ResponseEntity<T> respond(WebRequest request, Supplier<T> body) {
+        if (request.checkNotModified(etag(), lastModified.toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CACHE_CONTROL).build();
+        }
+
+        return ResponseEntity.ok().cacheControl(CACHE_CONTROL).body(body.get());
+    }
+
+    private static Instant latest(LocalDateTime... timestamps) {
+        LocalDateTime latest = LocalDateTime.MIN;
+        for (LocalDateTime timestamp : timestamps) {
+            if (timestamp != null && timestamp.isAfter(latest)) {
+                latest = timestamp;
+            }
+        }
+        return latest == LocalDateTime.MIN ? Instant.EPOCH : latest.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
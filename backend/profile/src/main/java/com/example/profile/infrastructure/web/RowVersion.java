@@ -0,0 +1,67 @@
+package com.example.profile.infrastructure.web;
+
+import java.util.Optional;
+
+import org.springframework.http.ResponseEntity;
+
+import com.example.profile.exceptions.BadRequestException;
+import com.example.profile.exceptions.ErrorCodes;
+import com.example.profile.exceptions.NotFoundException;
+import com.example.profile.exceptions.PreconditionFailedException;
+
+/**
+ * Version of a single editable row, exchanged as a strong ETag: PATCH
+ * responses carry the version written, GET responses carry it as the first
+ * part of their {@link ResourceVersion} ETag, and a client sends either back
+ * in {@code If-Match} so its next PATCH only applies if nobody changed the row
+ * in between.
+ */
+public record RowVersion(long value) {
+    static final char SEPARATOR = '-';
+
+    public String etag() {
+        return "\"" + value + "\"";
+    }
+
+    public ResponseEntity<Void> respond() {
+        return ResponseEntity.noContent().eTag(etag()).build();
+    }
+
+    /**
+     * Returns the version required by an {@code If-Match} header, or
+     * {@code null} when the header is absent or {@code *}. For the ETag of a
+     * GET only the row version is checked; the timestamp after it also covers
+     * joined rows a PATCH does not write.
+     */
+    public static Long fromIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String etag = ifMatch.trim();
+        if (etag.length() < 3 || !etag.startsWith("\"") || !etag.endsWith("\"")) {
+            throw new BadRequestException("If-Match must be a single strong ETag", ErrorCodes.INVALID_VERSION);
+        }
+        String value = etag.substring(1, etag.length() - 1);
+        int separator = value.indexOf(SEPARATOR);
+        try {
+            return Long.parseLong(separator < 0 ? value : value.substring(0, separator));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("If-Match does not hold a profile version", ErrorCodes.INVALID_VERSION);
+        }
+    }
+
+    /**
+     * Resolves a PATCH whose update wrote nothing, given the row's current
+     * version: the row is missing, has moved past the expected version, or
+     * already held every supplied value.
+     */
+    public static RowVersion unchanged(Optional<Long> current, Long expected, String notFoundCode) {
+        long version = current.orElseThrow(() -> new NotFoundException("Profile not found", notFoundCode));
+        if (expected != null && expected != version) {
+            throw new PreconditionFailedException("Profile was changed by another request",
+                    ErrorCodes.VERSION_MISMATCH);
+        }
+        return new RowVersion(version);
+    }
+}
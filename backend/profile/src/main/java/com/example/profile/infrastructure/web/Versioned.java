@@ -0,0 +1,16 @@
+package com.example.profile.infrastructure.web;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * A read model together with the {@link ResourceVersion} read in the same
+ * snapshot, so the ETag and Last-Modified sent always describe the body they
+ * validate. Cached as one value, which lets a conditional GET for a cached
+ * resource be answered without a query.
+ */
+public record Versioned<T>(ResourceVersion version, T body) {
+    public ResponseEntity<T> respond(WebRequest request) {
+        return version.respond(request, () -> body);
+    }
+}
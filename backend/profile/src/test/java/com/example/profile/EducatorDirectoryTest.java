@@ -0,0 +1,148 @@
+package com.example.profile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.profile.features.educatorProfile.EducatorCursor;
+import com.example.profile.features.educatorProfile.EducatorDirectory;
+import com.example.profile.features.educatorProfile.EducatorProfileMapper;
+import com.example.profile.features.educatorProfile.EducatorProfileRepository;
+import com.example.profile.features.educatorProfile.contracts.CursorPagedResult;
+import com.example.profile.features.educatorProfile.contracts.EducatorSummaryResponse;
+import com.example.profile.features.educatorProfile.contracts.PagedResult;
+import com.example.profile.features.educatorProfile.entities.EducatorVerificationStatus;
+import com.example.profile.features.educatorProfile.projections.EducatorSummaryView;
+
+import io.opentelemetry.api.OpenTelemetry;
+
+@ExtendWith(MockitoExtension.class)
+class EducatorDirectoryTest {
+    @Mock
+    private EducatorProfileRepository repository;
+
+    private EducatorDirectory directory;
+
+    @BeforeEach
+    void setUp() {
+        directory = new EducatorDirectory(new EducatorProfileMapper(), repository, OpenTelemetry.noop().getMeter("test"));
+        ReflectionTestUtils.setField(directory, "enabled", true);
+    }
+
+    @Test
+    void isReady_ShouldBeFalse_BeforeRebuild() {
+        assertFalse(directory.isReady());
+    }
+
+    @Test
+    void getPage_ShouldServeSortedSlices_AfterRebuild() {
+        EducatorSummaryView older = educator(true, LocalDateTime.of(2025, 1, 1, 0, 0));
+        EducatorSummaryView newer = educator(true, LocalDateTime.of(2025, 1, 2, 0, 0));
+        EducatorSummaryView noProduct = educator(false, LocalDateTime.of(2025, 1, 3, 0, 0));
+
+        when(repository.findSummariesByStatus(any(), any(Limit.class))).thenReturn(List.of(noProduct, older, newer));
+
+        directory.rebuild();
+        PagedResult<EducatorSummaryResponse> page = directory.getPage(1, 2);
+
+        assertTrue(directory.isReady());
+        assertEquals(3, page.getTotalItems());
+        assertEquals(2, page.getTotalPages());
+        assertEquals(List.of(newer.id(), older.id()), page.getItems().stream().map(i -> i.id()).toList());
+        assertEquals(noProduct.id(), directory.getPage(2, 2).getItems().getFirst().id());
+    }
+
+    @Test
+    void getPageAfter_ShouldContinueFromCursor() {
+        EducatorSummaryView first = educator(true, LocalDateTime.of(2025, 1, 2, 0, 0));
+        EducatorSummaryView second = educator(true, LocalDateTime.of(2025, 1, 1, 0, 0));
+
+        when(repository.findSummariesByStatus(any(), any(Limit.class))).thenReturn(List.of(first, second));
+
+        directory.rebuild();
+        CursorPagedResult<EducatorSummaryResponse> page = directory.getPageAfter(null, 1);
+        CursorPagedResult<EducatorSummaryResponse> next = directory
+                .getPageAfter(EducatorCursor.decode(page.getNextCursor()), 1);
+
+        assertEquals(first.id(), page.getItems().getFirst().id());
+        assertEquals(second.id(), next.getItems().getFirst().id());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void refresh_ShouldReplaceAndRemoveEntries() {
+        EducatorSummaryView existing = educator(false, LocalDateTime.of(2025, 1, 1, 0, 0));
+        EducatorSummaryView created = educator(false, LocalDateTime.of(2025, 1, 2, 0, 0));
+
+        when(repository.findSummariesByStatus(any(), any(Limit.class))).thenReturn(List.of(existing));
+        directory.rebuild();
+
+        when(repository.findSummariesByIds(List.of(created.id()), EducatorVerificationStatus.APPROVED))
+                .thenReturn(List.of(created));
+        directory.refresh(created.id());
+        assertEquals(existing.id(), directory.getPage(1, 20).getItems().getFirst().id());
+        directory.applyPending();
+        assertEquals(created.id(), directory.getPage(1, 20).getItems().getFirst().id());
+
+        // A deleted educator no longer matches the approved summary query
+        when(repository.findSummariesByIds(List.of(existing.id()), EducatorVerificationStatus.APPROVED))
+                .thenReturn(List.of());
+        directory.refresh(existing.id());
+        directory.applyPending();
+        assertEquals(1, directory.getPage(1, 20).getTotalItems());
+    }
+
+    @Test
+    void applyPending_ShouldPublishOneSnapshot_ForQueuedChanges() {
+        EducatorSummaryView existing = educator(false, LocalDateTime.of(2025, 1, 1, 0, 0));
+        EducatorSummaryView first = educator(true, LocalDateTime.of(2025, 1, 2, 0, 0));
+        EducatorSummaryView second = educator(false, LocalDateTime.of(2025, 1, 3, 0, 0));
+
+        when(repository.findSummariesByStatus(any(), any(Limit.class))).thenReturn(List.of(existing));
+        directory.rebuild();
+        long version = directory.getVersion();
+
+        when(repository.findSummariesByIds(List.of(first.id()), EducatorVerificationStatus.APPROVED))
+                .thenReturn(List.of(first));
+        when(repository.findSummariesByIds(List.of(second.id()), EducatorVerificationStatus.APPROVED))
+                .thenReturn(List.of(second));
+        directory.refresh(first.id());
+        directory.refresh(second.id());
+        directory.applyPending();
+
+        assertEquals(version + 1, directory.getVersion());
+        assertEquals(List.of(first.id(), second.id(), existing.id()),
+                directory.getPage(1, 20).getItems().stream().map(i -> i.id()).toList());
+    }
+
+    @Test
+    void refresh_ShouldSkipDatabase_WhenDisabled() {
+        ReflectionTestUtils.setField(directory, "enabled", false);
+
+        directory.refresh(UUID.randomUUID());
+
+        verify(repository, never()).findSummariesByIds(any(), any());
+    }
+
+    private static EducatorSummaryView educator(boolean hasProduct, LocalDateTime createdDate) {
+        return new EducatorSummaryView(UUID.randomUUID(), "first-name", "last-name", null, null,
+                hasProduct, createdDate, 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.profile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.profile.features.educatorProfile.EducatorExporter;
+import com.example.profile.features.educatorProfile.EducatorProfileMapper;
+import com.example.profile.features.educatorProfile.EducatorProfileRepository;
+import com.example.profile.features.educatorProfile.contracts.EducatorSummaryResponse;
+import com.example.profile.features.educatorProfile.entities.EducatorVerificationStatus;
+import com.example.profile.features.educatorProfile.projections.EducatorSummaryView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.opentelemetry.api.OpenTelemetry;
+
+@ExtendWith(MockitoExtension.class)
+class EducatorExporterTest {
+    @Mock
+    private EducatorProfileRepository repository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private EducatorExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        exporter = new EducatorExporter(new EducatorProfileMapper(), repository, objectMapper,
+                OpenTelemetry.noop().getMeter("test"));
+    }
+
+    @Test
+    void export_ShouldWriteOneJsonLinePerEducator() throws IOException {
+        List<EducatorSummaryView> views = List.of(
+                EducatorRecommendationsTest.educator(true, LocalDateTime.of(2025, 1, 2, 0, 0)),
+                EducatorRecommendationsTest.educator(false, LocalDateTime.of(2025, 1, 1, 0, 0)));
+        stream(views);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.export(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            assertEquals(views.get(i).id(), objectMapper.readValue(lines[i], EducatorSummaryResponse.class).id());
+        }
+    }
+
+    @Test
+    void export_ShouldRethrowIOException_WhenClientDisconnects() {
+        stream(List.of(EducatorRecommendationsTest.educator(true, LocalDateTime.of(2025, 1, 1, 0, 0))));
+
+        OutputStream closed = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThrows(IOException.class, () -> exporter.export(closed));
+    }
+
+    private void stream(List<EducatorSummaryView> views) {
+        doAnswer(invocation -> {
+            Consumer<EducatorSummaryView> consumer = invocation.getArgument(1);
+            views.forEach(consumer);
+            return null;
+        }).when(repository).streamSummariesByStatus(any(EducatorVerificationStatus.class), any());
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.profile;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.example.profile.exceptions.GlobalExceptionHandler;
+import com.example.profile.features.educatorProfile.EducatorExporter;
+import com.example.profile.features.educatorProfile.EducatorProfileController;
+import com.example.profile.features.educatorProfile.EducatorProfileService;
+import com.example.profile.features.educatorProfile.contracts.EducatorDetailsResponse;
+import com.example.profile.features.educatorProfile.contracts.PatchEducatorProfileRequest;
+import com.example.profile.infrastructure.web.ResourceVersion;
+import com.example.profile.infrastructure.web.RowVersion;
+import com.example.profile.infrastructure.web.Versioned;
+
+@ExtendWith(MockitoExtension.class)
+class EducatorProfileControllerTest {
+    @Mock
+    private EducatorProfileService service;
+    @Mock
+    private EducatorExporter exporter;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new EducatorProfileController(service, exporter))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void getEducatorProfileById_ShouldReturnBodyWithValidators_WhenNotCached() throws Exception {
+        UUID id = UUID.randomUUID();
+        ResourceVersion version = new ResourceVersion(3, Instant.parse("2025-01-01T10:00:00Z"));
+
+        when(service.getEducatorProfileById(id)).thenReturn(new Versioned<>(version, details(id)));
+
+        mockMvc.perform(get("/api/v1/educators/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, version.etag()))
+                .andExpect(header().string(HttpHeaders.LAST_MODIFIED, "Wed, 01 Jan 2025 10:00:00 GMT"))
+                .andExpect(jsonPath("$.id").value(id.toString()));
+    }
+
+    @Test
+    void getEducatorProfileById_ShouldReturnNotModified_WhenEtagMatches() throws Exception {
+        UUID id = UUID.randomUUID();
+        ResourceVersion version = new ResourceVersion(3, Instant.parse("2025-01-01T10:00:00Z"));
+
+        when(service.getEducatorProfileById(id)).thenReturn(new Versioned<>(version, details(id)));
+
+        mockMvc.perform(get("/api/v1/educators/{id}", id).header(HttpHeaders.IF_NONE_MATCH, version.etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, version.etag()))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getEducatorProfileById_ShouldReturnNotModified_WhenNotModifiedSince() throws Exception {
+        UUID id = UUID.randomUUID();
+        ResourceVersion version = new ResourceVersion(3, Instant.parse("2025-01-01T10:00:00Z"));
+
+        when(service.getEducatorProfileById(id)).thenReturn(new Versioned<>(version, details(id)));
+
+        mockMvc.perform(get("/api/v1/educators/{id}", id)
+                .header(HttpHeaders.IF_MODIFIED_SINCE, "Wed, 01 Jan 2025 10:00:00 GMT"))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void exportEducatorProfiles_ShouldStreamNdjson() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exporter).export(any());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/educators/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
+    @Test
+    void patchMyEducatorProfile_ShouldPassIfMatchVersion_AndReturnNewEtag() throws Exception {
+        when(service.patchMyEducatorProfile(new PatchEducatorProfileRequest("bio", null, null), 3L))
+                .thenReturn(new RowVersion(4));
+
+        mockMvc.perform(patch("/api/v1/educators/me")
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"bio\":\"bio\"}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+    }
+
+    @Test
+    void patchMyEducatorProfile_ShouldAcceptEtagOfGet() throws Exception {
+        ResourceVersion read = new ResourceVersion(3, Instant.parse("2025-01-01T10:00:00Z"));
+        when(service.patchMyEducatorProfile(new PatchEducatorProfileRequest("bio", null, null), 3L))
+                .thenReturn(new RowVersion(4));
+
+        mockMvc.perform(patch("/api/v1/educators/me")
+                .header(HttpHeaders.IF_MATCH, read.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"bio\":\"bio\"}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+    }
+
+    @Test
+    void patchMyEducatorProfile_ShouldRejectWeakIfMatch() throws Exception {
+        mockMvc.perform(patch("/api/v1/educators/me")
+                .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"bio\":\"bio\"}"))
+                .andExpect(status().isBadRequest());
+
+        verify(service, never()).patchMyEducatorProfile(any(), eq(3L));
+    }
+
+    private static EducatorDetailsResponse details(UUID id) {
+        return new EducatorDetailsResponse(id, "first-name", "last-name", null, null, "bio", "experience", 4.5,
+                10, 1);
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.profile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+
+import com.example.profile.features.educatorProfile.EducatorProfileRepository;
+import com.example.profile.features.educatorProfile.entities.EducatorProfile;
+import com.example.profile.features.educatorProfile.entities.EducatorStats;
+import com.example.profile.features.educatorProfile.entities.EducatorVerificationStatus;
+import com.example.profile.features.educatorProfile.projections.EducatorChangeView;
+import com.example.profile.features.educatorProfile.projections.EducatorDetailsView;
+import com.example.profile.features.educatorProfile.projections.EducatorSummaryView;
+import com.example.profile.features.userProfile.entities.UserProfile;
+import com.example.profile.infrastructure.web.ResourceVersion;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class EducatorProfileRepositoryTest {
+    private static final int EDUCATORS = 30;
+
+    @Autowired
+    private EducatorProfileRepository repository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+    private UUID ratedEducatorId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < EDUCATORS; i++) {
+            UserProfile user = entityManager.persist(UserProfile.builder()
+                    .id(UUID.randomUUID())
+                    .username("user-" + i)
+                    .firstName("first-name-" + i)
+                    .lastName("last-name-" + i)
+                    .birthDate(LocalDate.of(1990, 1, 1))
+                    .build());
+            entityManager.persist(EducatorProfile.builder()
+                    .userProfile(user)
+                    .bio("bio-" + i)
+                    .status(EducatorVerificationStatus.APPROVED)
+                    .hasProduct(i % 2 == 0)
+                    .build());
+            if (i % 3 == 0) {
+                entityManager.persist(EducatorStats.builder()
+                        .educatorId(user.getId())
+                        .ratingSum(9)
+                        .ratingCount(2)
+                        .studentCount(i)
+                        .productCount(1)
+                        .build());
+                ratedEducatorId = user.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findSummariesByStatus_ShouldIssueOneStatement_WhateverThePageSize() {
+        for (int pageSize : new int[] { 1, 10, EDUCATORS }) {
+            statistics.clear();
+
+            List<EducatorSummaryView> page = repository
+                    .findSummariesByStatus(EducatorVerificationStatus.APPROVED, PageRequest.of(0, pageSize))
+                    .getContent();
+
+            assertEquals(pageSize, page.size());
+            assertEquals(1, statistics.getPrepareStatementCount(), "statements for page size " + pageSize);
+        }
+    }
+
+    @Test
+    void findSummariesByStatusAfter_ShouldIssueOneStatement_WhateverThePageSize() {
+        EducatorSummaryView first = repository
+                .findSummariesByStatus(EducatorVerificationStatus.APPROVED, Limit.of(1)).getFirst();
+
+        for (int pageSize : new int[] { 1, 10, EDUCATORS }) {
+            statistics.clear();
+
+            List<EducatorSummaryView> page = repository.findSummariesByStatusAfter(
+                    EducatorVerificationStatus.APPROVED, first.hasProduct(), first.createdDate(), first.id(),
+                    Limit.of(pageSize));
+
+            assertEquals(Math.min(pageSize, EDUCATORS - 1), page.size());
+            assertEquals(1, statistics.getPrepareStatementCount(), "statements for page size " + pageSize);
+        }
+    }
+
+    @Test
+    void streamSummariesByStatus_ShouldVisitEveryEducator_InListingOrder() {
+        List<UUID> expected = repository
+                .findSummariesByStatus(EducatorVerificationStatus.APPROVED, Limit.of(EDUCATORS))
+                .stream()
+                .map(EducatorSummaryView::id)
+                .toList();
+        List<UUID> streamed = new ArrayList<>();
+
+        repository.streamSummariesByStatus(EducatorVerificationStatus.APPROVED, view -> streamed.add(view.id()));
+
+        assertEquals(expected, streamed);
+    }
+
+    @Test
+    void findSummariesByIds_ShouldReturnOnlyRequestedApprovedEducators() {
+        List<UUID> ids = repository
+                .findSummariesByStatus(EducatorVerificationStatus.APPROVED, Limit.of(3))
+                .stream()
+                .map(EducatorSummaryView::id)
+                .toList();
+        List<UUID> requested = new ArrayList<>(ids);
+        requested.add(UUID.randomUUID());
+
+        List<EducatorSummaryView> found = repository
+                .findSummariesByIds(requested, EducatorVerificationStatus.APPROVED);
+
+        assertEquals(Set.copyOf(ids), found.stream().map(EducatorSummaryView::id).collect(Collectors.toSet()));
+        assertTrue(repository.findSummariesByIds(ids, EducatorVerificationStatus.PENDING).isEmpty());
+    }
+
+    @Test
+    void findSummariesByIds_ShouldJoinStats() {
+        EducatorSummaryView summary = repository
+                .findSummariesByIds(List.of(ratedEducatorId), EducatorVerificationStatus.APPROVED)
+                .getFirst();
+
+        assertEquals(9, summary.ratingSum());
+        assertEquals(2, summary.ratingCount());
+        assertTrue(summary.firstName().startsWith("first-name-"));
+    }
+
+    @Test
+    void findChangesAfter_ShouldResumeFromToken_AndKeepTombstones() {
+        List<UUID> ids = repository.findAll().stream().map(EducatorProfile::getId).toList();
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int i = 0; i < ids.size(); i++) {
+            entityManager.getEntityManager()
+                    .createNativeQuery("update educator_profile set change_date = ?1, deleted_date = ?2 "
+                            + "where user_profile_id = ?3")
+                    .setParameter(1, base.plusMinutes(i))
+                    .setParameter(2, i == 0 ? base : null)
+                    .setParameter(3, ids.get(i))
+                    .executeUpdate();
+        }
+        LocalDateTime until = base.plusMinutes(ids.size() - 1);
+
+        List<EducatorChangeView> seen = new ArrayList<>();
+        List<EducatorChangeView> page = repository.findChanges(until, Limit.of(7));
+        while (!page.isEmpty()) {
+            seen.addAll(page);
+            EducatorChangeView last = page.getLast();
+            page = repository.findChangesAfter(last.changeDate(), last.id(), until, Limit.of(7));
+        }
+
+        assertEquals(ids.subList(0, ids.size() - 1), seen.stream().map(EducatorChangeView::id).toList());
+        assertEquals(base, seen.getFirst().deletedDate());
+    }
+
+    @Test
+    void findDetailsById_ShouldJoinUserAndStats_InOneStatement() {
+        EducatorDetailsView details = repository
+                .findDetailsById(ratedEducatorId, EducatorVerificationStatus.APPROVED)
+                .orElseThrow();
+
+        assertEquals(ratedEducatorId, details.id());
+        assertTrue(details.firstName().startsWith("first-name-"));
+        assertEquals(9, details.ratingSum());
+        assertEquals(2, details.ratingCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findVersionById_ShouldTrackTheNewestJoinedRow() {
+        ResourceVersion before = repository
+                .findVersionById(ratedEducatorId, EducatorVerificationStatus.APPROVED)
+                .orElseThrow();
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        EducatorStats stats = entityManager.find(EducatorStats.class, ratedEducatorId);
+        stats.setLastModifiedDate(LocalDateTime.now().plusMinutes(1));
+        entityManager.flush();
+
+        ResourceVersion after = repository
+                .findVersionById(ratedEducatorId, EducatorVerificationStatus.APPROVED)
+                .orElseThrow();
+
+        assertTrue(after.lastModified().isAfter(before.lastModified()));
+        assertNotEquals(before.etag(), after.etag());
+    }
+}
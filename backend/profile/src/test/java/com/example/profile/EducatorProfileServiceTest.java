@@ -1,34 +1,82 @@
 package com.example.profile;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.support.TransactionOperations;
 
+import com.example.profile.exceptions.BadRequestException;
 import com.example.profile.exceptions.ErrorCodes;
 import com.example.profile.exceptions.NotFoundException;
+import com.example.profile.features.educatorProfile.EducatorChangeToken;
+import com.example.profile.features.educatorProfile.EducatorCursor;
+import com.example.profile.features.educatorProfile.EducatorDirectory;
+import com.example.profile.features.educatorProfile.EducatorProfileCounterRepository;
 import com.example.profile.features.educatorProfile.EducatorProfileMapper;
 import com.example.profile.features.educatorProfile.EducatorProfileRepository;
 import com.example.profile.features.educatorProfile.EducatorProfileService;
+import com.example.profile.features.educatorProfile.EducatorRecommendations;
+import com.example.profile.features.educatorProfile.EducatorSearchCursor;
+import com.example.profile.features.educatorProfile.contracts.ChangeFeedResult;
+import com.example.profile.features.educatorProfile.contracts.CursorPagedResult;
+import com.example.profile.features.educatorProfile.contracts.EducatorChangeResponse;
 import com.example.profile.features.educatorProfile.contracts.EducatorDetailsResponse;
+import com.example.profile.features.educatorProfile.contracts.EducatorSummaryResponse;
+import com.example.profile.features.educatorProfile.contracts.PagedResult;
 import com.example.profile.features.educatorProfile.contracts.UpdateEducatorProfileRequest;
 import com.example.profile.features.educatorProfile.entities.EducatorProfile;
+import com.example.profile.features.educatorProfile.entities.EducatorVerificationStatus;
+import com.example.profile.features.educatorProfile.projections.EducatorChangeView;
+import com.example.profile.features.educatorProfile.projections.EducatorDetailsView;
+import com.example.profile.features.educatorProfile.projections.EducatorSearchHit;
+import com.example.profile.features.educatorProfile.projections.EducatorSummaryView;
+import com.example.profile.features.userProfile.ProfileDetailsStore;
 import com.example.profile.features.userProfile.UserProfileRepository;
 import com.example.profile.features.userProfile.entities.UserProfile;
+import com.example.profile.infrastructure.caching.CacheProperties;
+import com.example.profile.infrastructure.caching.IdFilter;
+import com.example.profile.infrastructure.caching.IdFilterProperties;
+import com.example.profile.infrastructure.caching.NearCache;
+import com.example.profile.infrastructure.caching.SingleFlight;
+import com.example.profile.infrastructure.caching.ProfileCacheInvalidator;
 import com.example.profile.infrastructure.identity.CurrentUser;
 import com.example.profile.infrastructure.messaging.publishers.EventPublisher;
+import com.example.profile.infrastructure.persistence.PrimarySnapshot;
+import com.example.profile.infrastructure.persistence.ReplicaRead;
+import com.example.profile.infrastructure.web.LookupResult;
+import com.example.profile.infrastructure.web.ResourceVersion;
+import com.example.profile.infrastructure.web.Versioned;
+
+import io.opentelemetry.api.OpenTelemetry;
 
 @ExtendWith(MockitoExtension.class)
 class EducatorProfileServiceTest {
@@ -36,53 +84,327 @@ class EducatorProfileServiceTest {
     @Mock
     EventPublisher publisher;
     @Mock
+    private EducatorDirectory directory;
+    @Mock
+    private EducatorRecommendations recommendations;
+    @Mock
     private EducatorProfileRepository educatorRepository;
     @Mock
+    private EducatorProfileCounterRepository counterRepository;
+    @Mock
     private UserProfileRepository profileRepository;
     @Mock
     private CurrentUser currentUser;
+    @Mock
+    private ProfileCacheInvalidator cacheInvalidator;
+    @Mock
+    private ProfileDetailsStore profileDetails;
     private EducatorProfileMapper mapper;
     private EducatorProfileService service;
 
     @BeforeEach
     void setUp() {
         mapper = new EducatorProfileMapper();
-        service = new EducatorProfileService(currentUser, publisher, mapper, educatorRepository, profileRepository);
+        service = new EducatorProfileService(currentUser, publisher, directory, recommendations, mapper, educatorRepository,
+                counterRepository, profileRepository, cache(), flight(), snapshot(), replicaRead(), cacheInvalidator, profileDetails,
+                idFilter());
     }
 
     @Test
     void getEducatorProfileById_ShouldReturnProfile_WhenProfileExists() {
         UUID educatorId = UUID.randomUUID();
 
-        EducatorProfile profile = EducatorProfile.builder()
-                .id(educatorId)
-                .bio("test-bio")
-                .experience("test-experience")
-                .build();
+        EducatorDetailsView profile = new EducatorDetailsView(educatorId, "first-name", "last-name", null, null,
+                "test-bio", "test-experience", 9, 2, 10, 1);
 
-        when(educatorRepository.findById(educatorId)).thenReturn(Optional.of(profile));
+        ResourceVersion version = new ResourceVersion(2, Instant.parse("2025-01-01T10:00:00Z"));
+        when(educatorRepository.findVersionById(educatorId, EducatorVerificationStatus.APPROVED))
+                .thenReturn(Optional.of(version));
+        when(educatorRepository.findDetailsById(educatorId, EducatorVerificationStatus.APPROVED))
+                .thenReturn(Optional.of(profile));
+
+        Versioned<EducatorDetailsResponse> versioned = service.getEducatorProfileById(educatorId);
+        EducatorDetailsResponse result = versioned.body();
+
+        assertEquals(version, versioned.version());
+        assertEquals(profile.id(), result.id());
+        assertEquals(profile.bio(), result.bio());
+        assertEquals(profile.experience(), result.experience());
+        assertEquals(4.5, result.rating());
+
+        verify(educatorRepository, times(1)).findDetailsById(educatorId, EducatorVerificationStatus.APPROVED);
+    }
+
+    @Test
+    void getEducatorProfileById_ShouldServeRepeatReadsFromCache() {
+        UUID educatorId = UUID.randomUUID();
+        EducatorDetailsView profile = new EducatorDetailsView(educatorId, "first-name", "last-name", null, null,
+                "test-bio", "test-experience", 0, 0, 0, 0);
 
-        EducatorDetailsResponse result = service.getEducatorProfileById(educatorId);
+        when(educatorRepository.findVersionById(educatorId, EducatorVerificationStatus.APPROVED))
+                .thenReturn(Optional.of(new ResourceVersion(1, Instant.parse("2025-01-01T10:00:00Z"))));
+        when(educatorRepository.findDetailsById(educatorId, EducatorVerificationStatus.APPROVED))
+                .thenReturn(Optional.of(profile));
 
-        assertEquals(profile.getId(), result.id());
-        assertEquals(profile.getBio(), result.bio());
-        assertEquals(profile.getExperience(), result.experience());
+        service.getEducatorProfileById(educatorId);
+        service.getEducatorProfileById(educatorId);
 
-        verify(educatorRepository, times(1)).findById(educatorId);
+        verify(educatorRepository, times(1)).findVersionById(educatorId, EducatorVerificationStatus.APPROVED);
+        verify(educatorRepository, times(1)).findDetailsById(educatorId, EducatorVerificationStatus.APPROVED);
     }
 
     @Test
     void getEducatorProfileById_ShouldThrowException_WhenProfileDoesNotExist() {
         UUID educatorId = UUID.randomUUID();
 
-        when(educatorRepository.findById(educatorId)).thenReturn(Optional.empty());
+        when(educatorRepository.findVersionById(educatorId, EducatorVerificationStatus.APPROVED))
+                .thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(NotFoundException.class,
                 () -> service.getEducatorProfileById(educatorId));
 
         assertEquals(ErrorCodes.EDUCATOR_PROFILE_NOT_FOUND, exception.getCode());
 
-        verify(educatorRepository, times(1)).findById(educatorId);
+        verify(educatorRepository, never()).findDetailsById(any(), any());
+    }
+
+    @Test
+    void getEducatorProfiles_ShouldUseCounter_WhenTotalRequested() {
+        List<EducatorSummaryView> profiles = List.of(summary(true, LocalDateTime.of(2025, 1, 1, 0, 0)));
+
+        when(educatorRepository.findSummariesByStatus(any(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(profiles));
+        when(counterRepository.countByStatus(EducatorVerificationStatus.APPROVED)).thenReturn(41L);
+
+        PagedResult<EducatorSummaryResponse> result = service.getEducatorProfiles(1, 20, true);
+
+        assertEquals(1, result.getItems().size());
+        assertEquals(41L, result.getTotalItems());
+        assertEquals(3, result.getTotalPages());
+    }
+
+    @Test
+    void getEducatorProfiles_ShouldSkipCounter_WhenTotalNotRequested() {
+        when(educatorRepository.findSummariesByStatus(any(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        PagedResult<EducatorSummaryResponse> result = service.getEducatorProfiles(1, 20, false);
+
+        assertNull(result.getTotalItems());
+        assertNull(result.getTotalPages());
+        verify(counterRepository, never()).countByStatus(any());
+    }
+
+    @Test
+    void getRecommendedEducatorProfiles_ShouldServeRanking_WhenReady() {
+        EducatorSummaryResponse expected = mapper.toEducatorSummary(summary(true, LocalDateTime.of(2025, 1, 1, 0, 0)));
+
+        when(recommendations.isReady()).thenReturn(true);
+        when(recommendations.getPage(1, 20)).thenReturn(new PagedResult<>(List.of(expected), 1, 1, 1, 20));
+
+        PagedResult<EducatorSummaryResponse> result = service.getRecommendedEducatorProfiles(1, 20, false);
+
+        assertEquals(List.of(expected), result.getItems());
+        assertNull(result.getTotalItems());
+        verify(educatorRepository, never()).findSummariesByStatus(any(), any(Pageable.class));
+    }
+
+    @Test
+    void setEducatorHasProduct_ShouldMoveCounter_WhenFlagFlips() {
+        UUID id = UUID.randomUUID();
+
+        when(educatorRepository.markHasProduct(List.of(id))).thenReturn(Map.of(id, EducatorVerificationStatus.APPROVED));
+
+        service.setEducatorHasProduct(id.toString());
+
+        verify(counterRepository, times(1)).increment(EducatorVerificationStatus.APPROVED.ordinal(), false, -1);
+        verify(counterRepository, times(1)).increment(EducatorVerificationStatus.APPROVED.ordinal(), true, 1);
+        verify(cacheInvalidator, times(1)).invalidate(id);
+    }
+
+    @Test
+    void setEducatorHasProduct_ShouldLeaveCounters_WhenAnotherEventFlippedFirst() {
+        UUID id = UUID.randomUUID();
+
+        when(educatorRepository.markHasProduct(List.of(id))).thenReturn(Map.of());
+        when(educatorRepository.existsById(id)).thenReturn(true);
+
+        service.setEducatorHasProduct(id.toString());
+
+        verify(counterRepository, never()).increment(anyInt(), anyBoolean(), anyLong());
+        verify(cacheInvalidator, never()).invalidate(any(UUID.class));
+    }
+
+    @Test
+    void setEducatorsHaveProduct_ShouldMoveCountersOncePerStatus() {
+        UUID approved1 = UUID.randomUUID();
+        UUID approved2 = UUID.randomUUID();
+        UUID pending = UUID.randomUUID();
+        Set<UUID> ids = Set.of(approved1, approved2, pending, UUID.randomUUID());
+
+        when(educatorRepository.markHasProduct(ids)).thenReturn(Map.of(
+                approved1, EducatorVerificationStatus.APPROVED,
+                approved2, EducatorVerificationStatus.APPROVED,
+                pending, EducatorVerificationStatus.PENDING));
+
+        service.setEducatorsHaveProduct(ids);
+
+        verify(counterRepository, times(1)).increment(EducatorVerificationStatus.APPROVED.ordinal(), false, -2);
+        verify(counterRepository, times(1)).increment(EducatorVerificationStatus.APPROVED.ordinal(), true, 2);
+        verify(counterRepository, times(1)).increment(EducatorVerificationStatus.PENDING.ordinal(), false, -1);
+        verify(counterRepository, times(1)).increment(EducatorVerificationStatus.PENDING.ordinal(), true, 1);
+        verify(cacheInvalidator, times(1)).invalidate(Set.of(approved1, approved2, pending));
+    }
+
+    @Test
+    void getEducatorProfiles_ShouldReturnNextCursor_WhenMoreProfilesExist() {
+        List<EducatorSummaryView> profiles = List.of(
+                summary(true, LocalDateTime.of(2025, 1, 3, 0, 0)),
+                summary(true, LocalDateTime.of(2025, 1, 2, 0, 0)),
+                summary(false, LocalDateTime.of(2025, 1, 1, 0, 0)));
+
+        when(educatorRepository.findSummariesByStatus(EducatorVerificationStatus.APPROVED, Limit.of(3)))
+                .thenReturn(profiles);
+
+        CursorPagedResult<EducatorSummaryResponse> result = service.getEducatorProfiles("", 2);
+
+        assertEquals(2, result.getItems().size());
+        assertEquals(EducatorCursor.of(profiles.get(1)), EducatorCursor.decode(result.getNextCursor()));
+    }
+
+    @Test
+    void getEducatorProfiles_ShouldSeekAfterCursor_WhenCursorProvided() {
+        EducatorSummaryView last = summary(false, LocalDateTime.of(2025, 1, 1, 0, 0));
+        String after = EducatorCursor.of(last).encode();
+
+        when(educatorRepository.findSummariesByStatusAfter(EducatorVerificationStatus.APPROVED,
+                false, last.createdDate(), last.id(), Limit.of(21)))
+                .thenReturn(List.of());
+
+        CursorPagedResult<EducatorSummaryResponse> result = service.getEducatorProfiles(after, 20);
+
+        assertTrue(result.getItems().isEmpty());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getEducatorProfiles_ShouldThrowException_WhenCursorIsInvalid() {
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> service.getEducatorProfiles("not-a-cursor", 20));
+
+        assertEquals(ErrorCodes.INVALID_CURSOR, exception.getCode());
+    }
+
+    @Test
+    void getEducatorProfiles_ShouldThrowException_WhenPageSizeIsTooLarge() {
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> service.getEducatorProfiles(1, 1_000, true));
+
+        assertEquals(ErrorCodes.INVALID_PAGE_SIZE, exception.getCode());
+        verify(educatorRepository, never()).findSummariesByStatus(any(), any(Pageable.class));
+    }
+
+    @Test
+    void searchEducatorProfiles_ShouldReturnNextCursor_WhenMoreHitsExist() {
+        List<EducatorSearchHit> hits = List.of(
+                new EducatorSearchHit(summary(true, LocalDateTime.of(2025, 1, 3, 0, 0)), 0.9f),
+                new EducatorSearchHit(summary(false, LocalDateTime.of(2025, 1, 2, 0, 0)), 0.3f),
+                new EducatorSearchHit(summary(false, LocalDateTime.of(2025, 1, 1, 0, 0)), 0.1f));
+
+        when(educatorRepository.searchSummaries("piano", EducatorVerificationStatus.APPROVED, null, 3))
+                .thenReturn(hits);
+
+        CursorPagedResult<EducatorSummaryResponse> result = service.searchEducatorProfiles(" piano ", "", 2);
+
+        assertEquals(2, result.getItems().size());
+        assertEquals(EducatorSearchCursor.of(hits.get(1)), EducatorSearchCursor.decode(result.getNextCursor()));
+    }
+
+    @Test
+    void searchEducatorProfiles_ShouldSeekAfterCursor_WhenCursorProvided() {
+        EducatorSearchCursor cursor = new EducatorSearchCursor(0.0607927f, UUID.randomUUID());
+
+        when(educatorRepository.searchSummaries("piano", EducatorVerificationStatus.APPROVED, cursor, 21))
+                .thenReturn(List.of());
+
+        CursorPagedResult<EducatorSummaryResponse> result = service.searchEducatorProfiles("piano",
+                cursor.encode(), 20);
+
+        assertTrue(result.getItems().isEmpty());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void searchEducatorProfiles_ShouldThrowException_WhenQueryIsBlank() {
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> service.searchEducatorProfiles("  ", null, 20));
+
+        assertEquals(ErrorCodes.INVALID_SEARCH_QUERY, exception.getCode());
+        verify(educatorRepository, never()).searchSummaries(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void getEducatorChanges_ShouldReturnTombstones_AndResumeToken() {
+        LocalDateTime changedAt = LocalDateTime.of(2025, 1, 1, 0, 0);
+        EducatorChangeView updated = change(EducatorVerificationStatus.APPROVED, null, changedAt);
+        EducatorChangeView deleted = change(EducatorVerificationStatus.APPROVED, changedAt, changedAt.plusSeconds(1));
+        EducatorChangeView pending = change(EducatorVerificationStatus.PENDING, null, changedAt.plusSeconds(2));
+
+        when(educatorRepository.findChangeFeedBound(any(Duration.class))).thenReturn(changedAt.plusMinutes(1));
+        when(educatorRepository.findChanges(any(LocalDateTime.class), eq(Limit.of(3))))
+                .thenReturn(List.of(updated, deleted, pending));
+
+        ChangeFeedResult<EducatorChangeResponse> result = service.getEducatorChanges(null, 2);
+
+        assertEquals(2, result.items().size());
+        assertEquals("first-name", result.items().get(0).educator().firstName());
+        assertTrue(result.items().get(1).deleted());
+        assertNull(result.items().get(1).educator());
+        assertTrue(result.hasMore());
+        assertEquals(EducatorChangeToken.of(deleted), EducatorChangeToken.decode(result.nextToken()));
+    }
+
+    @Test
+    void getEducatorChanges_ShouldEchoToken_WhenNothingChanged() {
+        EducatorChangeToken token = new EducatorChangeToken(LocalDateTime.of(2025, 1, 1, 0, 0), UUID.randomUUID());
+
+        when(educatorRepository.findChangeFeedBound(any(Duration.class))).thenReturn(token.changeDate());
+        when(educatorRepository.findChangesAfter(eq(token.changeDate()), eq(token.id()), any(LocalDateTime.class),
+                eq(Limit.of(101))))
+                .thenReturn(List.of());
+
+        ChangeFeedResult<EducatorChangeResponse> result = service.getEducatorChanges(token.encode(), 100);
+
+        assertTrue(result.items().isEmpty());
+        assertEquals(token.encode(), result.nextToken());
+    }
+
+    @Test
+    void lookupEducatorProfiles_ShouldKeepRequestOrder_AndReportMisses() {
+        EducatorSummaryView first = summary(true, LocalDateTime.of(2025, 1, 2, 0, 0));
+        EducatorSummaryView second = summary(false, LocalDateTime.of(2025, 1, 1, 0, 0));
+        UUID unknown = UUID.randomUUID();
+        List<UUID> ids = List.of(second.id(), unknown, first.id(), second.id());
+
+        when(educatorRepository.findSummariesByIds(Set.of(second.id(), unknown, first.id()),
+                EducatorVerificationStatus.APPROVED))
+                .thenReturn(List.of(first, second));
+
+        LookupResult<EducatorSummaryResponse> result = service.lookupEducatorProfiles(ids);
+
+        assertEquals(List.of(second.id(), first.id()), List.copyOf(result.items().keySet()));
+        assertEquals(List.of(unknown), result.missing());
+    }
+
+    @Test
+    void lookupEducatorProfiles_ShouldThrowException_WhenTooManyIds() {
+        List<UUID> ids = Stream.generate(UUID::randomUUID).limit(LookupResult.MAX_IDS + 1).toList();
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> service.lookupEducatorProfiles(ids));
+
+        assertEquals(ErrorCodes.TOO_MANY_IDS, exception.getCode());
+        verify(educatorRepository, never()).findSummariesByIds(any(), any());
     }
 
     @Test
@@ -111,6 +433,7 @@ class EducatorProfileServiceTest {
 
         verify(profileRepository, times(1)).findById(userId);
         verify(educatorRepository, times(1)).save(any(EducatorProfile.class));
+        verify(profileDetails, times(1)).refresh(userId);
     }
 
     @Test
@@ -159,6 +482,7 @@ class EducatorProfileServiceTest {
 
         verify(educatorRepository, times(1)).findById(userId);
         verify(educatorRepository, times(1)).save(profile);
+        verify(profileDetails, times(1)).refresh(userId);
     }
 
     @Test
@@ -181,4 +505,39 @@ class EducatorProfileServiceTest {
         verify(educatorRepository, times(1)).findById(userId);
         verify(educatorRepository, never()).save(any(EducatorProfile.class));
     }
+
+    private static IdFilter idFilter() {
+        return new IdFilter("test", () -> 0, consumer -> {
+        }, TransactionOperations.withoutTransaction(), new IdFilterProperties(), OpenTelemetry.noop().getMeter("test"));
+    }
+
+    private static PrimarySnapshot snapshot() {
+        return new PrimarySnapshot(TransactionOperations.withoutTransaction());
+    }
+
+    private static ReplicaRead replicaRead() {
+        return new ReplicaRead(TransactionOperations.withoutTransaction());
+    }
+
+    private static <V> SingleFlight<V> flight() {
+        return new SingleFlight<>("test", Duration.ofSeconds(1), OpenTelemetry.noop().getMeter("test"));
+    }
+
+    private static NearCache<Versioned<EducatorDetailsResponse>> cache() {
+        CacheProperties properties = new CacheProperties();
+        properties.setMaximumSize(100);
+        properties.setTtl(Duration.ofMinutes(5));
+        return new NearCache<>("test", properties, OpenTelemetry.noop().getMeter("test"));
+    }
+
+    private static EducatorChangeView change(EducatorVerificationStatus status, LocalDateTime deletedDate,
+            LocalDateTime changeDate) {
+        return new EducatorChangeView(UUID.randomUUID(), changeDate, status, deletedDate, "first-name", "last-name",
+                null, "bio", 0, 0, 0, 0);
+    }
+
+    private static EducatorSummaryView summary(boolean hasProduct, LocalDateTime createdDate) {
+        return new EducatorSummaryView(UUID.randomUUID(), "first-name", "last-name", null, null,
+                hasProduct, createdDate, 0, 0, 0, 0);
+    }
 }
@@ -0,0 +1,95 @@
+package com.example.profile;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.profile.features.educatorProfile.EducatorDirectory;
+import com.example.profile.features.educatorProfile.EducatorProfileMapper;
+import com.example.profile.features.educatorProfile.EducatorProfileRepository;
+import com.example.profile.features.educatorProfile.EducatorRecommendations;
+import com.example.profile.features.educatorProfile.RecommendationProperties;
+import com.example.profile.features.educatorProfile.projections.EducatorSummaryView;
+
+import io.opentelemetry.api.OpenTelemetry;
+
+/**
+ * Measures ranking refresh cost over a large directory. Skipped by default; run
+ * with {@code mvn test -Dtest=EducatorRecommendationsBenchmark -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class EducatorRecommendationsBenchmark {
+    private static final int EDUCATORS = Integer.getInteger("benchmark.educators", 1_000_000);
+    private static final int ITERATIONS = 5;
+
+    @Test
+    void refresh() {
+        EducatorProfileRepository repository = mock(EducatorProfileRepository.class, withSettings().stubOnly());
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        int[] produced = { 0 };
+
+        when(repository.findSummariesByStatus(any(), any(Limit.class)))
+                .thenAnswer(i -> batch(random, now, produced, i.getArgument(1, Limit.class).max()));
+        when(repository.findSummariesByStatusAfter(any(), anyBoolean(), any(), any(), any(Limit.class)))
+                .thenAnswer(i -> batch(random, now, produced, i.getArgument(4, Limit.class).max()));
+
+        EducatorDirectory directory = new EducatorDirectory(new EducatorProfileMapper(), repository,
+                OpenTelemetry.noop().getMeter("benchmark"));
+        ReflectionTestUtils.setField(directory, "enabled", true);
+        directory.rebuild();
+
+        RecommendationProperties properties = new RecommendationProperties();
+        properties.setRefreshInterval(Duration.ofMinutes(5));
+        properties.setRecencyHalfLife(Duration.ofDays(90));
+        properties.setProductWeight(1.0);
+        properties.setRecencyWeight(1.0);
+        properties.setPopularityWeight(1.0);
+        properties.setRatingWeight(1.0);
+        EducatorRecommendations recommendations = new EducatorRecommendations(directory, properties);
+
+        // Warm up the JIT before measuring
+        recommendations.refresh();
+        recommendations.refresh();
+
+        long[] millis = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            recommendations.refresh();
+            millis[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(millis);
+
+        System.out.printf("Recommendation refresh over %d educators: min %d ms, median %d ms, max %d ms%n",
+                EDUCATORS, millis[0], millis[ITERATIONS / 2], millis[ITERATIONS - 1]);
+    }
+
+    private static List<EducatorSummaryView> batch(Random random, LocalDateTime now, int[] produced, int size) {
+        int count = Math.min(size, EDUCATORS - produced[0]);
+        List<EducatorSummaryView> batch = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int ratings = random.nextInt(200);
+            batch.add(EducatorRecommendationsTest.educator(random.nextBoolean(),
+                    now.minusMinutes(random.nextInt(3 * 365 * 24 * 60)),
+                    random.nextInt(50_000),
+                    ratings * (1L + random.nextInt(5)),
+                    ratings));
+        }
+        produced[0] += count;
+        return batch;
+    }
+}
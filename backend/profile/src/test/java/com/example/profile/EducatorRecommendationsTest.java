@@ -0,0 +1,186 @@
+package com.example.profile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.profile.exceptions.BadRequestException;
+import com.example.profile.exceptions.ErrorCodes;
+import com.example.profile.features.educatorProfile.EducatorDirectory;
+import com.example.profile.features.educatorProfile.EducatorProfileMapper;
+import com.example.profile.features.educatorProfile.EducatorProfileRepository;
+import com.example.profile.features.educatorProfile.EducatorRecommendations;
+import com.example.profile.features.educatorProfile.RecommendationProperties;
+import com.example.profile.features.educatorProfile.contracts.CursorPagedResult;
+import com.example.profile.features.educatorProfile.contracts.EducatorSummaryResponse;
+import com.example.profile.features.educatorProfile.entities.EducatorVerificationStatus;
+import com.example.profile.features.educatorProfile.projections.EducatorSummaryView;
+
+import io.opentelemetry.api.OpenTelemetry;
+
+@ExtendWith(MockitoExtension.class)
+class EducatorRecommendationsTest {
+    @Mock
+    private EducatorProfileRepository repository;
+
+    private EducatorDirectory directory;
+    private RecommendationProperties properties;
+    private EducatorRecommendations recommendations;
+
+    @BeforeEach
+    void setUp() {
+        directory = new EducatorDirectory(new EducatorProfileMapper(), repository, OpenTelemetry.noop().getMeter("test"));
+        ReflectionTestUtils.setField(directory, "enabled", true);
+
+        properties = new RecommendationProperties();
+        properties.setRefreshInterval(Duration.ofMinutes(5));
+        properties.setRecencyHalfLife(Duration.ofDays(90));
+        properties.setProductWeight(1.0);
+        properties.setRecencyWeight(1.0);
+        properties.setPopularityWeight(1.0);
+        properties.setRatingWeight(1.0);
+
+        recommendations = new EducatorRecommendations(directory, properties);
+    }
+
+    @Test
+    void isReady_ShouldBeFalse_BeforeDirectoryRebuild() {
+        recommendations.refreshIfStale();
+
+        assertFalse(recommendations.isReady());
+    }
+
+    @Test
+    void getPage_ShouldRankPopularRatedEducatorsFirst() {
+        LocalDateTime now = LocalDateTime.now();
+        EducatorSummaryView fresh = educator(true, now);
+        EducatorSummaryView popular = educator(true, now.minusDays(30), 100, 45, 10);
+
+        when(repository.findSummariesByStatus(any(), any(Limit.class))).thenReturn(List.of(fresh, popular));
+
+        directory.rebuild();
+        recommendations.refreshIfStale();
+
+        assertTrue(recommendations.isReady());
+        assertEquals(List.of(popular.id(), fresh.id()),
+                recommendations.getPage(1, 20).getItems().stream().map(EducatorSummaryResponse::id).toList());
+    }
+
+    @Test
+    void getPage_ShouldFollowConfiguredWeights() {
+        LocalDateTime now = LocalDateTime.now();
+        EducatorSummaryView fresh = educator(true, now);
+        EducatorSummaryView popular = educator(true, now.minusDays(30), 100, 45, 10);
+        properties.setPopularityWeight(0);
+        properties.setRatingWeight(0);
+
+        when(repository.findSummariesByStatus(any(), any(Limit.class))).thenReturn(List.of(fresh, popular));
+
+        directory.rebuild();
+        recommendations.refresh();
+
+        assertEquals(fresh.id(), recommendations.getPage(1, 20).getItems().getFirst().id());
+    }
+
+    @Test
+    void getPageAfter_ShouldWalkTheRanking() {
+        LocalDateTime now = LocalDateTime.now();
+        EducatorSummaryView first = educator(true, now);
+        EducatorSummaryView second = educator(false, now);
+
+        when(repository.findSummariesByStatus(any(), any(Limit.class))).thenReturn(List.of(first, second));
+
+        directory.rebuild();
+        recommendations.refresh();
+        CursorPagedResult<EducatorSummaryResponse> page = recommendations.getPageAfter(null, 1);
+        CursorPagedResult<EducatorSummaryResponse> next = recommendations.getPageAfter(page.getNextCursor(), 1);
+
+        assertEquals(first.id(), page.getItems().getFirst().id());
+        assertEquals(second.id(), next.getItems().getFirst().id());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void getPageAfter_ShouldResumeAfterLastEducator_WhenRankingChangedBetweenPages() {
+        LocalDateTime now = LocalDateTime.now();
+        EducatorSummaryView first = educator(true, now);
+        EducatorSummaryView second = educator(false, now);
+        EducatorSummaryView created = educator(true, now, 100, 45, 10);
+        properties.setRecencyWeight(0);
+
+        when(repository.findSummariesByStatus(any(), any(Limit.class))).thenReturn(List.of(first, second));
+        directory.rebuild();
+        recommendations.refresh();
+        CursorPagedResult<EducatorSummaryResponse> page = recommendations.getPageAfter(null, 1);
+
+        // Ranked above the page already served, which an offset would repeat
+        when(repository.findSummariesByIds(List.of(created.id()), EducatorVerificationStatus.APPROVED))
+                .thenReturn(List.of(created));
+        directory.refresh(created.id());
+        directory.applyPending();
+        recommendations.refresh();
+        CursorPagedResult<EducatorSummaryResponse> next = recommendations.getPageAfter(page.getNextCursor(), 1);
+
+        assertEquals(first.id(), page.getItems().getFirst().id());
+        assertEquals(second.id(), next.getItems().getFirst().id());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void getPageAfter_ShouldThrowException_WhenCursorIsInvalid() {
+        when(repository.findSummariesByStatus(any(), any(Limit.class))).thenReturn(List.of());
+
+        directory.rebuild();
+        recommendations.refresh();
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> recommendations.getPageAfter("not-a-cursor", 20));
+
+        assertEquals(ErrorCodes.INVALID_CURSOR, exception.getCode());
+    }
+
+    @Test
+    void refreshIfStale_ShouldRerank_WhenDirectoryChanges() {
+        EducatorSummaryView existing = educator(false, LocalDateTime.now().minusDays(1));
+        EducatorSummaryView created = educator(true, LocalDateTime.now());
+
+        when(repository.findSummariesByStatus(any(), any(Limit.class))).thenReturn(List.of(existing));
+        directory.rebuild();
+        recommendations.refreshIfStale();
+
+        when(repository.findSummariesByIds(List.of(created.id()), EducatorVerificationStatus.APPROVED))
+                .thenReturn(List.of(created));
+        directory.refresh(created.id());
+        directory.applyPending();
+        recommendations.refreshIfStale();
+
+        assertEquals(created.id(), recommendations.getPage(1, 20).getItems().getFirst().id());
+    }
+
+    static EducatorSummaryView educator(boolean hasProduct, LocalDateTime createdDate) {
+        return educator(hasProduct, createdDate, 0, 0, 0);
+    }
+
+    static EducatorSummaryView educator(boolean hasProduct, LocalDateTime createdDate, int studentCount,
+            long ratingSum, long ratingCount) {
+        return new EducatorSummaryView(UUID.randomUUID(), "first-name", "last-name", null, null,
+                hasProduct, createdDate, ratingSum, ratingCount, studentCount, 0);
+    }
+}
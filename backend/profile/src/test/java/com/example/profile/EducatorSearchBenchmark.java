@@ -0,0 +1,144 @@
+package com.example.profile;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.example.profile.features.educatorProfile.EducatorProfileRepository;
+import com.example.profile.features.educatorProfile.EducatorSearchCursor;
+import com.example.profile.features.educatorProfile.entities.EducatorVerificationStatus;
+import com.example.profile.features.educatorProfile.projections.EducatorSearchHit;
+
+/**
+ * Measures search latency against the migrated test Postgres at 100k and 1M
+ * educators and prints p50, p99 and max per size. Generated rows are written
+ * inside the test transaction and rolled back afterwards. Skipped by default
+ * and without Docker; run with
+ * {@code mvn test -Dtest=EducatorSearchBenchmark -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Testcontainers(disabledWithoutDocker = true)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest
+class EducatorSearchBenchmark {
+    private static final int[] SIZES = { 100_000, 1_000_000 };
+    private static final int WARMUP_QUERIES = 50;
+    private static final int QUERIES = 1_000;
+    private static final int PAGE_SIZE = 20;
+
+    private static final String[] FIRST_NAMES = { "Anna", "Daniel", "Maria", "James", "Olena", "Liam", "Sofia",
+            "Noah", "Emma", "Lucas", "Mia", "Ethan", "Chloe", "Mateo", "Ava", "Oliver", "Iryna", "Leo" };
+    private static final String[] LAST_NAMES = { "Smith", "Johnson", "Kovalenko", "Garcia", "Miller", "Davis",
+            "Shevchenko", "Martinez", "Brown", "Wilson", "Taylor", "Anderson", "Thomas", "Moore", "Melnyk" };
+    private static final String[] WORDS = { "piano", "guitar", "violin", "singing", "mathematics", "algebra",
+            "geometry", "calculus", "physics", "chemistry", "biology", "history", "literature", "poetry",
+            "writing", "english", "spanish", "french", "german", "ukrainian", "programming", "java", "python",
+            "javascript", "databases", "design", "drawing", "painting", "photography", "yoga", "meditation",
+            "fitness", "nutrition", "cooking", "baking", "finance", "accounting", "marketing", "management",
+            "leadership", "psychology", "philosophy", "economics", "statistics", "astronomy", "chess", "dance",
+            "acting", "public", "speaking", "beginners", "advanced", "exam", "preparation", "university",
+            "school", "children", "adults", "online", "certified", "teacher", "coach", "mentor", "years",
+            "experience", "professional", "classes", "lessons", "workshops", "courses" };
+
+    @Autowired
+    private EducatorProfileRepository repository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        MigratedPostgres.register(registry);
+    }
+
+    @Test
+    void search() {
+        int generated = 0;
+        for (int size : SIZES) {
+            generate(generated, size - generated);
+            generated = size;
+            jdbcTemplate.execute("analyze user_profile");
+            jdbcTemplate.execute("analyze educator_profile");
+
+            Random random = new Random(42);
+            for (int i = 0; i < WARMUP_QUERIES; i++) {
+                searchTwoPages(query(random));
+            }
+
+            long[] micros = new long[QUERIES];
+            for (int i = 0; i < QUERIES; i++) {
+                String query = query(random);
+                long start = System.nanoTime();
+                searchTwoPages(query);
+                micros[i] = (System.nanoTime() - start) / 1_000;
+            }
+            Arrays.sort(micros);
+
+            System.out.printf("Search over %d educators (first two pages): p50 %.1f ms, p99 %.1f ms, max %.1f ms%n",
+                    size, micros[QUERIES / 2] / 1000.0, micros[QUERIES * 99 / 100] / 1000.0,
+                    micros[QUERIES - 1] / 1000.0);
+        }
+    }
+
+    private void searchTwoPages(String query) {
+        List<EducatorSearchHit> page = repository.searchSummaries(query, EducatorVerificationStatus.APPROVED,
+                null, PAGE_SIZE);
+        if (page.size() == PAGE_SIZE) {
+            repository.searchSummaries(query, EducatorVerificationStatus.APPROVED,
+                    EducatorSearchCursor.of(page.getLast()), PAGE_SIZE);
+        }
+    }
+
+    private static String query(Random random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            case 1 -> WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+            default -> WORDS[random.nextInt(WORDS.length)];
+        };
+    }
+
+    private void generate(int offset, int count) {
+        jdbcTemplate.update("""
+                insert into user_profile (id, username, first_name, last_name, birth_date, created_date)
+                select gen_random_uuid(), 'bench-' || g,
+                    (?::text[])[1 + floor(random() * array_length(?::text[], 1))::int],
+                    (?::text[])[1 + floor(random() * array_length(?::text[], 1))::int],
+                    date '1990-01-01', now() - random() * interval '3 years'
+                from generate_series(?, ?) g
+                """, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("text", FIRST_NAMES));
+            ps.setArray(2, ps.getConnection().createArrayOf("text", FIRST_NAMES));
+            ps.setArray(3, ps.getConnection().createArrayOf("text", LAST_NAMES));
+            ps.setArray(4, ps.getConnection().createArrayOf("text", LAST_NAMES));
+            ps.setInt(5, offset + 1);
+            ps.setInt(6, offset + count);
+        });
+
+        // Referencing u.id in the word subqueries makes Postgres draw new words per row
+        jdbcTemplate.update("""
+                insert into educator_profile (user_profile_id, bio, experience, status, has_product, created_date)
+                select u.id,
+                    (select string_agg(w[1 + floor(random() * array_length(w, 1))::int], ' ')
+                        from generate_series(1, 25) k where u.id is not null),
+                    (select string_agg(w[1 + floor(random() * array_length(w, 1))::int], ' ')
+                        from generate_series(1, 40) k where u.id is not null),
+                    ?, random() < 0.5, u.created_date
+                from user_profile u, (select ?::text[] as w) words
+                where u.username like 'bench-%'
+                    and not exists (select 1 from educator_profile e where e.user_profile_id = u.id)
+                """, ps -> {
+            ps.setInt(1, EducatorVerificationStatus.APPROVED.ordinal());
+            ps.setArray(2, ps.getConnection().createArrayOf("text", WORDS));
+        });
+    }
+}
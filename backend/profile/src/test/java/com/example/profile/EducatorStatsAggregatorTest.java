@@ -0,0 +1,125 @@
+package com.example.profile;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.example.profile.features.educatorProfile.EducatorDirectory;
+import com.example.profile.features.educatorProfile.EducatorStatsAggregator;
+import com.example.profile.features.userProfile.ProfileDetailsStore;
+import com.example.profile.infrastructure.caching.ProfileCacheInvalidator;
+
+import io.opentelemetry.api.OpenTelemetry;
+
+@ExtendWith(MockitoExtension.class)
+class EducatorStatsAggregatorTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private ProfileDetailsStore profileDetails;
+    @Mock
+    private EducatorDirectory directory;
+    @Mock
+    private ProfileCacheInvalidator cacheInvalidator;
+
+    private EducatorStatsAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        aggregator = new EducatorStatsAggregator(jdbcTemplate, TransactionOperations.withoutTransaction(),
+                profileDetails, directory, cacheInvalidator,
+                OpenTelemetry.noop().getMeter("test"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void record_ShouldStageOneDeltaPerEducator_InCallersTransaction() {
+        UUID educatorId = UUID.randomUUID();
+        UUID otherId = UUID.randomUUID();
+
+        aggregator.record(List.of(EducatorStatsAggregator.Delta.rating(educatorId, 4),
+                EducatorStatsAggregator.Delta.studentEnrolled(otherId),
+                EducatorStatsAggregator.Delta.studentEnrolled(educatorId)));
+
+        ArgumentCaptor<List<Object[]>> staged = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("educator_stats_delta"), staged.capture());
+        assertEquals(2, staged.getValue().size());
+        assertArrayEquals(new Object[] { educatorId, 4L, 1L, 1, 0 }, staged.getValue().get(0));
+        assertArrayEquals(new Object[] { otherId, 0L, 0L, 1, 0 }, staged.getValue().get(1));
+        // Nothing is flushed or invalidated until the deltas are folded in
+        verify(cacheInvalidator, never()).invalidate(anyCollection());
+    }
+
+    @Test
+    void flush_ShouldRefreshFlushedEducators() throws SQLException {
+        UUID educatorId = UUID.randomUUID();
+        drain(educatorId, 3);
+
+        aggregator.flush();
+
+        verify(profileDetails, times(1)).refresh(Set.of(educatorId));
+        verify(directory, times(1)).refresh(Set.of(educatorId));
+        verify(cacheInvalidator, times(1)).invalidate(Set.of(educatorId));
+    }
+
+    @Test
+    void flush_ShouldLeaveCachesAlone_WhenNothingIsStaged() {
+        aggregator.flush();
+
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowCallbackHandler.class), eq(5000));
+        verify(profileDetails, never()).refresh(anyCollection());
+        verify(cacheInvalidator, never()).invalidate(anyCollection());
+    }
+
+    @Test
+    void flush_ShouldNotInvalidate_WhenWriteFails() {
+        doThrow(new DataAccessResourceFailureException("down"))
+                .when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(5000));
+
+        aggregator.flush();
+
+        verify(directory, never()).refresh(anyCollection());
+        verify(cacheInvalidator, never()).invalidate(anyCollection());
+    }
+
+    // Answers the flush query with one upserted educator, folded from fewer
+    // deltas than a full batch so the flush stops after it
+    private void drain(UUID educatorId, long drained) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getObject("educator_id", UUID.class)).thenReturn(educatorId);
+        when(rs.getLong("drained")).thenReturn(drained);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(5000));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.profile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.example.profile.infrastructure.messaging.events.RegistrationInitiatedEvent;
+import com.example.profile.infrastructure.messaging.inbox.EventInbox;
+import com.example.profile.infrastructure.messaging.inbox.InboxProperties;
+
+import io.opentelemetry.api.OpenTelemetry;
+
+@ExtendWith(MockitoExtension.class)
+class EventInboxTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private EventInbox inbox;
+
+    @BeforeEach
+    void setUp() {
+        inbox = new EventInbox(jdbcTemplate, TransactionOperations.withoutTransaction(), new InboxProperties(),
+                OpenTelemetry.noop().getMeter("test"));
+    }
+
+    @Test
+    void process_ShouldDropRedelivery_WithoutQuerying() {
+        RegistrationInitiatedEvent event = event();
+        AtomicInteger handled = new AtomicInteger();
+        when(jdbcTemplate.update(anyString(), eq(event.getEventId()), eq(event.getEventType()))).thenReturn(1);
+
+        inbox.process(event, handled::incrementAndGet);
+        inbox.process(event, handled::incrementAndGet);
+
+        assertEquals(1, handled.get());
+        verify(jdbcTemplate, times(1)).update(anyString(), eq(event.getEventId()), eq(event.getEventType()));
+    }
+
+    @Test
+    void process_ShouldDropEvent_RecordedBeforeRestart() {
+        RegistrationInitiatedEvent event = event();
+        AtomicInteger handled = new AtomicInteger();
+        when(jdbcTemplate.update(anyString(), eq(event.getEventId()), eq(event.getEventType()))).thenReturn(0);
+
+        inbox.process(event, handled::incrementAndGet);
+
+        assertEquals(0, handled.get());
+    }
+
+    @Test
+    void process_ShouldRecordEventBeforeHandler_SoBothShareTheTransaction() {
+        RegistrationInitiatedEvent event = event();
+        when(jdbcTemplate.update(anyString(), eq(event.getEventId()), eq(event.getEventType()))).thenReturn(1);
+
+        assertThrows(IllegalStateException.class, () -> inbox.process(event, () -> {
+            verify(jdbcTemplate).update(contains("processed_event"), eq(event.getEventId()),
+                    eq(event.getEventType()));
+            throw new IllegalStateException("boom");
+        }));
+
+        // Rolled back with the handler, so a redelivery is handled again
+        AtomicInteger handled = new AtomicInteger();
+        inbox.process(event, handled::incrementAndGet);
+        assertEquals(1, handled.get());
+    }
+
+    private static RegistrationInitiatedEvent event() {
+        return new RegistrationInitiatedEvent(UUID.randomUUID().toString(), "username", "first-name", "last-name",
+                LocalDate.of(2000, 1, 1));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.profile;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.profile.infrastructure.messaging.events.EducatorProfileUpdatedEvent;
+import com.example.profile.infrastructure.messaging.outbox.EventOutbox;
+import com.example.profile.infrastructure.messaging.outbox.OutboxProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.opentelemetry.api.OpenTelemetry;
+
+@ExtendWith(MockitoExtension.class)
+class EventOutboxTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private EventOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        OutboxProperties properties = new OutboxProperties();
+        properties.setCoalesceWindow(Duration.ofSeconds(3));
+        outbox = new EventOutbox(jdbcTemplate, new ObjectMapper(), properties,
+                OpenTelemetry.noop().getMeter("test"));
+    }
+
+    @Test
+    void coalesce_ShouldHoldEventBackForWindow() {
+        EducatorProfileUpdatedEvent event = event();
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), any(Object[].class))).thenReturn(false);
+
+        assertFalse(outbox.coalesce("exchange", "key", event, "user-1"));
+
+        verify(jdbcTemplate).queryForObject(contains("on conflict (coalesce_key)"), eq(Boolean.class),
+                eq(event.getEventId()), eq(event.getEventType()), eq("exchange"), eq("key"), anyString(),
+                eq("user-1"), eq(3000L));
+    }
+
+    @Test
+    void coalesce_ShouldReportMerge_WhenPendingEventWasReplaced() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), any(Object[].class))).thenReturn(true);
+
+        assertTrue(outbox.coalesce("exchange", "key", event(), "user-1"));
+    }
+
+    private static EducatorProfileUpdatedEvent event() {
+        return new EducatorProfileUpdatedEvent(UUID.randomUUID().toString(), "Ada", "Lovelace", null);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.profile;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.example.profile.infrastructure.caching.BloomFilter;
+import com.example.profile.infrastructure.caching.IdFilter;
+import com.example.profile.infrastructure.caching.IdFilterProperties;
+
+import io.opentelemetry.api.OpenTelemetry;
+
+class IdFilterTest {
+    @Test
+    void bloomFilter_ShouldKeepFalsePositivesNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        List<UUID> inserted = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = UUID.randomUUID();
+            inserted.add(id);
+            filter.put(id);
+        }
+
+        inserted.forEach(id -> assertTrue(filter.mightContain(id)));
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+        assertTrue(filter.expectedFalsePositiveRate() < 0.02);
+    }
+
+    @Test
+    void mightContain_ShouldLetEveryIdThrough_BeforeFirstBuild() {
+        IdFilter filter = filter(consumer -> {
+        }, new IdFilterProperties());
+
+        assertTrue(filter.mightContain(UUID.randomUUID()));
+    }
+
+    @Test
+    void mightContain_ShouldRejectUnknownIds_AfterBuild() {
+        UUID known = UUID.randomUUID();
+        IdFilter filter = filter(consumer -> consumer.accept(known), new IdFilterProperties());
+
+        filter.rebuild();
+
+        assertTrue(filter.mightContain(known));
+        assertFalse(filter.mightContain(UUID.randomUUID()));
+    }
+
+    @Test
+    void mightContain_ShouldLetEveryIdThrough_WhenDisabled() {
+        IdFilterProperties properties = new IdFilterProperties();
+        IdFilter filter = filter(consumer -> {
+        }, properties);
+        filter.rebuild();
+
+        properties.setEnabled(false);
+
+        assertTrue(filter.mightContain(UUID.randomUUID()));
+    }
+
+    @Test
+    void put_ShouldKeepIdsInsertedDuringRebuild() {
+        UUID scanned = UUID.randomUUID();
+        UUID inserted = UUID.randomUUID();
+        IdFilter[] holder = new IdFilter[1];
+        IdFilter filter = filter(consumer -> {
+            consumer.accept(scanned);
+            // Committed after the scan passed its position
+            holder[0].put(inserted);
+        }, new IdFilterProperties());
+        holder[0] = filter;
+
+        filter.rebuild();
+
+        assertTrue(filter.mightContain(scanned));
+        assertTrue(filter.mightContain(inserted));
+    }
+
+    @Test
+    void put_ShouldKeepIdsInsertedBeforeScanStarts() {
+        UUID inserted = UUID.randomUUID();
+        IdFilter[] holder = new IdFilter[1];
+        IdFilter filter = new IdFilter("test", () -> {
+            // Committed while the filter is being sized
+            holder[0].put(inserted);
+            return 1;
+        }, consumer -> {
+        }, TransactionOperations.withoutTransaction(), new IdFilterProperties(),
+                OpenTelemetry.noop().getMeter("test"));
+        holder[0] = filter;
+
+        filter.rebuild();
+
+        assertTrue(filter.mightContain(inserted));
+    }
+
+    @Test
+    void invalidate_ShouldAddIdsFromOtherReplicas() {
+        IdFilter filter = filter(consumer -> {
+        }, new IdFilterProperties());
+        filter.rebuild();
+        UUID id = UUID.randomUUID();
+
+        filter.invalidate(List.of(id));
+
+        assertTrue(filter.mightContain(id));
+    }
+
+    private static IdFilter filter(Consumer<Consumer<UUID>> scan, IdFilterProperties properties) {
+        return new IdFilter("test", () -> 1, scan, TransactionOperations.withoutTransaction(), properties,
+                OpenTelemetry.noop().getMeter("test"));
+    }
+}
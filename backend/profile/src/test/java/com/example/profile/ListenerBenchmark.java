@@ -0,0 +1,181 @@
+package com.example.profile;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageListener;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.RabbitMQContainer;
+
+import com.example.profile.infrastructure.messaging.configs.BatchListenerProperties;
+import com.example.profile.infrastructure.messaging.configs.ListenerProperties;
+import com.example.profile.infrastructure.messaging.configs.RabbitMQConfig;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.metrics.Meter;
+
+/**
+ * Feeds a queue at a steady rate through the real listener container factory
+ * and a handler that blocks for a few milliseconds, standing in for a JDBC
+ * call. Compares the consumer settings from before the concurrency cap (3-10
+ * consumers, prefetch 10, no cap) with the platform-thread defaults and with
+ * virtual-thread mode, printing for each the drain time, p50 and p99
+ * publish-to-handled latency and the most handlers seen running at once.
+ * Skipped by default; run with
+ * {@code mvn test -Dtest=ListenerBenchmark -Dbenchmark=true}. Starts a
+ * RabbitMQ container unless {@code -Dbenchmark.rabbitmq.host} names a running
+ * broker, reached with {@code benchmark.rabbitmq.port}, {@code .username} and
+ * {@code .password} (default 5672, guest, guest).
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ListenerBenchmark {
+    private static final String QUEUE = "listener-benchmark";
+    private static final int MESSAGES = 10_000;
+    private static final int MESSAGES_PER_SECOND = 1_000;
+    private static final Duration HANDLER_TIME = Duration.ofMillis(5);
+    private static final String SENT_HEADER = "x-sent-nanos";
+
+    private static RabbitMQContainer rabbit;
+    private static Map<String, Object> broker;
+
+    @Configuration
+    @EnableConfigurationProperties({ ListenerProperties.class, BatchListenerProperties.class })
+    @Import(RabbitMQConfig.class)
+    static class BenchmarkConfig {
+        @Bean
+        Meter meter() {
+            return OpenTelemetry.noop().getMeter("benchmark");
+        }
+    }
+
+    @BeforeAll
+    static void startBroker() {
+        String host = System.getProperty("benchmark.rabbitmq.host");
+        if (host != null) {
+            broker = Map.of(
+                    "spring.rabbitmq.host", host,
+                    "spring.rabbitmq.port", System.getProperty("benchmark.rabbitmq.port", "5672"),
+                    "spring.rabbitmq.username", System.getProperty("benchmark.rabbitmq.username", "guest"),
+                    "spring.rabbitmq.password", System.getProperty("benchmark.rabbitmq.password", "guest"));
+            return;
+        }
+
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is not available");
+        rabbit = new RabbitMQContainer("rabbitmq:4.0.4-management-alpine");
+        rabbit.start();
+        broker = Map.of(
+                "spring.rabbitmq.host", rabbit.getHost(),
+                "spring.rabbitmq.port", rabbit.getAmqpPort(),
+                "spring.rabbitmq.username", rabbit.getAdminUsername(),
+                "spring.rabbitmq.password", rabbit.getAdminPassword());
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        if (rabbit != null) {
+            rabbit.stop();
+        }
+    }
+
+    @Test
+    void drainQueue() throws InterruptedException {
+        run("before cap", Map.of("app.rabbitmq.listener.max-concurrency", "1000"));
+        run("platform threads", Map.of());
+        run("virtual threads", Map.of("app.rabbitmq.listener.virtual-threads", "true"));
+    }
+
+    private void run(String name, Map<String, Object> overrides) throws InterruptedException {
+        Map<String, Object> properties = new HashMap<>(broker);
+        properties.put("spring.rabbitmq.virtual-host", "/");
+        properties.put("app.rabbitmq.exchange", "benchmark-exchange");
+        properties.put("app.rabbitmq.dlq-exchange", "benchmark-dlq-exchange");
+        properties.putAll(overrides);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BenchmarkConfig.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                // Arguments, unlike default properties, override application.yml
+                .run(properties.entrySet().stream().map(e -> "--" + e.getKey() + "=" + e.getValue())
+                        .toArray(String[]::new))) {
+            RabbitAdmin admin = context.getBean(RabbitAdmin.class);
+            admin.declareQueue(new Queue(QUEUE, false));
+            admin.purgeQueue(QUEUE, false);
+
+            long[] latencies = new long[MESSAGES];
+            AtomicInteger handled = new AtomicInteger();
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            CountDownLatch done = new CountDownLatch(MESSAGES);
+
+            SimpleMessageListenerContainer container = context
+                    .getBean("rabbitListenerContainerFactory", SimpleRabbitListenerContainerFactory.class)
+                    .createListenerContainer();
+            container.setQueueNames(QUEUE);
+            container.setMessageListener((MessageListener) message -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    LockSupport.parkNanos(HANDLER_TIME.toNanos());
+                } finally {
+                    running.decrementAndGet();
+                }
+                long sent = message.getMessageProperties().<Long>getHeader(SENT_HEADER);
+                latencies[handled.getAndIncrement()] = System.nanoTime() - sent;
+                done.countDown();
+            });
+            container.start();
+
+            try {
+                RabbitTemplate template = context.getBean(RabbitTemplate.class);
+                long start = System.nanoTime();
+                long interval = TimeUnit.SECONDS.toNanos(1) / MESSAGES_PER_SECOND;
+                for (int i = 0; i < MESSAGES; i++) {
+                    LockSupport.parkNanos(start + i * interval - System.nanoTime());
+                    Message message = MessageBuilder.withBody(new byte[0])
+                            .setHeader(SENT_HEADER, System.nanoTime())
+                            .build();
+                    template.send("", QUEUE, message);
+                }
+                if (!done.await(5, TimeUnit.MINUTES)) {
+                    throw new IllegalStateException("Handled only " + handled.get() + " of " + MESSAGES);
+                }
+                long elapsed = System.nanoTime() - start;
+
+                Arrays.sort(latencies);
+                System.out.printf("%s: %d messages at %d/s drained in %.1f s, latency p50 %.1f ms, "
+                        + "p99 %.1f ms, max %.1f ms, at most %d handlers at once%n",
+                        name, MESSAGES, MESSAGES_PER_SECOND, elapsed / 1e9,
+                        latencies[MESSAGES / 2] / 1e6, latencies[MESSAGES * 99 / 100] / 1e6,
+                        latencies[MESSAGES - 1] / 1e6, maxRunning.get());
+            } finally {
+                container.stop();
+            }
+        }
+    }
+}
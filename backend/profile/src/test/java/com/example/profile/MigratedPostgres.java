@@ -0,0 +1,67 @@
+package com.example.profile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * A throwaway Postgres, started once per test run, with every migration in
+ * {@code migrations/changelog} applied in changelog order. Test classes using
+ * it should be annotated {@code @Testcontainers(disabledWithoutDocker = true)}
+ * so they are skipped where Docker is not available.
+ */
+final class MigratedPostgres {
+    private static final Path CHANGELOG = Path.of("migrations", "changelog");
+    private static final Pattern INCLUDE = Pattern.compile("<include file=\"([^\"]+)\"");
+
+    private static PostgreSQLContainer<?> container;
+
+    private MigratedPostgres() {
+    }
+
+    static void register(DynamicPropertyRegistry registry) {
+        PostgreSQLContainer<?> postgres = start();
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    private static synchronized PostgreSQLContainer<?> start() {
+        if (container == null) {
+            PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17.4-alpine");
+            postgres.start();
+            migrate(postgres);
+            container = postgres;
+        }
+        return container;
+    }
+
+    // The driver splits each file into statements itself and understands
+    // dollar quoting, so trigger bodies survive as they do under Liquibase
+    private static void migrate(PostgreSQLContainer<?> postgres) {
+        try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(),
+                postgres.getPassword());
+                Statement statement = connection.createStatement()) {
+            Matcher includes = INCLUDE.matcher(Files.readString(CHANGELOG.resolve("db.changelog-master.xml")));
+            while (includes.find()) {
+                statement.execute(Files.readString(CHANGELOG.resolve(includes.group(1))));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to migrate the test database", e);
+        }
+    }
+}
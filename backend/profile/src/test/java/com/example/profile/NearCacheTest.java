@@ -0,0 +1,83 @@
+package com.example.profile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.profile.exceptions.ErrorCodes;
+import com.example.profile.exceptions.NotFoundException;
+import com.example.profile.infrastructure.caching.CacheProperties;
+import com.example.profile.infrastructure.caching.NearCache;
+import com.example.profile.infrastructure.caching.ProfileCacheInvalidator;
+import com.example.profile.infrastructure.messaging.events.ProfileCacheInvalidatedEvent;
+import com.example.profile.infrastructure.messaging.publishers.EventPublisher;
+
+import io.opentelemetry.api.OpenTelemetry;
+
+@ExtendWith(MockitoExtension.class)
+class NearCacheTest {
+    @Mock
+    private EventPublisher publisher;
+
+    @Test
+    void get_ShouldNotCacheFailedLoads() {
+        NearCache<String> cache = cache();
+        UUID id = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThrows(NotFoundException.class, () -> cache.get(id, key -> {
+            loads.incrementAndGet();
+            throw new NotFoundException("Profile not found", ErrorCodes.USER_PROFILE_NOT_FOUND);
+        }));
+        cache.get(id, key -> "loaded-" + loads.incrementAndGet());
+
+        assertEquals("loaded-2", cache.get(id, key -> "unexpected"));
+    }
+
+    @Test
+    void get_ShouldRecordHitsAndMisses() {
+        NearCache<String> cache = cache();
+        UUID first = UUID.randomUUID();
+
+        cache.get(first, UUID::toString);
+        cache.get(first, UUID::toString);
+        cache.get(UUID.randomUUID(), UUID::toString);
+
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(2, cache.stats().missCount());
+    }
+
+    @Test
+    void onBroadcast_ShouldEvictLocally_WhenSentByAnotherReplica() {
+        NearCache<String> cache = cache();
+        ProfileCacheInvalidator invalidator = new ProfileCacheInvalidator(List.of(cache), publisher);
+        UUID id = UUID.randomUUID();
+
+        cache.get(id, key -> "cached");
+        ProfileCacheInvalidatedEvent remote = new ProfileCacheInvalidatedEvent(List.of(id.toString()), "other");
+
+        assertTrue(invalidator.onBroadcast(remote));
+        assertEquals("reloaded", cache.get(id, key -> "reloaded"));
+        verify(publisher, never()).publishProfileCacheInvalidated(any());
+    }
+
+    private static NearCache<String> cache() {
+        CacheProperties properties = new CacheProperties();
+        properties.setMaximumSize(10);
+        properties.setTtl(Duration.ofMinutes(5));
+        return new NearCache<>("test", properties, OpenTelemetry.noop().getMeter("test"));
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.profile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.example.profile.infrastructure.messaging.events.EducatorProfileUpdatedEvent;
+import com.example.profile.infrastructure.messaging.outbox.EventOutbox;
+import com.example.profile.infrastructure.messaging.outbox.OutboxProperties;
+import com.example.profile.infrastructure.messaging.outbox.OutboxRelay;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.metrics.Meter;
+
+/**
+ * Runs coalescing and the relay against the migrated schema, where the
+ * partial unique index decides what merges. Every statement commits, as it
+ * does in production, so the relay and a concurrent writer really contend.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxCoalesceTest {
+    private static final String PENDING_SQL = """
+            select event_id from event_outbox
+            where coalesce_key = ? and sent_date is null and failed_date is null
+            order by id
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final OutboxProperties properties = new OutboxProperties();
+    private final Meter meter = OpenTelemetry.noop().getMeter("test");
+    private EventOutbox outbox;
+    private OutboxRelay relay;
+    private String key;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        MigratedPostgres.register(registry);
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Rows left by other tests would be claimed alongside this test's
+        jdbcTemplate.update("delete from event_outbox");
+        properties.setConfirmTimeout(Duration.ofSeconds(5));
+        outbox = new EventOutbox(jdbcTemplate, new ObjectMapper(), properties, meter);
+        relay = new OutboxRelay(jdbcTemplate, new TransactionTemplate(transactionManager), rabbitTemplate,
+                properties, meter);
+        key = "test:" + UUID.randomUUID();
+    }
+
+    @Test
+    void coalesce_ShouldMergeIntoPendingRow_WithinWindow() {
+        properties.setCoalesceWindow(Duration.ofHours(1));
+        EducatorProfileUpdatedEvent first = event();
+        EducatorProfileUpdatedEvent second = event();
+
+        assertFalse(outbox.coalesce("exchange", "key", first, key));
+        assertTrue(outbox.coalesce("exchange", "key", second, key));
+
+        assertEquals(List.of(second.getEventId()), pending());
+    }
+
+    @Test
+    void relay_ShouldHoldEventBack_UntilWindowHasPassed() {
+        properties.setCoalesceWindow(Duration.ofHours(1));
+        outbox.coalesce("exchange", "key", event(), key);
+
+        relay.relay();
+
+        verify(rabbitTemplate, never()).send(anyString(), anyString(), any(Message.class),
+                any(CorrelationData.class));
+    }
+
+    @Test
+    void coalesce_ShouldNotWaitForRelay_WhileConfirmIsOutstanding() {
+        properties.setCoalesceWindow(Duration.ZERO);
+        EducatorProfileUpdatedEvent claimed = event();
+        EducatorProfileUpdatedEvent next = event();
+        outbox.coalesce("exchange", "key", claimed, key);
+
+        doAnswer(invocation -> {
+            // Runs on its own connection while the relay waits for the confirm
+            assertFalse(CompletableFuture.supplyAsync(() -> outbox.coalesce("exchange", "key", next, key))
+                    .get(5, TimeUnit.SECONDS));
+            CorrelationData correlation = invocation.getArgument(3);
+            correlation.getFuture().complete(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        relay.relay();
+
+        // The claimed event was sent as it was; the newer one waits for its turn
+        assertEquals(List.of(next.getEventId()), pending());
+    }
+
+    @Test
+    void relay_ShouldSkipClaimedRow_WhenNewerRowReplacedIt() {
+        properties.setCoalesceWindow(Duration.ZERO);
+        EducatorProfileUpdatedEvent stale = event();
+        EducatorProfileUpdatedEvent latest = event();
+        outbox.coalesce("exchange", "key", stale, key);
+        // Claimed once and left for a retry, as after a nack
+        jdbcTemplate.update("update event_outbox set claimed_date = now() where coalesce_key = ?", key);
+        outbox.coalesce("exchange", "key", latest, key);
+
+        List<String> sent = new ArrayList<>();
+        doAnswer(invocation -> {
+            Message message = invocation.getArgument(2);
+            sent.add(message.getMessageProperties().getMessageId());
+            CorrelationData correlation = invocation.getArgument(3);
+            correlation.getFuture().complete(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        relay.relay();
+
+        assertEquals(List.of(latest.getEventId()), sent);
+        assertTrue(pending().isEmpty());
+    }
+
+    private List<String> pending() {
+        return jdbcTemplate.queryForList(PENDING_SQL, String.class, key);
+    }
+
+    private static EducatorProfileUpdatedEvent event() {
+        return new EducatorProfileUpdatedEvent(UUID.randomUUID().toString(), "Ada", "Lovelace", null);
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.profile;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.example.profile.infrastructure.messaging.outbox.OutboxProperties;
+import com.example.profile.infrastructure.messaging.outbox.OutboxRelay;
+
+import io.opentelemetry.api.OpenTelemetry;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private OutboxProperties properties;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OutboxProperties();
+        properties.setBatchSize(2);
+        properties.setConfirmTimeout(Duration.ofMillis(100));
+        properties.setMaxAttempts(3);
+        relay = new OutboxRelay(jdbcTemplate, TransactionOperations.withoutTransaction(), rabbitTemplate,
+                properties, OpenTelemetry.noop().getMeter("test"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relay_ShouldMarkConfirmedEventsSent() throws SQLException {
+        claim(row(1, 0), row(2, 0));
+        confirmWith(true);
+
+        relay.relay();
+
+        ArgumentCaptor<List<Object[]>> sent = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("sent_date = now()"), sent.capture());
+        assertEquals(2, sent.getValue().size());
+        assertArrayEquals(new Object[] { 1L }, sent.getValue().get(0));
+        assertArrayEquals(new Object[] { 2L }, sent.getValue().get(1));
+        verify(jdbcTemplate, never()).batchUpdate(contains("last_error"), any(List.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relay_ShouldScheduleRetryWithBackoff_WhenBrokerNacks() throws SQLException {
+        claim(row(1, 2));
+        confirmWith(false);
+
+        relay.relay();
+
+        ArgumentCaptor<List<Object[]>> retries = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("last_error"), retries.capture());
+        Object[] retry = retries.getValue().getFirst();
+        assertEquals(4000L, retry[1]);
+        assertEquals(3, retry[2]);
+        assertEquals(1L, retry[3]);
+        verify(jdbcTemplate, never()).batchUpdate(contains("sent_date = now()"), any(List.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relay_ShouldStopDraining_WhenSendFails() throws SQLException {
+        claim(row(1, 0), row(2, 0));
+        doThrow(new AmqpConnectException(new RuntimeException("connection refused")))
+                .when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        relay.relay();
+
+        ArgumentCaptor<List<Object[]>> retries = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("last_error"), retries.capture());
+        assertEquals(2, retries.getValue().size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relay_ShouldSettleWithoutSending_WhenCoalescedRowWasSuperseded() throws SQLException {
+        ResultSet superseded = row(1, 0);
+        when(superseded.getBoolean("superseded")).thenReturn(true);
+        claim(superseded, row(2, 0));
+        confirmWith(true);
+
+        relay.relay();
+
+        verify(rabbitTemplate, times(1)).send(anyString(), anyString(), any(Message.class),
+                any(CorrelationData.class));
+        ArgumentCaptor<List<Object[]>> settled = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("set sent_date = now()\n"), settled.capture());
+        assertArrayEquals(new Object[] { 1L }, settled.getValue().getFirst());
+    }
+
+    // Claims the given rows on the first poll and nothing afterwards
+    @SuppressWarnings("unchecked")
+    private void claim(ResultSet... rows) throws SQLException {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(properties.getClaimLease().toMillis()),
+                eq(properties.getBatchSize())))
+                .thenAnswer(invocation -> {
+                    RowMapper<Object> mapper = invocation.getArgument(1);
+                    List<Object> mapped = new ArrayList<>();
+                    for (ResultSet rs : rows) {
+                        mapped.add(mapper.mapRow(rs, mapped.size()));
+                    }
+                    return mapped;
+                })
+                .thenReturn(List.of());
+    }
+
+    private void confirmWith(boolean ack) {
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            correlation.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "nack"));
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+    }
+
+    private static ResultSet row(long id, int attempts) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(id);
+        when(rs.getString("event_id")).thenReturn(UUID.randomUUID().toString());
+        when(rs.getString("event_type")).thenReturn("EDUCATOR_CREATED");
+        when(rs.getString("exchange")).thenReturn("user-service-exchange");
+        when(rs.getString("routing_key")).thenReturn("profile.to.auth.educator.created");
+        when(rs.getString("payload")).thenReturn("{}");
+        when(rs.getInt("attempts")).thenReturn(attempts);
+        return rs;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.profile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.example.profile.features.userProfile.ProfileDetailsStore;
+import com.example.profile.features.userProfile.contracts.ProfileDetailsResponse;
+
+/**
+ * Calls the store through its Spring proxy with no surrounding transaction,
+ * the way {@code UserProfileService.createUserProfile} does.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest
+@Import(ProfileDetailsStore.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProfileDetailsStoreTest {
+    @Autowired
+    private ProfileDetailsStore store;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        MigratedPostgres.register(registry);
+    }
+
+    @Test
+    void refresh_ShouldProjectProfile_WhenCalledOutsideTransaction() {
+        UUID id = insertUser("Ada");
+
+        store.refresh(id);
+
+        ProfileDetailsResponse details = store.findById(id).orElseThrow();
+        assertEquals("Ada", details.firstName());
+    }
+
+    @Test
+    void refreshAll_ShouldProjectProfiles_WhenCalledOutsideTransaction() {
+        UUID first = insertUser("Grace");
+        UUID second = insertUser("Alan");
+
+        store.refresh(List.of(first, second));
+
+        assertEquals("Grace", store.findById(first).orElseThrow().firstName());
+        assertEquals("Alan", store.findById(second).orElseThrow().firstName());
+    }
+
+    private UUID insertUser(String firstName) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("""
+                insert into user_profile (id, username, first_name, last_name, birth_date, created_date)
+                values (?, ?, ?, 'Test', date '1990-01-01', now())
+                """, id, "user-" + id, firstName);
+        return id;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.profile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.example.profile.features.educatorProfile.EducatorProfileRepository;
+import com.example.profile.features.educatorProfile.contracts.PatchEducatorProfileRequest;
+import com.example.profile.features.educatorProfile.entities.EducatorVerificationStatus;
+import com.example.profile.features.userProfile.UserProfileRepository;
+import com.example.profile.features.userProfile.contracts.PatchUserProfileRequest;
+import com.example.profile.features.userProfile.projections.UserProfilePatchView;
+import com.example.profile.infrastructure.web.RowVersion;
+
+/**
+ * Runs the PATCH statements against the migrated schema, where the version
+ * triggers live.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest
+class ProfilePatchTest {
+    @Autowired
+    private UserProfileRepository userRepository;
+    @Autowired
+    private EducatorProfileRepository educatorRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID id;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        MigratedPostgres.register(registry);
+    }
+
+    @BeforeEach
+    void setUp() {
+        id = UUID.randomUUID();
+        jdbcTemplate.update("""
+                insert into user_profile (id, username, first_name, last_name, bio, birth_date, created_date)
+                values (?, ?, 'Ada', 'Lovelace', 'bio', date '1990-01-01', now())
+                """, id, "user-" + id);
+        jdbcTemplate.update("""
+                insert into educator_profile (user_profile_id, bio, status, has_product, created_date)
+                values (?, 'educator-bio', ?, false, now())
+                """, id, EducatorVerificationStatus.APPROVED.ordinal());
+    }
+
+    @Test
+    void patchUser_ShouldWriteNothing_WhenValuesAreUnchanged() {
+        Optional<UserProfilePatchView> patched = userRepository.patch(id,
+                new PatchUserProfileRequest("Ada", null, "bio", null), null);
+
+        assertTrue(patched.isEmpty());
+        assertEquals(Optional.of(0L), userRepository.findRowVersion(id));
+    }
+
+    @Test
+    void patchUser_ShouldWriteNothing_WhenVersionDoesNotMatch() {
+        Optional<UserProfilePatchView> patched = userRepository.patch(id,
+                new PatchUserProfileRequest("Grace", null, null, null), 5L);
+
+        assertTrue(patched.isEmpty());
+        assertEquals(Optional.of(0L), userRepository.findRowVersion(id));
+        assertEquals("Ada", jdbcTemplate.queryForObject("select first_name from user_profile where id = ?",
+                String.class, id));
+    }
+
+    @Test
+    void patchUser_ShouldReportEducatorFieldsChanged_OnlyForMirroredFields() {
+        UserProfilePatchView names = userRepository.patch(id,
+                new PatchUserProfileRequest("Grace", null, null, null), 0L).orElseThrow();
+        UserProfilePatchView bio = userRepository.patch(id,
+                new PatchUserProfileRequest(null, null, "new-bio", null), names.version()).orElseThrow();
+
+        assertEquals(1, names.version());
+        assertTrue(names.educatorFieldsChanged());
+        assertEquals("Grace", names.firstName());
+        assertEquals("Lovelace", names.lastName());
+        assertEquals(2, bio.version());
+        assertFalse(bio.educatorFieldsChanged());
+    }
+
+    @Test
+    void patchEducator_ShouldBumpVersionOnlyOnChange() {
+        PatchEducatorProfileRequest request = new PatchEducatorProfileRequest("new-bio", null, null);
+
+        assertEquals(Optional.of(1L), educatorRepository.patch(id, request, 0L));
+        assertTrue(educatorRepository.patch(id, request, null).isEmpty());
+        assertTrue(educatorRepository.patch(id, new PatchEducatorProfileRequest("other-bio", null, null), 0L)
+                .isEmpty());
+        assertEquals(Optional.of(1L), educatorRepository.findRowVersion(id));
+    }
+
+    @Test
+    void findVersionById_ShouldCarryTheVersionPatchExpects() {
+        educatorRepository.patch(id, new PatchEducatorProfileRequest("new-bio", null, null), null);
+
+        String etag = educatorRepository.findVersionById(id, EducatorVerificationStatus.APPROVED)
+                .orElseThrow()
+                .etag();
+
+        assertEquals(1L, RowVersion.fromIfMatch(etag));
+        assertEquals(Optional.of(2L), educatorRepository.patch(id,
+                new PatchEducatorProfileRequest("other-bio", null, null), RowVersion.fromIfMatch(etag)));
+    }
+}
@@ -0,0 +1,284 @@
+package com.example.profile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.example.profile.features.educatorProfile.EducatorProfileRepository;
+import com.example.profile.features.educatorProfile.entities.EducatorVerificationStatus;
+import com.example.profile.features.educatorProfile.projections.EducatorChangeView;
+import com.example.profile.features.educatorProfile.projections.EducatorSummaryView;
+import com.example.profile.features.userProfile.UserProfileRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Runs the repository queries against the migrated test Postgres holding 100k
+ * generated educators, then EXPLAINs every statement they sent with the same
+ * parameters, prints each plan and fails if any scans {@code educator_profile}
+ * or {@code user_profile} sequentially. Generated rows and statistics are
+ * rolled back with the test transaction. Skipped without Docker.
+ * <p>
+ * The NDJSON export is left out on purpose: it reads every approved row, where
+ * a sequential scan is the right plan.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest
+class QueryPlanTest {
+    private static final int EDUCATORS = 100_000;
+    private static final Set<String> CHECKED_TABLES = Set.of("educator_profile", "user_profile");
+    private static final List<Statement> RECORDED = new ArrayList<>();
+    private static volatile boolean recording;
+
+    @Autowired
+    private EducatorProfileRepository repository;
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        MigratedPostgres.register(registry);
+    }
+
+    @TestConfiguration
+    static class RecordingConfig {
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? recording(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @Test
+    void repositoryQueries_ShouldNotScanSequentially() {
+        generate();
+        UUID educatorId = jdbcTemplate.queryForObject("""
+                select user_profile_id from educator_profile
+                where status = ? and deleted_date is null
+                limit 1
+                """, UUID.class, EducatorVerificationStatus.APPROVED.ordinal());
+        UUID otherId = jdbcTemplate.queryForObject("""
+                select user_profile_id from educator_profile
+                where user_profile_id <> ?
+                limit 1
+                """, UUID.class, educatorId);
+        List<UUID> ids = jdbcTemplate.queryForList("""
+                select user_profile_id from educator_profile tablesample system (1)
+                limit 50
+                """, UUID.class);
+
+        RECORDED.clear();
+        recording = true;
+        try {
+            repository.findSummariesByStatus(EducatorVerificationStatus.APPROVED, PageRequest.of(0, 20));
+            List<EducatorSummaryView> page = repository.findSummariesByStatus(EducatorVerificationStatus.APPROVED,
+                    Limit.of(21));
+            EducatorSummaryView last = page.getLast();
+            repository.findSummariesByStatusAfter(EducatorVerificationStatus.APPROVED, last.hasProduct(),
+                    last.createdDate(), last.id(), Limit.of(21));
+            repository.findDetailsById(educatorId, EducatorVerificationStatus.APPROVED);
+            repository.findVersionById(educatorId, EducatorVerificationStatus.APPROVED);
+            repository.findSummariesByIds(ids, EducatorVerificationStatus.APPROVED);
+            repository.searchSummaries("piano lessons", EducatorVerificationStatus.APPROVED, null, 20);
+            List<EducatorChangeView> changes = repository.findChanges(LocalDateTime.now().plusDays(1),
+                    Limit.of(100));
+            EducatorChangeView change = changes.getLast();
+            repository.findChangesAfter(change.changeDate(), change.id(), LocalDateTime.now().plusDays(1),
+                    Limit.of(100));
+            repository.findById(educatorId);
+            userProfileRepository.findById(otherId);
+            userProfileRepository.findVersionById(educatorId);
+            userProfileRepository.findSummariesByIds(ids);
+        } finally {
+            recording = false;
+        }
+
+        List<String> sequentialScans = new ArrayList<>();
+        for (Statement statement : List.copyOf(RECORDED)) {
+            JsonNode plan = explain(statement);
+            StringBuilder description = new StringBuilder(statement.sql().strip()).append('\n');
+            describe(plan, 1, description);
+            System.out.println(description);
+            if (scansSequentially(plan)) {
+                sequentialScans.add(statement.sql() + "\n" + plan.toPrettyString());
+            }
+        }
+        assertEquals(List.of(), sequentialScans);
+    }
+
+    private JsonNode explain(Statement statement) {
+        String json = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement("explain (format json) " + statement.sql())) {
+                for (Binding binding : statement.bindings()) {
+                    binding.method().invoke(ps, binding.args());
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    return rs.getString(1);
+                }
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        try {
+            return objectMapper.readTree(json).get(0).get("Plan");
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // One line per plan node: type, index and relation, estimated rows and cost
+    private static void describe(JsonNode node, int depth, StringBuilder out) {
+        out.append("  ".repeat(depth)).append(node.path("Node Type").asText());
+        if (node.has("Index Name")) {
+            out.append(" using ").append(node.path("Index Name").asText());
+        }
+        if (node.has("Relation Name")) {
+            out.append(" on ").append(node.path("Relation Name").asText());
+        }
+        out.append(String.format(" (rows=%.0f cost=%.2f)%n", node.path("Plan Rows").asDouble(),
+                node.path("Total Cost").asDouble()));
+        for (JsonNode child : node.path("Plans")) {
+            describe(child, depth + 1, out);
+        }
+    }
+
+    private static boolean scansSequentially(JsonNode node) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())
+                && CHECKED_TABLES.contains(node.path("Relation Name").asText())) {
+            return true;
+        }
+        for (JsonNode child : node.path("Plans")) {
+            if (scansSequentially(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void generate() {
+        jdbcTemplate.update("""
+                insert into user_profile (id, username, first_name, last_name, birth_date, created_date)
+                select gen_random_uuid(), 'plan-' || g, 'First' || g % 500, 'Last' || g % 700,
+                    date '1990-01-01', now() - random() * interval '3 years'
+                from generate_series(1, ?) g
+                """, EDUCATORS);
+
+        // Mostly approved, some pending, a few deleted; about a third have stats
+        jdbcTemplate.update("""
+                insert into educator_profile
+                    (user_profile_id, bio, experience, status, has_product, created_date, deleted_date)
+                select u.id,
+                    (array['piano', 'guitar', 'algebra', 'physics', 'java', 'yoga', 'drawing', 'chess'])
+                        [1 + floor(random() * 8)::int] || ' lessons for beginners',
+                    'years of teaching experience',
+                    case when random() < 0.8 then ? else ? end,
+                    random() < 0.5, u.created_date,
+                    case when random() < 0.05 then now() end
+                from user_profile u
+                where u.username like 'plan-%'
+                """, EducatorVerificationStatus.APPROVED.ordinal(), EducatorVerificationStatus.PENDING.ordinal());
+        jdbcTemplate.update("""
+                insert into educator_stats (educator_id, rating_sum, rating_count, student_count, product_count)
+                select user_profile_id, 9, 2, 10, 1
+                from educator_profile tablesample bernoulli (33)
+                on conflict (educator_id) do nothing
+                """);
+
+        jdbcTemplate.execute("analyze user_profile");
+        jdbcTemplate.execute("analyze educator_profile");
+        jdbcTemplate.execute("analyze educator_stats");
+    }
+
+    private static DataSource recording(DataSource target) {
+        return proxy(DataSource.class, target, (method, args, result) -> result instanceof Connection connection
+                ? proxy(Connection.class, connection, QueryPlanTest::recordingStatement)
+                : result);
+    }
+
+    private static Object recordingStatement(Method method, Object[] args, Object result) {
+        if (!(result instanceof PreparedStatement statement) || !method.getName().equals("prepareStatement")) {
+            return result;
+        }
+
+        String sql = (String) args[0];
+        List<Binding> bindings = new ArrayList<>();
+        return proxy(PreparedStatement.class, statement, (call, callArgs, callResult) -> {
+            String name = call.getName();
+            if (name.startsWith("set") && callArgs != null && callArgs.length >= 2 && callArgs[0] instanceof Integer) {
+                bindings.add(new Binding(call, callArgs));
+            } else if (name.equals("clearParameters")) {
+                bindings.clear();
+            } else if (recording && (name.equals("executeQuery") || name.equals("execute"))
+                    && sql.stripLeading().toLowerCase().startsWith("select")) {
+                synchronized (RECORDED) {
+                    RECORDED.add(new Statement(sql, List.copyOf(bindings)));
+                }
+            }
+            return callResult;
+        });
+    }
+
+    /**
+     * Wraps {@code target} so every call is passed through and its result
+     * handed to {@code after}, which may replace it.
+     */
+    private static <T> T proxy(Class<T> type, T target, AfterCall after) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    try {
+                        return after.apply(method, args, method.invoke(target, args));
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }));
+    }
+
+    @FunctionalInterface
+    private interface AfterCall {
+        Object apply(Method method, Object[] args, Object result) throws Throwable;
+    }
+
+    private record Statement(String sql, List<Binding> bindings) {
+    }
+
+    private record Binding(Method method, Object[] args) {
+    }
+}
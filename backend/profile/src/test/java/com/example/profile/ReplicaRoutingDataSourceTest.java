@@ -0,0 +1,158 @@
+package com.example.profile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.profile.infrastructure.identity.CurrentUser;
+import com.example.profile.infrastructure.persistence.ReplicaProperties;
+import com.example.profile.infrastructure.persistence.ReplicaRoutingDataSource;
+
+import io.opentelemetry.api.OpenTelemetry;
+
+/**
+ * Uses two in-memory H2 databases as stand-ins for the primary and a replica;
+ * each holds a single row naming itself.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+    @Mock
+    private CurrentUser currentUser;
+
+    private final UUID userId = UUID.randomUUID();
+    private ReplicaProperties properties;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ReplicaProperties();
+        properties.setReadYourWritesWindow(Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        routing.close();
+    }
+
+    @Test
+    void getConnection_ShouldUseReplica_ForReadOnlyTransactions() {
+        init(database("replica"));
+
+        assertEquals("primary", read(false));
+        assertEquals("replica", read(true));
+        assertEquals("primary", jdbcTemplate.queryForObject("select name from whoami", String.class));
+    }
+
+    @Test
+    void getConnection_ShouldUsePrimary_ForRepositoryTransactions() {
+        init(database("replica"));
+
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.setName("org.springframework.data.jpa.repository.support.SimpleJpaRepository.findById");
+
+        assertEquals("primary", template.execute(s -> jdbcTemplate.queryForObject("select name from whoami",
+                String.class)));
+    }
+
+    @Test
+    void getConnection_ShouldUsePrimary_ForPrimaryReads() {
+        init(database("replica"));
+
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.setName(ReplicaRoutingDataSource.PRIMARY_READ);
+
+        assertEquals("primary", template.execute(s -> jdbcTemplate.queryForObject("select name from whoami",
+                String.class)));
+    }
+
+    @Test
+    void getConnection_ShouldRouteConnectionsWithCredentials() throws SQLException {
+        init(database("replica"));
+
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+
+        assertEquals("primary", whoami(routing.getConnection("sa", "")));
+        assertEquals("replica", template.execute(s -> {
+            try {
+                return whoami(routing.getConnection("sa", ""));
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+    }
+
+    @Test
+    void getConnection_ShouldFailOverToPrimary_WhenReplicaIsDown() {
+        init(new DriverManagerDataSource("jdbc:h2:mem:missing-" + UUID.randomUUID() + ";IFEXISTS=TRUE", "sa", ""));
+
+        assertEquals("primary", read(true));
+    }
+
+    @Test
+    void getConnection_ShouldReadOwnWrites_WithinWindow() {
+        when(currentUser.findUserId()).thenReturn(Optional.of(userId));
+        init(database("replica"));
+
+        assertEquals("replica", read(true));
+        assertEquals("primary", read(false));
+        assertEquals("primary", read(true));
+    }
+
+    private void init(DataSource replica) {
+        routing = new ReplicaRoutingDataSource(database("primary"), List.of(replica), properties, currentUser,
+                OpenTelemetry.noop().getMeter("test"));
+        routing.checkReplicas();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    private String read(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(s -> jdbcTemplate.queryForObject("select name from whoami", String.class));
+    }
+
+    private static String whoami(Connection connection) throws SQLException {
+        try (connection; ResultSet rs = connection.createStatement().executeQuery("select name from whoami")) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("create table whoami (name varchar(20))");
+        template.update("insert into whoami values (?)", name);
+        return dataSource;
+    }
+}
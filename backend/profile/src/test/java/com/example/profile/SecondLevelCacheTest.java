@@ -0,0 +1,135 @@
+package com.example.profile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.profile.features.educatorProfile.EducatorProfileRepository;
+import com.example.profile.features.educatorProfile.entities.EducatorProfile;
+import com.example.profile.features.educatorProfile.entities.EducatorVerificationStatus;
+import com.example.profile.features.userProfile.UserProfileRepository;
+import com.example.profile.features.userProfile.entities.UserProfile;
+import com.example.profile.infrastructure.caching.HibernateCacheConfig;
+import com.example.profile.infrastructure.caching.HibernateCacheProperties;
+import com.example.profile.infrastructure.caching.SecondLevelCache;
+
+import io.opentelemetry.api.OpenTelemetry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Runs without a test transaction: read-write regions and the query cache
+ * ignore data written by a transaction that has not committed yet.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+@Import({ HibernateCacheConfig.class, HibernateCacheProperties.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+    @Autowired
+    private EducatorProfileRepository repository;
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private SecondLevelCache secondLevelCache;
+    private UUID educatorId;
+
+    @BeforeEach
+    void setUp() {
+        educatorId = UUID.randomUUID();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            UserProfile user = entityManager.persist(UserProfile.builder()
+                    .id(educatorId)
+                    .username("user")
+                    .firstName("first-name")
+                    .lastName("last-name")
+                    .birthDate(LocalDate.of(1990, 1, 1))
+                    .build());
+            entityManager.persist(EducatorProfile.builder()
+                    .userProfile(user)
+                    .bio("bio")
+                    .status(EducatorVerificationStatus.APPROVED)
+                    .build());
+        });
+
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        secondLevelCache = new SecondLevelCache(sessionFactory, OpenTelemetry.noop().getMeter("test"));
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+        userProfileRepository.deleteAll();
+    }
+
+    @Test
+    void findById_ShouldReadFromSecondLevelCache_WhenLoadedBefore() {
+        load();
+        long statements = statistics.getPrepareStatementCount();
+        load();
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+    }
+
+    @Test
+    void findById_ShouldReadFromDatabase_WhenInvalidated() {
+        load();
+        long statements = statistics.getPrepareStatementCount();
+        secondLevelCache.invalidate(List.of(educatorId));
+        load();
+
+        assertEquals(2 * statements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findSummariesByStatus_ShouldReadFromQueryCache_UntilInvalidated() {
+        listing();
+        listing();
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        secondLevelCache.invalidate(List.of(educatorId));
+        listing();
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    private void load() {
+        EducatorProfile educator = repository.findById(educatorId).orElseThrow();
+        assertEquals("first-name", educator.getUserProfile().getFirstName());
+    }
+
+    private void listing() {
+        assertEquals(1, repository.findSummariesByStatus(EducatorVerificationStatus.APPROVED, PageRequest.of(0, 10))
+                .getNumberOfElements());
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.profile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.profile.exceptions.ErrorCodes;
+import com.example.profile.exceptions.NotFoundException;
+import com.example.profile.exceptions.ServiceUnavailableException;
+import com.example.profile.infrastructure.caching.SingleFlight;
+
+import io.opentelemetry.api.OpenTelemetry;
+
+class SingleFlightTest {
+    private static final int CALLERS = 50;
+
+    private final UUID key = UUID.randomUUID();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final CountDownLatch loading = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_ShouldShareOneLoad_WhenCalledConcurrently() throws Exception {
+        SingleFlight<String> flight = flight(Duration.ofSeconds(5));
+
+        List<Future<String>> results = callConcurrently(flight, () -> "value");
+
+        for (Future<String> result : results) {
+            assertEquals("value", result.get());
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void execute_ShouldShareFailure_WhenLoadThrows() throws Exception {
+        SingleFlight<String> flight = flight(Duration.ofSeconds(5));
+        NotFoundException failure = new NotFoundException("Profile not found", ErrorCodes.USER_PROFILE_NOT_FOUND);
+
+        List<Future<String>> results = callConcurrently(flight, () -> {
+            throw failure;
+        });
+
+        for (Future<String> result : results) {
+            ExecutionException exception = assertThrows(ExecutionException.class, result::get);
+            assertSame(failure, exception.getCause());
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void execute_ShouldTimeOut_WhenLoadIsSlow() throws Exception {
+        SingleFlight<String> flight = flight(Duration.ofMillis(50));
+        startBlockedLoad(flight);
+
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+                () -> flight.execute(key, id -> "other"));
+
+        assertEquals(ErrorCodes.LOAD_TIMEOUT, exception.getCode());
+    }
+
+    @Test
+    void execute_ShouldStartNewLoad_WhenInvalidatedWhileLoading() throws Exception {
+        SingleFlight<String> flight = flight(Duration.ofSeconds(5));
+        startBlockedLoad(flight);
+
+        flight.invalidate(List.of(key));
+
+        assertEquals("fresh", flight.execute(key, id -> "fresh"));
+    }
+
+    private List<Future<String>> callConcurrently(SingleFlight<String> flight, Loader loader) throws Exception {
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> flight.execute(key, id -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return loader.load();
+        })));
+        await(loading);
+
+        for (int i = 1; i < CALLERS; i++) {
+            results.add(executor.submit(() -> flight.execute(key, id -> {
+                loads.incrementAndGet();
+                return loader.load();
+            })));
+        }
+        // Gives the callers time to join the blocked load before it finishes
+        Thread.sleep(200);
+        release.countDown();
+        return results;
+    }
+
+    private void startBlockedLoad(SingleFlight<String> flight) {
+        CompletableFuture.runAsync(() -> flight.execute(key, id -> {
+            loading.countDown();
+            await(release);
+            return "stale";
+        }), executor);
+        await(loading);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static SingleFlight<String> flight(Duration timeout) {
+        return new SingleFlight<>("test", timeout, OpenTelemetry.noop().getMeter("test"));
+    }
+
+    @FunctionalInterface
+    private interface Loader {
+        String load();
+    }
+}
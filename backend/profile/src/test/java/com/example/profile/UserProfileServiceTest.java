@@ -1,34 +1,67 @@
 package com.example.profile;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
 
 import com.example.profile.exceptions.ErrorCodes;
 import com.example.profile.exceptions.NotFoundException;
+import com.example.profile.exceptions.PreconditionFailedException;
+import com.example.profile.features.educatorProfile.EducatorDirectory;
 import com.example.profile.features.educatorProfile.EducatorProfileRepository;
+import com.example.profile.features.educatorProfile.EducatorStatsRepository;
 import com.example.profile.features.userProfile.UserProfileMapper;
+import com.example.profile.features.userProfile.ProfileDetailsStore;
 import com.example.profile.features.userProfile.UserProfileRepository;
 import com.example.profile.features.userProfile.UserProfileService;
+import com.example.profile.features.userProfile.contracts.PatchUserProfileRequest;
 import com.example.profile.features.userProfile.contracts.UpdateUserProfileRequest;
 import com.example.profile.features.userProfile.contracts.ProfileDetailsResponse;
+import com.example.profile.features.userProfile.contracts.ProfileEducatorDetailsResponse;
+import com.example.profile.features.userProfile.contracts.ProfileSummaryResponse;
 import com.example.profile.features.userProfile.entities.UserProfile;
+import com.example.profile.features.userProfile.projections.ProfileSummaryView;
+import com.example.profile.features.userProfile.projections.UserProfilePatchView;
+import com.example.profile.infrastructure.caching.CacheProperties;
+import com.example.profile.infrastructure.caching.IdFilter;
+import com.example.profile.infrastructure.caching.IdFilterProperties;
+import com.example.profile.infrastructure.caching.NearCache;
+import com.example.profile.infrastructure.caching.SingleFlight;
+import com.example.profile.infrastructure.caching.ProfileCacheInvalidator;
 import com.example.profile.infrastructure.identity.CurrentUser;
+import com.example.profile.infrastructure.messaging.events.RegistrationCompletedEvent;
+import com.example.profile.infrastructure.messaging.events.RegistrationInitiatedEvent;
 import com.example.profile.infrastructure.messaging.publishers.EventPublisher;
+import com.example.profile.infrastructure.persistence.PrimarySnapshot;
+import com.example.profile.infrastructure.web.LookupResult;
+import com.example.profile.infrastructure.web.ResourceVersion;
+import com.example.profile.infrastructure.web.RowVersion;
+import com.example.profile.infrastructure.web.Versioned;
+
+import io.opentelemetry.api.OpenTelemetry;
 
 @ExtendWith(MockitoExtension.class)
 public class UserProfileServiceTest {
@@ -40,14 +73,25 @@ public class UserProfileServiceTest {
     private UserProfileRepository profileRepository;
     @Mock
     private EducatorProfileRepository educatorRepository;
+    @Mock
+    private EducatorDirectory educatorDirectory;
+    @Mock
+    private EducatorStatsRepository statsRepository;
+    @Mock
+    private ProfileCacheInvalidator cacheInvalidator;
+    @Mock
+    private ProfileDetailsStore details;
 
     private UserProfileMapper mapper;
+    private NearCache<Versioned<ProfileDetailsResponse>> cache;
     private UserProfileService service;
 
     @BeforeEach
     void setUp() {
         mapper = new UserProfileMapper();
-        service = new UserProfileService(currentUser, publisher, mapper, profileRepository, educatorRepository);
+        cache = cache();
+        service = new UserProfileService(currentUser, publisher, mapper, profileRepository, educatorRepository,
+                educatorDirectory, statsRepository, cache, flight(), snapshot(), cacheInvalidator, details, idFilter());
     }
 
     @Test
@@ -61,27 +105,106 @@ public class UserProfileServiceTest {
                 .birthDate(LocalDate.of(2000, 1, 1))
                 .build();
 
+        ResourceVersion version = new ResourceVersion(2, Instant.parse("2025-01-01T10:00:00Z"));
+        when(profileRepository.findVersionById(userId)).thenReturn(Optional.of(version));
         when(profileRepository.findById(userId)).thenReturn(Optional.of(profile));
 
-        ProfileDetailsResponse result = service.getUserProfileById(userId);
+        Versioned<ProfileDetailsResponse> result = service.getUserProfileById(userId);
 
-        assertEquals(profile.getId(), result.id());
-        assertEquals(profile.getFirstName(), result.firstName());
-        assertEquals(profile.getLastName(), result.lastName());
+        assertEquals(version, result.version());
+        assertEquals(profile.getId(), result.body().id());
+        assertEquals(profile.getFirstName(), result.body().firstName());
+        assertEquals(profile.getLastName(), result.body().lastName());
 
         verify(profileRepository, times(1)).findById(userId);
     }
 
+    @Test
+    void getUserProfileById_ShouldReadDetailsView_WhenRowExists() {
+        UUID userId = UUID.randomUUID();
+        ProfileDetailsResponse details = new ProfileDetailsResponse(userId, "username", "first-name", "last-name",
+                null, null, new ProfileEducatorDetailsResponse("bio", "experience", null, 4.5, 10, 2));
+
+        when(profileRepository.findVersionById(userId)).thenReturn(Optional.of(version()));
+        when(this.details.findById(userId)).thenReturn(Optional.of(details));
+
+        assertEquals(details, service.getUserProfileById(userId).body());
+        verify(profileRepository, never()).findById(any());
+        verify(educatorRepository, never()).findById(any());
+    }
+
+    @Test
+    void getUserProfileById_ShouldNotQuery_WhenIdFilterRejectsId() {
+        UUID known = UUID.randomUUID();
+        IdFilter filter = new IdFilter("test", () -> 1, consumer -> consumer.accept(known),
+                TransactionOperations.withoutTransaction(), new IdFilterProperties(),
+                OpenTelemetry.noop().getMeter("test"));
+        filter.rebuild();
+        service = new UserProfileService(currentUser, publisher, mapper, profileRepository, educatorRepository,
+                educatorDirectory, statsRepository, cache, flight(), snapshot(), cacheInvalidator, details, filter);
+
+        UUID unknown = UUID.randomUUID();
+        NotFoundException ex = assertThrows(NotFoundException.class, () -> service.getUserProfileById(unknown));
+
+        assertEquals(ErrorCodes.USER_PROFILE_NOT_FOUND, ex.getCode());
+        assertEquals(0, ex.getStackTrace().length);
+        verify(profileRepository, never()).findVersionById(any());
+    }
+
+    @Test
+    void getUserProfileById_ShouldServeFromCache_UntilInvalidated() {
+        UUID userId = UUID.randomUUID();
+        ProfileCacheInvalidator invalidator = new ProfileCacheInvalidator(List.of(cache), publisher);
+        service = new UserProfileService(currentUser, publisher, mapper, profileRepository, educatorRepository,
+                educatorDirectory, statsRepository, cache, flight(), snapshot(), invalidator, details, idFilter());
+
+        UserProfile profile = UserProfile.builder()
+                .id(userId)
+                .firstName("first-name")
+                .lastName("last-name")
+                .birthDate(LocalDate.of(2000, 1, 1))
+                .build();
+
+        when(profileRepository.findVersionById(userId)).thenReturn(Optional.of(version()));
+        when(profileRepository.findById(userId)).thenReturn(Optional.of(profile));
+
+        service.getUserProfileById(userId);
+        service.getUserProfileById(userId);
+        verify(profileRepository, times(1)).findVersionById(userId);
+        verify(profileRepository, times(1)).findById(userId);
+
+        invalidator.invalidate(userId);
+        service.getUserProfileById(userId);
+        verify(profileRepository, times(2)).findVersionById(userId);
+        verify(profileRepository, times(2)).findById(userId);
+        verify(publisher, times(1)).publishProfileCacheInvalidated(any());
+    }
+
     @Test
     void getUserProfileById_ShouldThrowException_WhenProfileDoesNotExist() {
         UUID userId = UUID.randomUUID();
 
-        when(profileRepository.findById(userId)).thenReturn(Optional.empty());
+        when(profileRepository.findVersionById(userId)).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(NotFoundException.class, () -> service.getUserProfileById(userId));
 
         assertEquals(ErrorCodes.USER_PROFILE_NOT_FOUND, exception.getCode());
-        verify(profileRepository, times(1)).findById(userId);
+        verify(profileRepository, times(1)).findVersionById(userId);
+        verify(details, never()).findById(any());
+    }
+
+    @Test
+    void lookupUserProfiles_ShouldReturnFoundProfiles_AndReportMisses() {
+        UUID knownId = UUID.randomUUID();
+        UUID unknownId = UUID.randomUUID();
+        ProfileSummaryView view = new ProfileSummaryView(knownId, "username", "first-name", "last-name", null);
+
+        when(profileRepository.findSummariesByIds(Set.of(knownId, unknownId))).thenReturn(List.of(view));
+
+        LookupResult<ProfileSummaryResponse> result = service.lookupUserProfiles(List.of(knownId, unknownId));
+
+        assertEquals("username", result.items().get(knownId).username());
+        assertEquals(List.of(unknownId), result.missing());
     }
 
     @Test
@@ -111,6 +234,7 @@ public class UserProfileServiceTest {
 
         verify(profileRepository, times(1)).findById(userId);
         verify(profileRepository, times(1)).save(profile);
+        verify(details, times(1)).refresh(userId);
     }
 
     @Test
@@ -132,4 +256,135 @@ public class UserProfileServiceTest {
         verify(profileRepository, times(1)).findById(userId);
         verify(profileRepository, never()).save(any());
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void createUserProfiles_ShouldPersistOnlyNewProfiles_AndCompleteEveryRegistration() {
+        UUID existingId = UUID.randomUUID();
+        UUID newId = UUID.randomUUID();
+        RegistrationInitiatedEvent redelivered = registration(existingId);
+        RegistrationInitiatedEvent created = registration(newId);
+
+        when(profileRepository.findExistingIds(Set.of(existingId, newId))).thenReturn(Set.of(existingId));
+
+        service.createUserProfiles(List.of(redelivered, created));
+
+        ArgumentCaptor<Collection<UserProfile>> persisted = ArgumentCaptor.forClass(Collection.class);
+        verify(profileRepository).persistAll(persisted.capture());
+        assertEquals(List.of(newId), persisted.getValue().stream().map(UserProfile::getId).toList());
+        verify(profileRepository, never()).save(any());
+        verify(details, times(1)).refresh(Set.of(existingId, newId));
+        verify(cacheInvalidator, times(1)).announceInserted(List.of(newId));
+
+        ArgumentCaptor<List<RegistrationCompletedEvent>> completed = ArgumentCaptor.forClass(List.class);
+        verify(publisher, times(1)).publishRegistrationsCompleted(completed.capture());
+        assertEquals(List.of(existingId.toString(), newId.toString()),
+                completed.getValue().stream().map(RegistrationCompletedEvent::getUserId).toList());
+        assertTrue(completed.getValue().stream().allMatch(RegistrationCompletedEvent::getSuccess));
+    }
+
+    @Test
+    void createUserProfile_ShouldConfirmRedelivery_WithoutInsertingAgain() {
+        UUID userId = UUID.randomUUID();
+        when(profileRepository.existsById(userId)).thenReturn(true);
+
+        service.createUserProfile(registration(userId));
+
+        verify(profileRepository, never()).persistAll(any());
+        verify(cacheInvalidator, never()).announceInserted(any());
+        ArgumentCaptor<RegistrationCompletedEvent> completed = ArgumentCaptor.forClass(RegistrationCompletedEvent.class);
+        verify(publisher).publishRegistrationCompleted(completed.capture());
+        assertTrue(completed.getValue().getSuccess());
+    }
+
+    @Test
+    void createUserProfile_ShouldReportFailure_WhenRegistrationCannotBeMapped() {
+        RegistrationInitiatedEvent malformed = new RegistrationInitiatedEvent("not-a-uuid", "username", "first-name",
+                "last-name", LocalDate.of(2000, 1, 1));
+
+        service.createUserProfile(malformed);
+
+        verify(profileRepository, never()).persistAll(any());
+        ArgumentCaptor<RegistrationCompletedEvent> completed = ArgumentCaptor.forClass(RegistrationCompletedEvent.class);
+        verify(publisher).publishRegistrationCompleted(completed.capture());
+        assertFalse(completed.getValue().getSuccess());
+    }
+
+    @Test
+    void patchUserProfile_ShouldSkipRefreshAndEvent_WhenNothingChanged() {
+        UUID userId = UUID.randomUUID();
+        PatchUserProfileRequest request = new PatchUserProfileRequest("first-name", null, null, null);
+
+        when(currentUser.getUserId()).thenReturn(userId);
+        when(profileRepository.patch(userId, request, null)).thenReturn(Optional.empty());
+        when(profileRepository.findRowVersion(userId)).thenReturn(Optional.of(7L));
+
+        assertEquals(new RowVersion(7), service.patchUserProfile(request, null));
+        verify(details, never()).refresh(any(UUID.class));
+        verify(publisher, never()).publishEducatorProfileUpdatedEvent(any());
+    }
+
+    @Test
+    void patchUserProfile_ShouldFailPrecondition_WhenVersionMovedOn() {
+        UUID userId = UUID.randomUUID();
+        PatchUserProfileRequest request = new PatchUserProfileRequest("first-name", null, null, null);
+
+        when(currentUser.getUserId()).thenReturn(userId);
+        when(profileRepository.patch(userId, request, 3L)).thenReturn(Optional.empty());
+        when(profileRepository.findRowVersion(userId)).thenReturn(Optional.of(4L));
+
+        PreconditionFailedException ex = assertThrows(PreconditionFailedException.class,
+                () -> service.patchUserProfile(request, 3L));
+
+        assertEquals(ErrorCodes.VERSION_MISMATCH, ex.getCode());
+    }
+
+    @Test
+    void patchUserProfile_ShouldPublishEducatorUpdate_OnlyWhenMirroredFieldsChanged() {
+        UUID userId = UUID.randomUUID();
+        PatchUserProfileRequest names = new PatchUserProfileRequest("new-first-name", null, null, null);
+        PatchUserProfileRequest bio = new PatchUserProfileRequest(null, null, "new-bio", null);
+
+        when(currentUser.getUserId()).thenReturn(userId);
+        when(educatorRepository.existsById(userId)).thenReturn(true);
+        when(profileRepository.patch(userId, names, null)).thenReturn(
+                Optional.of(new UserProfilePatchView(2, "new-first-name", "last-name", null, true)));
+        when(profileRepository.patch(userId, bio, null)).thenReturn(
+                Optional.of(new UserProfilePatchView(3, "new-first-name", "last-name", null, false)));
+
+        assertEquals(new RowVersion(2), service.patchUserProfile(names, null));
+        assertEquals(new RowVersion(3), service.patchUserProfile(bio, null));
+
+        verify(details, times(2)).refresh(userId);
+        verify(publisher, times(1)).publishEducatorProfileUpdatedEvent(any());
+    }
+
+    private static RegistrationInitiatedEvent registration(UUID userId) {
+        return new RegistrationInitiatedEvent(userId.toString(), "username", "first-name", "last-name",
+                LocalDate.of(2000, 1, 1));
+    }
+
+    private static IdFilter idFilter() {
+        return new IdFilter("test", () -> 0, consumer -> {
+        }, TransactionOperations.withoutTransaction(), new IdFilterProperties(), OpenTelemetry.noop().getMeter("test"));
+    }
+
+    private static ResourceVersion version() {
+        return new ResourceVersion(1, Instant.parse("2025-01-01T10:00:00Z"));
+    }
+
+    private static PrimarySnapshot snapshot() {
+        return new PrimarySnapshot(TransactionOperations.withoutTransaction());
+    }
+
+    private static <V> SingleFlight<V> flight() {
+        return new SingleFlight<>("test", Duration.ofSeconds(1), OpenTelemetry.noop().getMeter("test"));
+    }
+
+    private static NearCache<Versioned<ProfileDetailsResponse>> cache() {
+        CacheProperties properties = new CacheProperties();
+        properties.setMaximumSize(100);
+        properties.setTtl(Duration.ofMinutes(5));
+        return new NearCache<>("test", properties, OpenTelemetry.noop().getMeter("test"));
+    }
 }